@@ -1,10 +1,10 @@
 package csw.korea.festival.main.common.service;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import csw.korea.festival.main.common.dto.KWeather;
 import csw.korea.festival.main.common.util.CoordinatesConverter;
-import lombok.RequiredArgsConstructor;
+import csw.korea.festival.main.common.util.GeoGrid;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,26 +13,38 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class KakaoAPIService {
 
-    private final Cache<String, KWeather.WeatherRequest> weatherCache = Caffeine.newBuilder()
-            .expireAfterWrite(30, TimeUnit.MINUTES) // expires after 30 mins
-            .maximumSize(1000) // Maximum number of entries in the cache
-            .recordStats() // Enable statistics collection
-            .build();
+    // Keyed by ~5 km grid cell (packed GeoGrid key): Kakao's weather is regional, so nearby places share one entry.
+    // Concurrent lookups of a cell share one in-flight request, and entries read after the refresh interval
+    // are reloaded in the background (the old value is served meanwhile) before they expire.
+    private final AsyncLoadingCache<Long, KWeather.WeatherRequest> weatherCache;
 
     private final WebClient webClient;
-
-    @Value("${kakao.weather.url}")
-    private String kakaoWeatherUrl;
-
-    @Value("${kakao.weather.icon-url}")
-    private String kakaoWeatherIconUrl;
+    private final String kakaoWeatherUrl;
+    private final String kakaoWeatherIconUrl;
+
+    public KakaoAPIService(WebClient webClient,
+                           @Value("${kakao.weather.url}") String kakaoWeatherUrl,
+                           @Value("${kakao.weather.icon-url}") String kakaoWeatherIconUrl,
+                           @Value("${kakao.weather.cache.expire-after-write-ms:1800000}") long expireAfterWriteMs,
+                           @Value("${kakao.weather.cache.refresh-after-write-ms:1500000}") long refreshAfterWriteMs) {
+        this.webClient = webClient;
+        this.kakaoWeatherUrl = kakaoWeatherUrl;
+        this.kakaoWeatherIconUrl = kakaoWeatherIconUrl;
+        this.weatherCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs)) // expires after 30 mins
+                .refreshAfterWrite(Duration.ofMillis(refreshAfterWriteMs)) // reloaded ahead of expiry when read
+                .maximumSize(1000) // Maximum number of entries in the cache
+                .recordStats() // Enable statistics collection
+                .buildAsync((cell, executor) -> loadWeather(cell));
+    }
 
     private KWeather.@NotNull WeatherRequest getWeatherRequest(KWeather.WeatherResponse apiResp) {
         String icon = String.format(kakaoWeatherIconUrl,
@@ -51,6 +63,7 @@ public class KakaoAPIService {
 
     /**
      * Fetches weather information based on latitude and longitude.
+     * The coordinates are snapped to their {@link GeoGrid} cell, so nearby places share one cached result.
      *
      * @param latitude  Latitude in WGS84 format.
      * @param longitude Longitude in WGS84 format.
@@ -59,44 +72,87 @@ public class KakaoAPIService {
      */
     // @Cacheable(value = "weatherCache", key = "#latitude + ',' + #longitude")
     public KWeather.WeatherRequest getWeatherFromCoordinates(double latitude, double longitude) throws Exception {
-        // Check if the weather result is already cached
-        var cacheKey = String.format("%f,%f", latitude, longitude);
-        var cachedWeather = weatherCache.getIfPresent(cacheKey);
-        if (cachedWeather != null) {
-            return cachedWeather;
+        return getWeatherForCell(GeoGrid.cellOf(latitude, longitude));
+    }
+
+    /**
+     * Returns the weather of the grid cell, from the cache if present (read path of request misses).
+     * Concurrent calls for a cell that is not cached wait for the same API request.
+     *
+     * @param cell The {@link GeoGrid} cell.
+     * @return WeatherRequest object containing weather details.
+     * @throws IOException if the weather API call fails.
+     */
+    public KWeather.WeatherRequest getWeatherForCell(long cell) throws IOException {
+        CompletableFuture<KWeather.WeatherRequest> weather = weatherCache.get(cell);
+        try {
+            return await(weather);
+        } catch (IOException e) {
+            // Caffeine drops failed loads asynchronously; drop it now so that a retry calls the API again
+            weatherCache.asMap().remove(cell, weather);
+            throw e;
+        }
+    }
+
+    /**
+     * Reloads the weather of the grid cell and updates the cache (scheduled refresh).
+     * Joins a load or refresh of the cell already in flight instead of sending another request;
+     * if the call fails, the cached weather (if any) is kept.
+     *
+     * @param cell The {@link GeoGrid} cell.
+     * @return WeatherRequest object containing weather details.
+     * @throws IOException if the weather API call fails.
+     */
+    public KWeather.WeatherRequest fetchWeatherForCell(long cell) throws IOException {
+        return await(weatherCache.synchronous().refresh(cell));
+    }
+
+    private static KWeather.WeatherRequest await(CompletableFuture<KWeather.WeatherRequest> weather) throws IOException {
+        try {
+            return weather.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the weather API", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Error executing weather API request", e.getCause());
         }
+    }
 
+    /**
+     * Calls the weather API for the center of the grid cell, without blocking.
+     *
+     * @param cell The {@link GeoGrid} cell.
+     * @return The weather, or a future failed with an IOException.
+     */
+    private CompletableFuture<KWeather.WeatherRequest> loadWeather(long cell) {
         // Convert coordinates from WGS84 to WCONGNAMUL
-        var wcongnamul = CoordinatesConverter.convertWGS84ToWCONGNAMUL(latitude, longitude);
+        var wcongnamul = CoordinatesConverter.convertWGS84ToWCONGNAMUL(
+                GeoGrid.centerLatitude(cell), GeoGrid.centerLongitude(cell));
 
         // Construct the request URL
         String reqURL = String.format("%s&x=%f&y=%f", kakaoWeatherUrl, wcongnamul.latitude(), wcongnamul.longitude());
 
         // Perform the GET request
-        Mono<KWeather.WeatherResponse> responseMono = webClient.get()
+        return webClient.get()
                 .uri(reqURL)
                 .header("Referer", reqURL)
                 .retrieve()
-                .bodyToMono(KWeather.WeatherResponse.class);
-
-        KWeather.WeatherResponse apiResp;
-        try {
-            apiResp = responseMono.block();
-        } catch (Exception e) {
-            log.error("Error executing request: {}", e.getMessage());
-            throw new IOException("Error executing weather API request", e);
-        }
-
-        if (apiResp == null) {
-            throw new IOException("Empty response from weather API");
-        }
-
-        if (!"OK".equalsIgnoreCase(apiResp.getCodes().getResultCode())) {
-            throw new IOException("No weather found for this address");
-        }
-
-        var result = getWeatherRequest(apiResp);
-        weatherCache.put(cacheKey, result);
-        return result;
+                .bodyToMono(KWeather.WeatherResponse.class)
+                .onErrorMap(e -> {
+                    log.error("Error executing request: {}", e.getMessage());
+                    return new IOException("Error executing weather API request", e);
+                })
+                .switchIfEmpty(Mono.error(() -> new IOException("Empty response from weather API")))
+                .<KWeather.WeatherRequest>handle((apiResp, sink) -> {
+                    if (apiResp.getCodes() == null || !"OK".equalsIgnoreCase(apiResp.getCodes().getResultCode())) {
+                        sink.error(new IOException("No weather found for this address"));
+                    } else {
+                        sink.next(getWeatherRequest(apiResp));
+                    }
+                })
+                .toFuture();
     }
 }
@@ -12,6 +12,8 @@ import lombok.Setter;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -104,6 +106,15 @@ public class KoreaStationService {
         return Optional.ofNullable(station);
     }
 
+    /**
+     * Returns all stations, by normalized name.
+     *
+     * @return An unmodifiable view of the stations.
+     */
+    public Collection<Station> getStations() {
+        return Collections.unmodifiableCollection(stationMap.values());
+    }
+
     /**
      * Normalizes station names by stripping parentheses content and ensuring the "역" suffix.
      *
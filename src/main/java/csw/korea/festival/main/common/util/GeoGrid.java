@@ -0,0 +1,66 @@
+package csw.korea.festival.main.common.util;
+
+/**
+ * Fixed ~5 km grid over WGS84 coordinates, used to share regional data (such as weather) between nearby places.
+ *
+ * <p>
+ * Cells are 0.045° of latitude by 0.056° of longitude, about 5 km by 5 km at Korean latitudes.
+ * The grid is anchored at (0°, 0°), so a cell never moves and can be used as a cache key.
+ * A cell is identified by a packed {@code long} (row in the high 32 bits, column in the low 32 bits),
+ * so computing and comparing keys allocates nothing; see {@link LongKeyCache}.
+ * </p>
+ *
+ * <pre>{@code
+ * long cell = GeoGrid.cellOf(37.5665, 126.9780);
+ * weather(GeoGrid.centerLatitude(cell), GeoGrid.centerLongitude(cell));
+ * }</pre>
+ */
+public final class GeoGrid {
+
+    public static final double LAT_STEP = 0.045;
+    public static final double LON_STEP = 0.056;
+
+    private GeoGrid() {
+    }
+
+    /**
+     * Returns the cell containing the given coordinates.
+     *
+     * @param latitude  Latitude in decimal degrees.
+     * @param longitude Longitude in decimal degrees.
+     * @return The packed cell key.
+     */
+    public static long cellOf(double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            throw new IllegalArgumentException("Coordinates must be numbers");
+        }
+        return pack((int) Math.floor(latitude / LAT_STEP), (int) Math.floor(longitude / LON_STEP));
+    }
+
+    public static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    public static int row(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    public static int col(long cell) {
+        return (int) cell;
+    }
+
+    public static double centerLatitude(long cell) {
+        return (row(cell) + 0.5) * LAT_STEP;
+    }
+
+    public static double centerLongitude(long cell) {
+        return (col(cell) + 0.5) * LON_STEP;
+    }
+
+    /**
+     * @return The cell as {@code "row:col"}, for logs.
+     */
+    public static String toString(long cell) {
+        return row(cell) + ":" + col(cell);
+    }
+}
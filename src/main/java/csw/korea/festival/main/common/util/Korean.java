@@ -4,6 +4,14 @@ import csw.dkssud.HangulMapper;
 
 public class Korean {
 
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    // 초성 순서 (유니코드 음절 = 0xAC00 + (초성 * 21 + 중성) * 28 + 종성)
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
     /**
      * 주어진 텍스트가 QWERTY 한국어 입력인지 확인합니다.
      *
@@ -46,4 +54,38 @@ public class Korean {
     public static String toHangul(String text) {
         return HangulMapper.qwertyToHangul(text);
     }
+
+    /**
+     * 한글 음절을 초성으로 바꿉니다. 음절이 아닌 문자는 그대로 둡니다. (예: "경기도" -> "ㄱㄱㄷ")
+     *
+     * @param text 변환할 텍스트
+     * @return 초성으로 변환된 텍스트
+     */
+    public static String toChosung(String text) {
+        StringBuilder chosung = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            chosung.append(isSyllable(c) ? CHOSUNG[(c - SYLLABLE_FIRST) / (21 * 28)] : c);
+        }
+        return chosung.toString();
+    }
+
+    /**
+     * 주어진 텍스트에 한글 음절이 하나라도 있는지 확인합니다.
+     *
+     * @param text 검사할 텍스트
+     * @return 한글 음절이 있으면 true
+     */
+    public static boolean containsHangul(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isSyllable(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
 }
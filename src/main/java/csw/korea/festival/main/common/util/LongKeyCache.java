@@ -0,0 +1,66 @@
+package csw.korea.festival.main.common.util;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Thread-safe {@code long}-keyed cache for read-mostly data, such as weather per {@link GeoGrid} cell
+ * or a distance memo keyed by a pair of cells.
+ *
+ * <p>
+ * Reads are lock-free and allocation-free: they probe an immutable {@link LongObjectMap} published through a
+ * volatile field. Writes copy the table under a lock and publish the copy, so they cost O(size) and should be
+ * rare or batched with {@link #putAll}. Entries have no expiry; owners replace or drop them when they refresh.
+ * </p>
+ *
+ * @param <V> Value type.
+ */
+public final class LongKeyCache<V> {
+
+    private final Object lock = new Object();
+    // Never modified once published
+    private volatile LongObjectMap<V> table = new LongObjectMap<>();
+
+    /**
+     * @return The value of the key, or null if absent.
+     */
+    public V get(long key) {
+        return table.get(key);
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public void put(long key, V value) {
+        synchronized (lock) {
+            LongObjectMap<V> copy = table.copy();
+            copy.put(key, value);
+            table = copy;
+        }
+    }
+
+    /**
+     * Adds or replaces several entries with a single copy.
+     */
+    public void putAll(LongObjectMap<? extends V> entries) {
+        synchronized (lock) {
+            LongObjectMap<V> copy = table.copy();
+            entries.forEach(copy::put);
+            table = copy;
+        }
+    }
+
+    /**
+     * Drops the entries whose key does not match the predicate.
+     *
+     * @return The number of entries removed.
+     */
+    public int retainKeys(LongPredicate keep) {
+        synchronized (lock) {
+            LongObjectMap<V> copy = table.copy();
+            int removed = copy.retainKeys(keep);
+            table = copy;
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package csw.korea.festival.main.common.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Coalesces single requests submitted from many threads into batch calls.
+ *
+ * <p>
+ * Items are collected until {@code maxBatchSize} are pending or {@code maxDelay} has passed since the first one,
+ * then the batch function is called once for all of them on a virtual thread.
+ * At most {@code maxConcurrentBatches} batch calls run at the same time.
+ * </p>
+ *
+ * <pre>{@code
+ * MicroBatcher<String, String> batcher = new MicroBatcher<>(16, Duration.ofMillis(20), 4, client::translateBatch);
+ * String translated = batcher.submit("축제").join();
+ * }</pre>
+ *
+ * @param <T> Request item type.
+ * @param <R> Result item type.
+ */
+public final class MicroBatcher<T, R> implements AutoCloseable {
+
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    // Returns one result per item, in the same order
+    private final Function<List<T>, List<R>> batchFunction;
+    private final Semaphore batchPermits;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Object lock = new Object();
+    private List<Pending<T, R>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(int maxBatchSize, Duration maxDelay, int maxConcurrentBatches, Function<List<T>, List<R>> batchFunction) {
+        if (maxBatchSize < 1 || maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("maxBatchSize and maxConcurrentBatches must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.batchFunction = batchFunction;
+        this.batchPermits = new Semaphore(maxConcurrentBatches);
+        this.timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("micro-batcher").factory());
+    }
+
+    /**
+     * Adds an item to the current batch.
+     *
+     * @param item The request item.
+     * @return A future completing with the item's result, or exceptionally if its batch call failed.
+     */
+    public CompletableFuture<R> submit(T item) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        List<Pending<T, R>> full = null;
+        synchronized (lock) {
+            pending.add(new Pending<>(item, future));
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = timer.schedule(this::flush, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Sends the pending items now, without waiting for the delay.
+     */
+    public void flush() {
+        List<Pending<T, R>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    // Must hold the lock
+    private List<Pending<T, R>> takePending() {
+        List<Pending<T, R>> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<Pending<T, R>> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    private void run(List<Pending<T, R>> batch) {
+        try {
+            batchPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.forEach(p -> p.future().completeExceptionally(e));
+            return;
+        }
+        try {
+            List<R> results = batchFunction.apply(batch.stream().map(Pending::item).toList());
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException(STR."Batch function returned \{results == null ? "null" : results.size()} results for \{batch.size()} items");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(results.get(i));
+            }
+        } catch (Throwable t) {
+            batch.forEach(p -> p.future().completeExceptionally(t));
+        } finally {
+            batchPermits.release();
+        }
+    }
+
+    /**
+     * Sends the pending items and stops accepting new batches.
+     */
+    @Override
+    public void close() {
+        flush();
+        timer.shutdownNow();
+        executor.shutdown();
+    }
+
+    private record Pending<T, R>(T item, CompletableFuture<R> future) {
+    }
+}
@@ -0,0 +1,156 @@
+package csw.korea.festival.main.common.util;
+
+/**
+ * Keeps the {@code k} entries with the smallest keys out of a stream of (key, id) pairs.
+ *
+ * <p>
+ * Backed by a bounded max-heap over primitive arrays, so selecting the nearest {@code k} of {@code n}
+ * items costs O(n log k) without boxing, instead of sorting all {@code n} items.
+ * Ties are broken by the smaller id, which keeps results deterministic.
+ * </p>
+ *
+ * <pre>{@code
+ * TopK topK = new TopK(10);
+ * for (int i = 0; i < n; i++) topK.offer(distances[i], i);
+ * topK.sort(); // ascending: topK.id(0) is the nearest
+ * }</pre>
+ */
+public final class TopK {
+
+    private final double[] keys;
+    private final int[] ids;
+    private int size;
+    private boolean sorted;
+
+    public TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.keys = new double[k];
+        this.ids = new int[k];
+    }
+
+    /**
+     * Offers an entry. It is kept if fewer than {@code k} entries are held or if it beats the current worst one.
+     *
+     * @param key The ranking key (smaller is better).
+     * @param id  The caller's identifier for the entry.
+     * @return true if the entry was kept.
+     */
+    public boolean offer(double key, int id) {
+        if (sorted) {
+            throw new IllegalStateException("TopK has already been sorted");
+        }
+        if (size < keys.length) {
+            keys[size] = key;
+            ids[size] = id;
+            siftUp(size++);
+            return true;
+        }
+        if (size == 0 || !less(key, id, keys[0], ids[0])) {
+            return false;
+        }
+        keys[0] = key;
+        ids[0] = id;
+        siftDown(0, size);
+        return true;
+    }
+
+    /**
+     * @return true once {@code k} entries are held.
+     */
+    public boolean isFull() {
+        return size == keys.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the largest key currently kept, i.e. the bar a new entry has to beat once the heap is full.
+     *
+     * @return The worst kept key, or {@link Double#POSITIVE_INFINITY} while the heap is not full.
+     */
+    public double worstKey() {
+        return isFull() && size > 0 ? keys[0] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Sorts the kept entries in ascending key order (in place heap sort).
+     * After this call {@link #key(int)} and {@link #id(int)} return entries by rank, and no more entries can be offered.
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        sorted = true;
+    }
+
+    public double key(int rank) {
+        checkRank(rank);
+        return keys[rank];
+    }
+
+    public int id(int rank) {
+        checkRank(rank);
+        return ids[rank];
+    }
+
+    private void checkRank(int rank) {
+        if (!sorted) {
+            throw new IllegalStateException("Call sort() before reading entries by rank");
+        }
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException(rank);
+        }
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(keys[parent], ids[parent], keys[i], ids[i])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int end) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= end) {
+                return;
+            }
+            int largest = left;
+            int right = left + 1;
+            if (right < end && less(keys[left], ids[left], keys[right], ids[right])) {
+                largest = right;
+            }
+            if (!less(keys[i], ids[i], keys[largest], ids[largest])) {
+                return;
+            }
+            swap(i, largest);
+            i = largest;
+        }
+    }
+
+    private static boolean less(double keyA, int idA, double keyB, int idB) {
+        int cmp = Double.compare(keyA, keyB);
+        return cmp < 0 || (cmp == 0 && idA < idB);
+    }
+
+    private void swap(int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+}
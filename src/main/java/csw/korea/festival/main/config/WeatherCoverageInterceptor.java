@@ -0,0 +1,37 @@
+package csw.korea.festival.main.config;
+
+import csw.korea.festival.main.festival.service.WeatherCoverage;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gives each GraphQL request a {@link WeatherCoverage} and reports it in {@code extensions.weather}
+ * when the request selected {@code Festival.weather}, so clients can tell a partial answer
+ * (weather not fetched within the deadline, or stale) from a complete one.
+ */
+@Component
+public class WeatherCoverageInterceptor implements WebGraphQlInterceptor {
+
+    @NotNull
+    @Override
+    public Mono<WebGraphQlResponse> intercept(@NotNull WebGraphQlRequest request, @NotNull Chain chain) {
+        WeatherCoverage coverage = new WeatherCoverage();
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(WeatherCoverage.CONTEXT_KEY, coverage)).build());
+        return chain.next(request).map(response -> {
+            if (coverage.isEmpty()) {
+                return response;
+            }
+            Map<Object, Object> extensions = new LinkedHashMap<>(response.getExtensions());
+            extensions.put("weather", coverage.toExtension());
+            return response.transform(builder -> builder.extensions(extensions));
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKWidthCharFilterFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.core.WhitespaceTokenizerFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.ngram.NGramFilterFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Analyzers of the {@code addressNgram} field, which answers "address contains term" with term lookups.
+ *
+ * <p>
+ * Indexing splits the address on whitespace, lowercases it and emits every 1 to {@value #MAX_GRAM} character
+ * gram of each token, plus the token itself. A query term is only split and lowercased, so it matches the
+ * gram equal to it. This replaces {@code *term*} wildcard queries, which scan the whole term dictionary.
+ * A term longer than {@value #MAX_GRAM} characters matches only a whole address token.
+ * </p>
+ */
+public final class AddressAnalyzers {
+
+    public static final String INDEXING = "address_ngram";
+    public static final String SEARCH = "address_query";
+
+    static final int MAX_GRAM = 10;
+
+    private AddressAnalyzers() {
+    }
+
+    public static Analyzer indexing() {
+        try {
+            return CustomAnalyzer.builder()
+                    .addCharFilter(CJKWidthCharFilterFactory.class)
+                    .withTokenizer(WhitespaceTokenizerFactory.class)
+                    .addTokenFilter(LowerCaseFilterFactory.class)
+                    .addTokenFilter(NGramFilterFactory.class,
+                            "minGramSize", "1",
+                            "maxGramSize", String.valueOf(MAX_GRAM),
+                            "preserveOriginal", "true")
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Analyzer search() {
+        try {
+            return CustomAnalyzer.builder()
+                    .addCharFilter(CJKWidthCharFilterFactory.class)
+                    .withTokenizer(WhitespaceTokenizerFactory.class)
+                    .addTokenFilter(LowerCaseFilterFactory.class)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilterFactory;
+import org.apache.lucene.analysis.cjk.CJKWidthCharFilterFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.core.StopFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilterFactory;
+import org.apache.lucene.analysis.en.PorterStemFilterFactory;
+import org.apache.lucene.analysis.icu.ICUNormalizer2FilterFactory;
+import org.apache.lucene.analysis.icu.segmentation.ICUTokenizerFactory;
+import org.apache.lucene.analysis.ko.KoreanNumberFilterFactory;
+import org.apache.lucene.analysis.ko.KoreanPartOfSpeechStopFilterFactory;
+import org.apache.lucene.analysis.ko.KoreanReadingFormFilterFactory;
+import org.apache.lucene.analysis.ko.KoreanTokenizerFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.ngram.NGramFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The "korean" and "english" full-text analyzers of festival names and summaries,
+ * and the "multilingual" one of category display names.
+ *
+ * <p>
+ * Built here rather than in {@link HibernateSearchConfig} so the gram settings can be varied and measured
+ * outside Hibernate Search (see {@code AnalyzerChainBenchmark} and {@code AnalyzerIndexReport} in the tests),
+ * and so the search profile harness indexes with the production chains.
+ * A gram size of 0 leaves the gram filter out.
+ * </p>
+ */
+public final class FestivalAnalyzers {
+
+    public static final String KOREAN = "korean";
+    public static final String ENGLISH = "english";
+    public static final String MULTILINGUAL = "multilingual";
+
+    public static final int KOREAN_MIN_GRAM = 2;
+    public static final int KOREAN_MAX_GRAM = 5;
+    public static final int ENGLISH_MIN_GRAM = 3;
+    public static final int ENGLISH_MAX_GRAM = 10;
+
+    // FIX ME: If adverbs are not meaningful for searches, consider adding MAG and MAJ to the list.
+    private static final String KOREAN_STOP_TAGS = "E,EP,EF,EC,ETN,ETM,IC,J,MM,SP,SSC,SSO,SC,SE,XPN,SF,SY,XSA,UNKNOWN";
+
+    private FestivalAnalyzers() {
+    }
+
+    public static Analyzer korean() {
+        return korean(KOREAN_MIN_GRAM, KOREAN_MAX_GRAM);
+    }
+
+    public static Analyzer korean(int minGram, int maxGram) {
+        try {
+            CustomAnalyzer.Builder builder = CustomAnalyzer.builder()
+                    .addCharFilter(HTMLStripCharFilterFactory.class)
+                    .addCharFilter(CJKWidthCharFilterFactory.class)
+                    .withTokenizer(KoreanTokenizerFactory.class)
+
+                    .addTokenFilter(LowerCaseFilterFactory.class)
+                    // Shared, reloadable lucene/korean_synonyms.txt
+                    .addTokenFilter(ReloadableSynonymFilterFactory.class,
+                            "synonyms", SynonymMaps.KOREAN,
+                            "ignoreCase", "true")
+
+                    .addTokenFilter(KoreanReadingFormFilterFactory.class)
+                    .addTokenFilter(KoreanPartOfSpeechStopFilterFactory.class, "tags", KOREAN_STOP_TAGS)
+                    .addTokenFilter(KoreanNumberFilterFactory.class);
+            if (maxGram > 0) {
+                builder.addTokenFilter(NGramFilterFactory.class,
+                        "minGramSize", String.valueOf(minGram),
+                        "maxGramSize", String.valueOf(maxGram));
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Analyzer english() {
+        return english(ENGLISH_MIN_GRAM, ENGLISH_MAX_GRAM);
+    }
+
+    public static Analyzer english(int minGram, int maxGram) {
+        try {
+            CustomAnalyzer.Builder builder = CustomAnalyzer.builder()
+                    .addCharFilter(HTMLStripCharFilterFactory.class)
+                    .withTokenizer(StandardTokenizerFactory.class)
+                    .addTokenFilter(LowerCaseFilterFactory.class)
+                    // Shared, reloadable lucene/english_synonyms.txt
+                    .addTokenFilter(ReloadableSynonymFilterFactory.class,
+                            "synonyms", SynonymMaps.ENGLISH,
+                            "ignoreCase", "true");
+            if (maxGram > 0) {
+                builder.addTokenFilter(EdgeNGramFilterFactory.class,
+                        "minGramSize", String.valueOf(minGram),
+                        "maxGramSize", String.valueOf(maxGram));
+            }
+            return builder
+                    .addTokenFilter(EnglishPossessiveFilterFactory.class)
+                    .addTokenFilter(StopFilterFactory.class, "ignoreCase", "true")
+                    .addTokenFilter(PorterStemFilterFactory.class)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Analyzer multilingual() {
+        try {
+            return CustomAnalyzer.builder()
+                    .withTokenizer(ICUTokenizerFactory.class)
+                    .addCharFilter(HTMLStripCharFilterFactory.class)
+                    .addTokenFilter(LowerCaseFilterFactory.class)
+                    .addTokenFilter(ICUNormalizer2FilterFactory.class, "name", "nfkc_cf")
+                    .addTokenFilter(StopFilterFactory.class, "ignoreCase", "true")
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.TokenFilterFactory;
+import org.apache.lucene.analysis.TokenStream;
+
+import java.util.Map;
+
+/**
+ * Token filter factory of {@link ReloadableSynonymGraphFilter}, for analyzers defined by factories.
+ *
+ * <p>
+ * Parameters: {@code synonyms}, the {@link SynonymMaps} name; {@code ignoreCase}, default false.
+ * Rules are always expanded.
+ * </p>
+ */
+public class ReloadableSynonymFilterFactory extends TokenFilterFactory {
+
+    public static final String NAME = "reloadableSynonymGraph";
+
+    private final String synonyms;
+    private final boolean ignoreCase;
+
+    public ReloadableSynonymFilterFactory(Map<String, String> args) {
+        super(args);
+        this.synonyms = require(args, "synonyms");
+        this.ignoreCase = getBoolean(args, "ignoreCase", false);
+        if (!args.isEmpty()) {
+            throw new IllegalArgumentException("Unknown parameters: " + args);
+        }
+        // Fails the analyzer definition early if the synonyms cannot be loaded
+        SynonymMaps.current(synonyms);
+    }
+
+    /**
+     * Default ctor for compatibility with SPI
+     */
+    public ReloadableSynonymFilterFactory() {
+        throw defaultCtorException();
+    }
+
+    @Override
+    public TokenStream create(TokenStream input) {
+        return new ReloadableSynonymGraphFilter(input, synonyms, ignoreCase);
+    }
+}
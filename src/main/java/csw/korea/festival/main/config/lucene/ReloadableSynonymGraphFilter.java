@@ -0,0 +1,57 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.TokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.synonym.SynonymGraphFilter;
+
+import java.io.IOException;
+
+/**
+ * {@link SynonymGraphFilter} over a shared {@link SynonymMaps} entry, which switches to a replaced map
+ * when the token stream is reset. Analyzers reuse their token streams per thread, so a plain
+ * {@link SynonymGraphFilter} would keep the map it was created with until restart.
+ */
+public final class ReloadableSynonymGraphFilter extends TokenFilter {
+
+    private final String name;
+    private final boolean ignoreCase;
+    private SynonymMaps.Version version;
+    private TokenStream delegate;
+
+    public ReloadableSynonymGraphFilter(TokenStream input, String name, boolean ignoreCase) {
+        super(input);
+        this.name = name;
+        this.ignoreCase = ignoreCase;
+    }
+
+    @Override
+    public boolean incrementToken() throws IOException {
+        return delegate.incrementToken();
+    }
+
+    @Override
+    public void reset() throws IOException {
+        SynonymMaps.Version current = SynonymMaps.current(name);
+        if (current != version) {
+            // Shares the attributes of the input, as this filter does
+            delegate = new SynonymGraphFilter(input, current.map(), ignoreCase);
+            version = current;
+        }
+        // Resets the input too
+        delegate.reset();
+    }
+
+    @Override
+    public void end() throws IOException {
+        delegate.end();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate != null) {
+            delegate.close();
+        } else {
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.core.WhitespaceTokenizerFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.synonym.SolrSynonymParser;
+import org.apache.lucene.analysis.synonym.SynonymMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled synonym maps shared by every analyzer, by name ({@code lucene/<name>.txt} in Solr synonym format).
+ *
+ * <p>
+ * A synonym file is parsed and compiled into its FST once per JVM, on first use, instead of once per analyzer
+ * or token filter factory. A map can be replaced at runtime ({@link #replace}); {@link ReloadableSynonymGraphFilter}
+ * picks up the new version at the start of its next token stream, so synonym changes need no restart.
+ * Every version carries the digest of its rules, and {@link #digest()} combines those of the maps in use,
+ * so that the search index can record which synonyms it was built with.
+ * </p>
+ */
+public final class SynonymMaps {
+
+    public static final String KOREAN = "korean_synonyms";
+    public static final String ENGLISH = "english_synonyms";
+    public static final String PROVINCE = "province_synonyms";
+
+    /**
+     * The maps used by the index analyzers.
+     */
+    public static final List<String> NAMES = List.of(KOREAN, ENGLISH, PROVINCE);
+
+    private static final Map<String, Version> MAPS = new ConcurrentHashMap<>();
+
+    private SynonymMaps() {
+    }
+
+    /**
+     * @param name The synonym file name, without directory and extension.
+     * @return The current map and its version, loaded from the classpath on first use.
+     * @throws IllegalArgumentException If there is no such synonym file or it is invalid.
+     */
+    public static Version current(String name) {
+        return MAPS.computeIfAbsent(name, SynonymMaps::loadBundled);
+    }
+
+    /**
+     * Compiles the rules and publishes them as the new map for the name; token streams started from now on use it.
+     *
+     * @param rules The synonym rules, in Solr format.
+     * @return The new version.
+     * @throws IllegalArgumentException If a rule is invalid; the current map is kept.
+     */
+    public static synchronized Version replace(String name, String rules) throws IOException {
+        SynonymMap map = parse(new StringReader(rules));
+        Version previous = MAPS.get(name);
+        Version next = new Version(map, previous != null ? previous.number() + 1 : 1, digest(rules));
+        MAPS.put(name, next);
+        return next;
+    }
+
+    /**
+     * @return The digest of the rules of every map in {@link #NAMES}, as currently in use.
+     */
+    public static String digest() {
+        StringBuilder digests = new StringBuilder();
+        for (String name : NAMES) {
+            digests.append(name).append('=').append(current(name).digest()).append('\n');
+        }
+        return digest(digests.toString());
+    }
+
+    /**
+     * Parses and compiles synonym rules in Solr format, expanding equivalent terms and ignoring case.
+     *
+     * @throws IllegalArgumentException If a rule is invalid.
+     */
+    public static SynonymMap parse(Reader rules) throws IOException {
+        try (Analyzer analyzer = CustomAnalyzer.builder()
+                .withTokenizer(WhitespaceTokenizerFactory.class)
+                .addTokenFilter(LowerCaseFilterFactory.class)
+                .build()) {
+            SolrSynonymParser parser = new SolrSynonymParser(true, true, analyzer);
+            parser.parse(rules);
+            SynonymMap map = parser.build();
+            if (map.fst == null) {
+                throw new IllegalArgumentException("No synonym rules");
+            }
+            return map;
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid synonym rule at line " + e.getErrorOffset() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Version loadBundled(String name) {
+        String path = "lucene/" + name + ".txt";
+        try (InputStream in = SynonymMaps.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Synonym file not found: " + path);
+            }
+            String rules = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return new Version(parse(new StringReader(rules)), 1, digest(rules));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String digest(String text) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @param map    The compiled synonyms.
+     * @param number Incremented on every replacement of the name's map.
+     * @param digest SHA-256 of the rules, in hex.
+     */
+    public record Version(SynonymMap map, long number, String digest) {
+    }
+}
@@ -0,0 +1,92 @@
+package csw.korea.festival.main.config.lucene;
+
+import csw.korea.festival.main.festival.service.FestivalIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reloads the {@link SynonymMaps} when their files change, from {@code festival.search.synonyms-location}
+ * (a directory holding {@code <name>.txt}; by default the bundled {@code classpath:lucene/}).
+ *
+ * <p>
+ * Files are checked on a schedule ({@code festival.search.synonyms-reload-interval-ms}). A changed file is
+ * compiled and published: queries use it right away, and a background reindex is started so that synonyms
+ * expanded at indexing time match. Files changed while the application was down are loaded at startup, and
+ * {@link FestivalIndexService} reindexes when their {@linkplain SynonymMaps#digest() digest} differs from the one
+ * the index was built with. A file that fails to parse keeps the previous map in use.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SynonymReloader {
+
+    private static final String BUNDLED = "classpath:lucene/";
+
+    private final String location;
+    private final boolean bundled;
+    private final FestivalIndexService festivalIndexService;
+    private final Map<String, Long> lastModified = new HashMap<>();
+
+    public SynonymReloader(@Value("${festival.search.synonyms-location:" + BUNDLED + "}") String location,
+                           FestivalIndexService festivalIndexService) {
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.bundled = this.location.equals(BUNDLED);
+        this.festivalIndexService = festivalIndexService;
+        // Files outside the bundle replace the bundled maps before the index is synchronized, which reindexes
+        // every festival when the synonyms differ from the ones recorded in the index marker
+        reloadModified();
+    }
+
+    @Scheduled(fixedDelayString = "${festival.search.synonyms-reload-interval-ms:60000}",
+            initialDelayString = "${festival.search.synonyms-reload-interval-ms:60000}")
+    public void reloadIfModified() {
+        if (reloadModified() > 0) {
+            festivalIndexService.reindexAsync();
+        }
+    }
+
+    /**
+     * @return The number of maps replaced.
+     */
+    synchronized int reloadModified() {
+        int replaced = 0;
+        for (String name : SynonymMaps.NAMES) {
+            Resource resource = new DefaultResourceLoader().getResource(location + name + ".txt");
+            long modified = lastModified(resource);
+            Long previous = lastModified.put(name, modified);
+            // First check: the analyzers already load the bundled files
+            boolean changed = previous == null ? !bundled : previous != modified;
+            if (!changed) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                SynonymMaps.Version version = SynonymMaps.replace(name, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                replaced++;
+                log.info("Synonyms {} loaded from {} (version {}).", name, resource.getDescription(), version.number());
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to load synonyms {} from {}, keeping the previous ones: {}",
+                        name, resource.getDescription(), e.getMessage());
+            }
+        }
+        return replaced;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // Not a file (e.g. inside the application jar): never modified
+            return 0;
+        }
+    }
+}
@@ -1,12 +1,9 @@
 package csw.korea.festival.main.festival.config;
 
-import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.service.FestivalIndexService;
 import csw.korea.festival.main.festival.service.FestivalService;
-import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.search.mapper.orm.Search;
-import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
@@ -18,36 +15,24 @@ import org.springframework.stereotype.Component;
 public class FestivalDataInitializer implements ApplicationListener<ApplicationReadyEvent> {
 
     private final FestivalService festivalService;
-    private final EntityManager entityManager;
+    private final FestivalIndexService festivalIndexService;
 
-    public FestivalDataInitializer(FestivalService festivalService, EntityManager entityManager) {
+    public FestivalDataInitializer(FestivalService festivalService, FestivalIndexService festivalIndexService) {
         this.festivalService = festivalService;
-        this.entityManager = entityManager;
+        this.festivalIndexService = festivalIndexService;
     }
 
     @Override
     @Transactional
     public void onApplicationEvent(@NotNull ApplicationReadyEvent event) {
-        // 트랜잭션이 완료되도록 명시적으로 분리
-        boolean dataUpdated = festivalService.updateFestivalsDataOnStartup();
+        // 갱신은 백그라운드에서 진행되며, 저장된 축제는 커밋 시점에 색인됩니다
+        festivalService.updateFestivalsDataOnStartup();
 
-        // 데이터가 업데이트되었다면 약간의 지연을 주어 트랜잭션이 완전히 커밋되도록 함
-        if (dataUpdated) {
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+        // 디스크의 Lucene 인덱스를 그대로 쓰고, 마지막 색인 이후 바뀐 축제만 백그라운드에서 다시 색인
+        festivalIndexService.synchronizeAsync().whenComplete((rebuilt, e) -> {
+            if (e == null) {
+                log.info(rebuilt ? "Lucene 인덱스가 성공적으로 생성되었습니다." : "Lucene 인덱스가 최신 상태로 갱신되었습니다.");
             }
-        }
-
-        // Lucene 인덱스 빌드
-        MassIndexer massIndexer = Search.session(entityManager).massIndexer(Festival.class);
-        try {
-            massIndexer.startAndWait();
-            log.info("Lucene 인덱스가 성공적으로 생성되었습니다.");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Lucene 인덱스 생성이 중단되었습니다.", e);
-        }
+        });
     }
-}
\ No newline at end of file
+}
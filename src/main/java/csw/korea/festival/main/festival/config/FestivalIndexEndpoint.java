@@ -0,0 +1,25 @@
+package csw.korea.festival.main.festival.config;
+
+import csw.korea.festival.main.festival.service.FestivalIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/festivalindex}) exposing the festival indexing progress
+ * (documents/second, ETA). Read-only over the web; a full reindex is started over JMX
+ * ({@link FestivalIndexJmxEndpointExtension}).
+ */
+@Component
+@Endpoint(id = "festivalindex")
+@RequiredArgsConstructor
+public class FestivalIndexEndpoint {
+
+    private final FestivalIndexService festivalIndexService;
+
+    @ReadOperation
+    public FestivalIndexService.IndexStatus status() {
+        return festivalIndexService.status();
+    }
+}
@@ -0,0 +1,25 @@
+package csw.korea.festival.main.festival.config;
+
+import csw.korea.festival.main.festival.service.FestivalIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.EndpointJmxExtension;
+import org.springframework.stereotype.Component;
+
+/**
+ * JMX-only extension of {@link FestivalIndexEndpoint} starting a full reindex.
+ * Kept off the web endpoint: the actuator paths are not behind authentication.
+ */
+@Component
+@EndpointJmxExtension(endpoint = FestivalIndexEndpoint.class)
+@RequiredArgsConstructor
+public class FestivalIndexJmxEndpointExtension {
+
+    private final FestivalIndexService festivalIndexService;
+
+    @WriteOperation
+    public FestivalIndexService.IndexStatus reindex() {
+        festivalIndexService.reindexAsync();
+        return festivalIndexService.status();
+    }
+}
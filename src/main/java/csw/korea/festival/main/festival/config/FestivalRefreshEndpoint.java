@@ -0,0 +1,23 @@
+package csw.korea.festival.main.festival.config;
+
+import csw.korea.festival.main.festival.service.FestivalRefreshService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/festivalrefresh}) exposing the background festival refresh status.
+ */
+@Component
+@Endpoint(id = "festivalrefresh")
+@RequiredArgsConstructor
+public class FestivalRefreshEndpoint {
+
+    private final FestivalRefreshService festivalRefreshService;
+
+    @ReadOperation
+    public FestivalRefreshService.RefreshStatus status() {
+        return festivalRefreshService.status();
+    }
+}
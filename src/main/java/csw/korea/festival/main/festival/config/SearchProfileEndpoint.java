@@ -0,0 +1,27 @@
+package csw.korea.festival.main.festival.config;
+
+import csw.korea.festival.main.festival.service.SearchProfile;
+import csw.korea.festival.main.festival.service.SearchProfileRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/searchprofiles}) listing the search profiles in use.
+ * Read-only over the web; the profiles file is reloaded over JMX ({@link SearchProfileJmxEndpointExtension}).
+ */
+@Component
+@Endpoint(id = "searchprofiles")
+@RequiredArgsConstructor
+public class SearchProfileEndpoint {
+
+    private final SearchProfileRegistry searchProfileRegistry;
+
+    @ReadOperation
+    public Map<String, SearchProfile> profiles() {
+        return searchProfileRegistry.profiles();
+    }
+}
@@ -0,0 +1,27 @@
+package csw.korea.festival.main.festival.config;
+
+import csw.korea.festival.main.festival.service.SearchProfile;
+import csw.korea.festival.main.festival.service.SearchProfileRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.EndpointJmxExtension;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * JMX-only extension of {@link SearchProfileEndpoint} reloading the profiles file.
+ * Kept off the web endpoint: the actuator paths are not behind authentication.
+ */
+@Component
+@EndpointJmxExtension(endpoint = SearchProfileEndpoint.class)
+@RequiredArgsConstructor
+public class SearchProfileJmxEndpointExtension {
+
+    private final SearchProfileRegistry searchProfileRegistry;
+
+    @WriteOperation
+    public Map<String, SearchProfile> reload() {
+        return searchProfileRegistry.reload();
+    }
+}
@@ -1,10 +1,12 @@
 package csw.korea.festival.main.festival.model;
 
-import csw.korea.festival.main.common.dto.KWeather;
 import csw.korea.festival.main.config.converter.LocalDateStringConverter;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Searchable;
 import org.hibernate.search.engine.backend.types.Sortable;
 import org.hibernate.search.mapper.pojo.bridge.builtin.annotation.GeoPointBinding;
 import org.hibernate.search.mapper.pojo.bridge.builtin.annotation.Latitude;
@@ -23,10 +25,11 @@ import java.util.stream.Stream;
 @Table(name = "festivals")
 @Access(AccessType.FIELD)
 @Indexed
-@GeoPointBinding(fieldName = "festivalLocation", sortable = Sortable.YES)
+@GeoPointBinding(fieldName = "festivalLocation", sortable = Sortable.YES, projectable = Projectable.YES)
 public class Festival {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GenericField(name = "idSort", searchable = Searchable.NO, sortable = Sortable.YES)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -48,6 +51,7 @@ public class Festival {
     private LocalDate endDate;
 
     @FullTextField(analyzer = "korean")
+    @FullTextField(name = "addressNgram", analyzer = "address_ngram", searchAnalyzer = "address_query")
     private String address;    // Address
 
     private String usageFeeInfo; // Festival Usage Fee Information
@@ -71,6 +75,8 @@ public class Festival {
     private String naverUrl;   // Naver Map URL
 
     @ElementCollection(fetch = FetchType.EAGER)
+    // Loaded for many festivals per query (mass indexing, lists) instead of one query per festival
+    @BatchSize(size = 50)
     @CollectionTable(name = "festival_categories", joinColumns = @JoinColumn(name = "festival_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "category")
@@ -79,6 +85,9 @@ public class Festival {
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // Hash of the source data, see FestivalDTO#contentHash
+
     @Enumerated(EnumType.STRING)
     private FestivalUsageFeeCategory usageFeeCategory;
 
@@ -100,8 +109,42 @@ public class Festival {
     @Transient
     private Double distance;   // Calculated dynamically
 
-    @Transient
-    private KWeather.WeatherRequest weather;    // current weather information
+    /**
+     * Creates a shallow copy of this festival.
+     * Shared instances (e.g. the in-memory snapshot) are copied before per-request values
+     * such as {@code distance} are set on them.
+     *
+     * @return A new Festival with the same field values.
+     */
+    public Festival shallowCopy() {
+        Festival copy = new Festival();
+        copy.id = id;
+        copy.festivalId = festivalId;
+        copy.name = name;
+        copy.summary = summary;
+        copy.startDate = startDate;
+        copy.endDate = endDate;
+        copy.address = address;
+        copy.usageFeeInfo = usageFeeInfo;
+        copy.areaName = areaName;
+        copy.latitude = latitude;
+        copy.longitude = longitude;
+        copy.imageUrl = imageUrl;
+        copy.nameEn = nameEn;
+        copy.summaryEn = summaryEn;
+        copy.naverUrl = naverUrl;
+        copy.categories = categories;
+        copy.lastUpdated = lastUpdated;
+        copy.contentHash = contentHash;
+        copy.usageFeeCategory = usageFeeCategory;
+        copy.province = province;
+        copy.city = city;
+        copy.district = district;
+        copy.town = town;
+        copy.street = street;
+        copy.distance = distance;
+        return copy;
+    }
 
 //    @Transient
 //    public boolean isFinished() {
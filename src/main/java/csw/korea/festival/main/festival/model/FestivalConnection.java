@@ -0,0 +1,35 @@
+package csw.korea.festival.main.festival.model;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Relay-style connection of festivals for cursor based pagination.
+ * The total count is only computed when the client selects {@code totalCount}.
+ */
+public class FestivalConnection {
+    @Getter
+    private final List<FestivalEdge> edges;
+    @Getter
+    private final PageInfo pageInfo;
+
+    private final IntSupplier totalCountSupplier;
+    private volatile Integer totalCount;
+
+    public FestivalConnection(List<FestivalEdge> edges, PageInfo pageInfo, IntSupplier totalCountSupplier) {
+        this.edges = edges;
+        this.pageInfo = pageInfo;
+        this.totalCountSupplier = totalCountSupplier;
+    }
+
+    public int getTotalCount() {
+        Integer count = totalCount;
+        if (count == null) {
+            count = totalCountSupplier.getAsInt();
+            totalCount = count;
+        }
+        return count;
+    }
+}
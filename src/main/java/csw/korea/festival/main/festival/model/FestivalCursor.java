@@ -0,0 +1,56 @@
+package csw.korea.festival.main.festival.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor: the sort key and id of the last festival of a page.
+ *
+ * <p>
+ * For distance ordered listings {@code sortValue} is the distance in km, for relevance ordered searches it is the score.
+ * {@code offset} is the absolute position after the festival and is only used where the backend cannot seek by key.
+ * </p>
+ *
+ * @param sortValue The sort key of the last festival.
+ * @param id        The id of the last festival (tie-breaker).
+ * @param offset    The number of festivals before the next page.
+ */
+public record FestivalCursor(double sortValue, long id, int offset) {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * Encodes the cursor into a URL-safe opaque string. The sort value is stored bit-exact.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = STR."\{VERSION}:\{Long.toHexString(Double.doubleToRawLongBits(sortValue))}:\{id}:\{offset}";
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encode()}.
+     *
+     * @param cursor The encoded cursor, may be null or blank for the first page.
+     * @return The decoded cursor, or null when no cursor was given.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static FestivalCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            double sortValue = Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16));
+            return new FestivalCursor(sortValue, Long.parseLong(parts[2]), Integer.parseInt(parts[3]));
+        } catch (IllegalArgumentException e) {
+            // Also covers Base64 and number format errors
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+}
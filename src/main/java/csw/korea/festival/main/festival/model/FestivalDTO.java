@@ -4,6 +4,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 @Getter
 @Setter
 public class FestivalDTO {
@@ -42,4 +47,26 @@ public class FestivalDTO {
 
     @JsonProperty("dispFstvlCntntsImgRout")
     private String imageUrl;   // Festival Image URL
+
+    /**
+     * Computes a SHA-256 hash of the source fields, used to detect whether a festival changed since the last fetch.
+     * {@code distance} is excluded since it depends on the request location.
+     *
+     * @return The hash as a lowercase hex string.
+     */
+    public String contentHash() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (Object field : new Object[]{festivalId, name, summary, startDate, endDate, address,
+                usageFeeInfo, areaName, latitude, longitude, imageUrl}) {
+            // Unit separator between fields, so ("ab", "c") and ("a", "bc") differ
+            digest.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0x1f);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 }
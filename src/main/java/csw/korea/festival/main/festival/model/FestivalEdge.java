@@ -0,0 +1,11 @@
+package csw.korea.festival.main.festival.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FestivalEdge {
+    private Festival node;
+    private String cursor;
+}
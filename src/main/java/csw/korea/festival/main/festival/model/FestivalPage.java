@@ -11,4 +11,6 @@ public class FestivalPage {
     private int pageSize;
     private long totalElements;
     private int totalPages;
+    // Radius (km) of a search around a location, null otherwise
+    private Double radiusKm;
 }
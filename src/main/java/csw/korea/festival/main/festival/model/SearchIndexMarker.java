@@ -0,0 +1,45 @@
+package csw.korea.festival.main.festival.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Generation marker of a persistent search index, stored in the database next to the indexed rows:
+ * what the index on disk was last brought up to.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "search_index_marker")
+public class SearchIndexMarker {
+
+    @Id
+    @Column(length = 64)
+    private String indexName;           // e.g. "festivals"
+
+    @Column(name = "mapping_version", nullable = false)
+    private int mappingVersion;         // Mapping and analyzers the index was built with
+
+    @Column(length = 64)
+    private String synonyms;            // Digest of the synonym maps the index was built with, see SynonymMaps#digest
+
+    @Column(name = "indexed_up_to")
+    private LocalDateTime indexedUpTo;  // Highest lastUpdated of the rows indexed, null when there were none
+
+    @Column(name = "indexed_at", nullable = false)
+    private LocalDateTime indexedAt;
+
+    public SearchIndexMarker(String indexName, int mappingVersion, String synonyms, LocalDateTime indexedUpTo,
+                             LocalDateTime indexedAt) {
+        this.indexName = indexName;
+        this.mappingVersion = mappingVersion;
+        this.synonyms = synonyms;
+        this.indexedUpTo = indexedUpTo;
+        this.indexedAt = indexedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package csw.korea.festival.main.festival.model;
+
+/**
+ * A search-as-you-type suggestion.
+ *
+ * @param text The text to search for (festival name, region or station name).
+ * @param type What the text names.
+ */
+public record Suggestion(String text, Type type) {
+
+    public enum Type {
+        FESTIVAL,
+        PROVINCE,
+        CITY,
+        STATION
+    }
+}
@@ -4,11 +4,14 @@ import csw.korea.festival.main.festival.model.Festival;
 import csw.korea.festival.main.festival.model.FestivalCategory;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -83,6 +86,35 @@ public interface FestivalRepository extends JpaRepository<Festival, Long> {
     @Query("SELECT f FROM Festival f WHERE f.lastUpdated > :lastUpdatedAfter ORDER BY f.lastUpdated DESC")
     List<Festival> findFestivalsUpdatedAfter(@Param("lastUpdatedAfter") LocalDateTime lastUpdatedAfter);
 
+    /**
+     * 가장 최근의 갱신 시각을 조회합니다. (축제가 없으면 null)
+     */
+    @Query("SELECT MAX(f.lastUpdated) FROM Festival f")
+    LocalDateTime findMaxLastUpdated();
+
+    /**
+     * 모든 축제의 ID를 조회합니다. (엔티티를 불러오지 않음)
+     */
+    @Query("SELECT f.id FROM Festival f")
+    List<Long> findAllIds();
+
+    /**
+     * 내용이 바뀌지 않은 축제의 갱신 시각만 일괄 변경합니다.
+     * 벌크 업데이트라 엔티티를 불러오지 않고, 색인 대상 필드가 없으므로 재색인도 일어나지 않습니다.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Festival f SET f.lastUpdated = :lastUpdated WHERE f.festivalId IN :festivalIds")
+    int updateLastUpdatedByFestivalIdIn(
+            @Param("festivalIds") Collection<String> festivalIds,
+            @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    /**
+     * 지정된 날짜 이후에 끝나는 축제를 조회합니다. (갱신 시각과 무관)
+     */
+    @Query("SELECT f FROM Festival f WHERE f.endDate >= :date")
+    List<Festival> findFestivalsEndingOnOrAfter(@Param("date") LocalDate date);
+
     /**
      * 위치 정보만으로 효율적으로 조회합니다.
      */
@@ -0,0 +1,7 @@
+package csw.korea.festival.main.festival.repository;
+
+import csw.korea.festival.main.festival.model.SearchIndexMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SearchIndexMarkerRepository extends JpaRepository<SearchIndexMarker, String> {
+}
@@ -2,20 +2,33 @@ package csw.korea.festival.main.festival.resolver;
 
 
 import csw.korea.festival.main.common.annotation.RateLimited;
+import csw.korea.festival.main.common.dto.KWeather;
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.FestivalConnection;
 import csw.korea.festival.main.festival.model.FestivalPage;
+import csw.korea.festival.main.festival.model.Suggestion;
 import csw.korea.festival.main.festival.service.FestivalSearchService;
 import csw.korea.festival.main.festival.service.FestivalService;
+import csw.korea.festival.main.festival.service.FestivalSuggestService;
+import csw.korea.festival.main.festival.service.FestivalWeatherService;
+import csw.korea.festival.main.festival.service.WeatherCoverage;
+import graphql.GraphQLContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
+
 @Controller
 @RequiredArgsConstructor
 public class FestivalResolver {
 
     private final FestivalService festivalService;
     private final FestivalSearchService festivalSearchService;
+    private final FestivalWeatherService festivalWeatherService;
+    private final FestivalSuggestService festivalSuggestService;
 
     /**
      * Fetches a paginated list of festivals based on the provided month and location.
@@ -39,12 +52,35 @@ public class FestivalResolver {
         return festivalService.getFestivals(month, latitude, longitude, page, size);
     }
 
+    /**
+     * Fetches festivals nearest first, using cursor-based pagination.
+     *
+     * @param month     Optional month in "MM" format. Defaults to current month if not provided.
+     * @param latitude  Optional latitude. Defaults to predefined value if not provided.
+     * @param longitude Optional longitude. Defaults to predefined value if not provided.
+     * @param first     Optional number of festivals to return. Defaults to 10.
+     * @param after     Optional cursor ({@code endCursor} of the previous page).
+     * @return A connection of festivals after the cursor.
+     */
+    @RateLimited(key = "festivals", capacity = 100, refillTokens = 100, refillDurationMillis = 60000)
+    @QueryMapping
+    public FestivalConnection festivalsConnection(
+            @Argument String month,
+            @Argument Float latitude,
+            @Argument Float longitude,
+            @Argument Integer first,
+            @Argument String after
+    ) {
+        return festivalService.getFestivalsConnection(month, latitude, longitude, first, after);
+    }
+
     /**
      * Searches for festivals based on a query string.
      *
      * @param query The search query.
      * @param page  Optional page number.
      * @param size  Optional page size.
+     * @param profile Optional search profile. Defaults to "default".
      * @return A paginated list of festivals matching the query.
      */
     @RateLimited(key = "searchFestivals", capacity = 50, refillTokens = 50, refillDurationMillis = 60000)
@@ -52,7 +88,8 @@ public class FestivalResolver {
     public FestivalPage searchFestivals(
             @Argument String query,
             @Argument Integer page,
-            @Argument Integer size
+            @Argument Integer size,
+            @Argument String profile
     ) {
         int pageNumber = page != null ? page : 0;
         int pageSize = size != null ? size : 10;
@@ -67,7 +104,23 @@ public class FestivalResolver {
 //        if (Korean.isQwerty(query)) {
 //            query = Korean.toHangul(query);
 //        }
-        return festivalSearchService.searchFestivals(query, pageNumber, pageSize);
+        return festivalSearchService.searchFestivals(query, profile, pageNumber, pageSize);
+    }
+
+    /**
+     * Suggests festival names, regions and stations for a prefix being typed.
+     *
+     * @param prefix The text typed so far (Hangul, initial consonants or QWERTY keys).
+     * @param size   Optional maximum number of suggestions. Defaults to 10, at most 50.
+     * @return The suggestions, best first.
+     */
+    @RateLimited(key = "suggest", capacity = 300, refillTokens = 300, refillDurationMillis = 60000)
+    @QueryMapping
+    public List<Suggestion> suggest(@Argument String prefix, @Argument Integer size) {
+        int suggestionCount = size != null
+                ? Math.clamp(size, 1, FestivalSuggestService.MAX_SIZE)
+                : FestivalSuggestService.DEFAULT_SIZE;
+        return festivalSuggestService.suggest(prefix, suggestionCount);
     }
 
     @RateLimited(key = "searchFestivalsNearStation", capacity = 50, refillTokens = 50, refillDurationMillis = 60000)
@@ -76,7 +129,8 @@ public class FestivalResolver {
             @Argument String query,
             @Argument String stationName,
             @Argument Integer page,
-            @Argument Integer size
+            @Argument Integer size,
+            @Argument String profile
     ) {
         int pageNumber = page != null ? page : 0;
         int pageSize = size != null ? size : 10;
@@ -85,6 +139,44 @@ public class FestivalResolver {
         if (stationName == null || stationName.isBlank()) {
             return festivalService.getFestivals(null, null, null, pageNumber, pageSize);
         }
-        return festivalSearchService.searchFestivalsNearStation(query, stationName, pageNumber, pageSize);
+        return festivalSearchService.searchFestivalsNearStation(query, stationName, profile, pageNumber, pageSize);
+    }
+
+    /**
+     * Searches for festivals based on a query string, using cursor-based pagination.
+     *
+     * @param query The search query.
+     * @param first Optional number of festivals to return. Defaults to 10.
+     * @param after Optional cursor ({@code endCursor} of the previous page).
+     * @param profile Optional search profile. Defaults to "default".
+     * @return A connection of festivals matching the query.
+     */
+    @RateLimited(key = "searchFestivals", capacity = 50, refillTokens = 50, refillDurationMillis = 60000)
+    @QueryMapping
+    public FestivalConnection searchFestivalsConnection(
+            @Argument String query,
+            @Argument Integer first,
+            @Argument String after,
+            @Argument String profile
+    ) {
+        // When the query is empty, return all festivals
+        if (query == null || query.isBlank()) {
+            return festivalService.getFestivalsConnection(null, null, null, first, after);
+        }
+        return festivalSearchService.searchFestivalsConnection(query, profile, first, after);
+    }
+
+    /**
+     * Resolves {@code Festival.weather} for all festivals of a request at once, only when the field is selected.
+     * Festivals in the same grid cell share one lookup, and weather not known within the deadline is left null.
+     *
+     * @param festivals The festivals whose weather was requested.
+     * @param context   The request context, holding its {@link WeatherCoverage}.
+     * @return The weather of each festival, in the same order.
+     */
+    @BatchMapping(typeName = "Festival")
+    public List<KWeather.WeatherRequest> weather(List<Festival> festivals, GraphQLContext context) {
+        WeatherCoverage coverage = context.getOrDefault(WeatherCoverage.CONTEXT_KEY, new WeatherCoverage());
+        return festivalWeatherService.getWeather(festivals, coverage);
     }
-}
\ No newline at end of file
+}
@@ -3,8 +3,11 @@ package csw.korea.festival.main.festival.service;
 import csw.korea.festival.main.festival.model.FestivalDTO;
 import csw.korea.festival.main.festival.model.FestivalResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -17,64 +20,97 @@ import java.util.stream.Collectors;
 @Service
 public class FestivalFetchingService {
 
+    private static final String PRIMARY_URI = "https://korean.visitkorea.or.kr/kfes/list/selectWntyFstvlList.do";
+    private static final String SECONDARY_URI = "https://kfes.ktovisitkorea.com/list/selectWntyFstvlList.do";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
     // import org.springframework.web.reactive.function.client.WebClient;
     private final WebClient webClient;
+    // Pages fetched at the same time, the WebClient rate limiter still caps the request rate
+    private final int maxConcurrentPages;
 
-    public FestivalFetchingService(WebClient webClient) {
+    public FestivalFetchingService(WebClient webClient,
+                                   @Value("${festival.fetch.max-concurrent-pages:4}") int maxConcurrentPages) {
         this.webClient = webClient;
+        this.maxConcurrentPages = maxConcurrentPages;
     }
 
     /**
-     * Fetches festival data in Korean from the external API based on month and location.
+     * Fetches festival data in Korean from the external API.
      *
      * @return List of festivals.
+     * @see #streamFestivalsInKorean()
      */
     public List<FestivalDTO> fetchFestivalsInKorean() {
-        List<FestivalDTO> allFestivals = new ArrayList<>();
-        int startIdx = 0;
-        int pageSize = 12;
-        int totalCnt = Integer.MAX_VALUE; // Initialize to a large number
-
-        String primaryUri = "https://korean.visitkorea.or.kr/kfes/list/selectWntyFstvlList.do";
-        String secondaryUri = "https://kfes.ktovisitkorea.com/list/selectWntyFstvlList.do";
-
-        while (startIdx < totalCnt) {
-            // &searchDate=\{month}&locationx=\{latitude}&locationy=\{longitude}
-            String payload = STR."startIdx=\{startIdx}&searchType=A&searchArea=&searchCate=";
-
-            FestivalResponse response = webClient.post()
-                    .uri(primaryUri)
-                    .header("Content-Type", "application/x-www-form-urlencoded")
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(FestivalResponse.class)
-                    // Fallback to secondary URI upon error
-                    .onErrorResume(ex -> {
-                        log.error("Primary URI failed: {}, attempting secondary URI.", ex.getMessage());
-                        return webClient.post()
-                                .uri(secondaryUri)
-                                .header("Content-Type", "application/x-www-form-urlencoded")
-                                .bodyValue(payload)
-                                .retrieve()
-                                .bodyToMono(FestivalResponse.class);
-                    })
-                    .block();
-
-            if (response == null || response.getResultList() == null || response.getResultList().isEmpty()) {
-                log.warn("No festivals fetched for startIdx: {}", startIdx);
-                break; // Exit the loop if no data is returned
-            }
+        List<FestivalDTO> allFestivals = streamFestivalsInKorean().collectList().block();
+        return allFestivals != null ? allFestivals : new ArrayList<>();
+    }
 
-            if (totalCnt == Integer.MAX_VALUE) {
-                totalCnt = response.getTotalCnt(); // Set the total count from the first response
-                pageSize = response.getResultList().size(); // Determine the page size
+    /**
+     * Streams festival data in Korean from the external API, page by page.
+     *
+     * <p>
+     * The first page tells the total count and page size; the remaining pages are then fetched concurrently
+     * (at most {@code festival.fetch.max-concurrent-pages} at once) and emitted in feed order.
+     * Pages are only requested as downstream demand allows, so a slow consumer holds back the fetching
+     * instead of buffering the whole feed. The request rate stays bounded by the WebClient's rate limiter.
+     * </p>
+     *
+     * @return The festivals in feed order.
+     */
+    public Flux<FestivalDTO> streamFestivalsInKorean() {
+        return fetchPage(0).flatMapMany(firstPage -> {
+            if (firstPage.getResultList() == null || firstPage.getResultList().isEmpty()) {
+                log.warn("No festivals fetched for startIdx: 0");
+                return Flux.empty();
             }
 
-            allFestivals.addAll(response.getResultList());
-            startIdx += pageSize; // Increment startIdx by the page size
-        }
+            int totalCnt = firstPage.getTotalCnt();
+            int pageSize = firstPage.getResultList().size(); // Determine the page size
+            int remainingPages = Math.max(0, (totalCnt - 1) / pageSize);
+            log.info("Fetching {} festivals ({} pages).", totalCnt, remainingPages + 1);
+
+            Flux<FestivalResponse> otherPages = Flux.range(1, remainingPages)
+                    .map(page -> page * pageSize)
+                    // flatMapSequential keeps the feed order while fetching several pages at once
+                    .flatMapSequential(startIdx -> fetchPage(startIdx)
+                            .onErrorResume(ex -> {
+                                log.error("Failed to fetch festivals for startIdx {}: {}", startIdx, ex.getMessage());
+                                return Mono.empty();
+                            }), maxConcurrentPages, 1);
+
+            return Flux.concat(Mono.just(firstPage), otherPages)
+                    .filter(response -> response.getResultList() != null)
+                    .concatMapIterable(FestivalResponse::getResultList);
+        });
+    }
 
-        return allFestivals;
+    /**
+     * Fetches one page of the festival list, falling back to the secondary URI upon error.
+     *
+     * @param startIdx Index of the first festival of the page.
+     * @return The page response.
+     */
+    private Mono<FestivalResponse> fetchPage(int startIdx) {
+        // &searchDate=\{month}&locationx=\{latitude}&locationy=\{longitude}
+        String payload = STR."startIdx=\{startIdx}&searchType=A&searchArea=&searchCate=";
+
+        return webClient.post()
+                .uri(PRIMARY_URI)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .bodyValue(payload)
+                .retrieve()
+                .bodyToMono(FestivalResponse.class)
+                // Fallback to secondary URI upon error
+                .onErrorResume(ex -> {
+                    log.error("Primary URI failed: {}, attempting secondary URI.", ex.getMessage());
+                    return webClient.post()
+                            .uri(SECONDARY_URI)
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .bodyValue(payload)
+                            .retrieve()
+                            .bodyToMono(FestivalResponse.class);
+                });
     }
 
     /**
@@ -85,23 +121,31 @@ public class FestivalFetchingService {
      */
     public List<FestivalDTO> filterExpiredFestivals(List<FestivalDTO> festivalDTOs) {
         LocalDate today = LocalDate.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
 
         return festivalDTOs.stream()
-                .filter(dto -> {
-                    String endDateStr = dto.getEndDate();
-                    if (endDateStr == null || endDateStr.isEmpty()) {
-                        // If endDate is missing, consider it as not expired
-                        return true;
-                    }
-                    try {
-                        LocalDate endDate = LocalDate.parse(endDateStr, formatter);
-                        return !endDate.isBefore(today);
-                    } catch (DateTimeParseException e) {
-                        log.warn("Invalid endDate format for festival '{}': {}", dto.getName(), endDateStr);
-                        return false;
-                    }
-                })
+                .filter(dto -> isNotExpired(dto, today))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Checks whether a festival has not ended before the given day.
+     *
+     * @param dto   The festival.
+     * @param today The reference day.
+     * @return true if the festival is not expired (or has no end date).
+     */
+    public boolean isNotExpired(FestivalDTO dto, LocalDate today) {
+        String endDateStr = dto.getEndDate();
+        if (endDateStr == null || endDateStr.isEmpty()) {
+            // If endDate is missing, consider it as not expired
+            return true;
+        }
+        try {
+            LocalDate endDate = LocalDate.parse(endDateStr, DATE_FORMATTER);
+            return !endDate.isBefore(today);
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid endDate format for festival '{}': {}", dto.getName(), endDateStr);
+            return false;
+        }
+    }
 }
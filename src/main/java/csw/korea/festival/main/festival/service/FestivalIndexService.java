@@ -0,0 +1,314 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.config.lucene.SynonymMaps;
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.SearchIndexMarker;
+import csw.korea.festival.main.festival.repository.FestivalRepository;
+import csw.korea.festival.main.festival.repository.SearchIndexMarkerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the persistent festival search index in step with the database across restarts.
+ *
+ * <p>
+ * The Lucene index lives on disk ({@code hibernate.search.backend.directory.root}) and festivals saved while the
+ * application runs are indexed on commit, so on startup the index only needs the rows written since it was last
+ * brought up to date. That point is a {@link SearchIndexMarker} in the database: the highest {@code lastUpdated}
+ * indexed. Startup reindexes only the festivals updated after it, and rebuilds the whole index only when there is
+ * no marker, the marker was written by another {@link #MAPPING_VERSION} or with other {@link SynonymMaps} (e.g.
+ * synonym files edited while the application was down), or the index is empty while the table is not (e.g. the
+ * index directory was deleted).
+ * </p>
+ *
+ * <p>
+ * Indexing runs in the background, one run at a time, with the loading tuned by {@code festival.index.*}.
+ * Except after a mapping change, documents are replaced in place rather than purged first, so searches keep
+ * being served from the complete existing index while a run is in progress; documents of festivals no longer in
+ * the database are purged once the run is done. A mapping change drops and recreates the index itself (the Lucene
+ * backend has no index aliases to build aside and swap), so searches return only the festivals indexed so far
+ * until that rebuild completes. The run's {@link IndexingProgress} (throughput, ETA) is exposed by the
+ * {@code festivalindex} actuator endpoint.
+ * </p>
+ */
+@Slf4j
+@Service
+public class FestivalIndexService {
+
+    public static final String INDEX_NAME = "festivals";
+
+    /**
+     * Version of the festival mapping and analyzers; bump it when a change needs every festival reindexed.
+     */
+    public static final int MAPPING_VERSION = 1;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final FestivalRepository festivalRepository;
+    private final SearchIndexMarkerRepository markerRepository;
+    private final TaskExecutor taskExecutor;
+    private final FestivalSearchCache festivalSearchCache;
+    private final int threadsToLoadObjects;
+    private final int batchSizeToLoadObjects;
+    private final int idFetchSize;
+
+    private final AtomicReference<CompletableFuture<Boolean>> inFlight = new AtomicReference<>();
+    private volatile IndexingProgress progress;
+    private volatile String lastError;
+
+    // Set once this process has caught the index up, after which the marker may follow the refreshes
+    private volatile boolean synchronizedOnce;
+    // Digest of the synonyms the last run indexed with, recorded in the marker
+    private volatile String indexedSynonyms;
+
+    public FestivalIndexService(EntityManagerFactory entityManagerFactory,
+                                FestivalRepository festivalRepository,
+                                SearchIndexMarkerRepository markerRepository,
+                                TaskExecutor taskExecutor,
+                                FestivalSearchCache festivalSearchCache,
+                                @Value("${festival.index.threads-to-load-objects:4}") int threadsToLoadObjects,
+                                @Value("${festival.index.batch-size-to-load-objects:50}") int batchSizeToLoadObjects,
+                                @Value("${festival.index.id-fetch-size:500}") int idFetchSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.festivalRepository = festivalRepository;
+        this.markerRepository = markerRepository;
+        this.taskExecutor = taskExecutor;
+        this.festivalSearchCache = festivalSearchCache;
+        this.threadsToLoadObjects = threadsToLoadObjects;
+        this.batchSizeToLoadObjects = batchSizeToLoadObjects;
+        this.idFetchSize = idFetchSize;
+    }
+
+    /**
+     * Brings the index up to date with the database in the background: the festivals updated since the marker,
+     * or all of them when the index has to be rebuilt.
+     *
+     * @return A future completing with true if the whole index was rebuilt; the running one's future if any.
+     */
+    public CompletableFuture<Boolean> synchronizeAsync() {
+        return runAsync(false);
+    }
+
+    /**
+     * Reindexes every festival in the background, replacing the documents in place.
+     *
+     * @return A future completing when done; the running one's future if any.
+     */
+    public CompletableFuture<Boolean> reindexAsync() {
+        return runAsync(true);
+    }
+
+    public boolean isIndexing() {
+        return inFlight.get() != null;
+    }
+
+    /**
+     * @return The status of the current or last run, as exposed by the actuator endpoint.
+     */
+    public IndexStatus status() {
+        IndexingProgress current = progress;
+        return new IndexStatus(isIndexing(), current != null ? current.status() : null, lastError);
+    }
+
+    /**
+     * Moves the marker to the latest festival update, after a refresh whose changes were indexed on commit.
+     * Festivals whose {@code lastUpdated} was bumped without a content change need no reindex either.
+     * Does nothing until the index has been synchronized in this process.
+     */
+    public void markUpToDate() {
+        if (!synchronizedOnce || isIndexing()) {
+            return;
+        }
+        try {
+            saveMarker(festivalRepository.findMaxLastUpdated());
+        } catch (RuntimeException e) {
+            // The next startup catches up from the previous marker
+            log.warn("Failed to update the search index marker: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the index must be rebuilt from scratch rather than caught up from the marker.
+     *
+     * @param marker            The marker in the database, null if there is none.
+     * @param indexedDocuments  The number of documents in the index.
+     * @param databaseFestivals The number of festivals in the database.
+     * @param synonyms          The digest of the synonyms in use.
+     */
+    static boolean needsRebuild(SearchIndexMarker marker, long indexedDocuments, long databaseFestivals,
+                                String synonyms) {
+        return marker == null
+                || marker.getMappingVersion() != MAPPING_VERSION
+                || !Objects.equals(marker.getSynonyms(), synonyms)
+                || (indexedDocuments == 0 && databaseFestivals > 0);
+    }
+
+    private CompletableFuture<Boolean> runAsync(boolean full) {
+        while (true) {
+            CompletableFuture<Boolean> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Boolean> run = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, run)) {
+                try {
+                    taskExecutor.execute(() -> run(run, full));
+                } catch (RuntimeException e) {
+                    inFlight.compareAndSet(run, null);
+                    run.completeExceptionally(e);
+                }
+                return run;
+            }
+        }
+    }
+
+    private void run(CompletableFuture<Boolean> run, boolean full) {
+        try {
+            boolean rebuilt = synchronize(full);
+            lastError = null;
+            inFlight.compareAndSet(run, null);
+            run.complete(rebuilt);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Festival indexing failed: {}", e.getMessage(), e);
+            lastError = e.getMessage();
+            inFlight.compareAndSet(run, null);
+            run.completeExceptionally(e);
+        }
+    }
+
+    private boolean synchronize(boolean full) throws InterruptedException {
+        SearchIndexMarker marker = markerRepository.findById(INDEX_NAME).orElse(null);
+        // Synonyms are expanded at indexing time: read before indexing, like the data
+        String synonyms = SynonymMaps.digest();
+        // Read before indexing: rows updated while indexing are indexed on commit, or caught up next time
+        LocalDateTime upTo = festivalRepository.findMaxLastUpdated();
+
+        long indexedDocuments = indexedDocuments();
+        boolean rebuild = full || needsRebuild(marker, indexedDocuments, festivalRepository.count(), synonyms);
+        // A new mapping needs a new schema; otherwise documents are replaced in place and the index keeps serving
+        boolean newSchema = marker != null && marker.getMappingVersion() != MAPPING_VERSION;
+
+        MassIndexer massIndexer = tunedMassIndexer();
+        String mode;
+        if (rebuild) {
+            mode = newSchema ? "rebuild" : indexedDocuments == 0 ? "build" : "reindex";
+            massIndexer.dropAndCreateSchemaOnStart(newSchema)
+                    .purgeAllOnStart(false);
+        } else if (upTo != null && (marker.getIndexedUpTo() == null || upTo.isAfter(marker.getIndexedUpTo()))) {
+            mode = "incremental";
+            massIndexer.purgeAllOnStart(false)
+                    .mergeSegmentsOnFinish(false);
+            // No indexedUpTo: the table was empty when the marker was written
+            if (marker.getIndexedUpTo() != null) {
+                massIndexer.type(Festival.class)
+                        .reindexOnly("e.lastUpdated > :indexedUpTo")
+                        .param("indexedUpTo", marker.getIndexedUpTo());
+            }
+        } else {
+            mode = null;
+        }
+
+        if (mode != null) {
+            IndexingProgress run = new IndexingProgress(mode);
+            progress = run;
+            massIndexer.monitor(run).startAndWait();
+            IndexingProgress.Status status = run.status();
+            log.info("Festival index {}: {} documents at {} docs/s.", mode, status.documentsAdded(),
+                    status.documentsPerSecond());
+            // In-place runs never remove documents: a full reindex, or more documents than rows, checks for orphans
+            if (!newSchema && indexedDocuments > 0 && (rebuild || indexedDocuments() > festivalRepository.count())) {
+                purgeOrphans();
+            }
+            festivalSearchCache.indexChanged();
+        } else {
+            log.info("Festival index is up to date (up to {}).", upTo);
+        }
+
+        // Without a rebuild, the marker's synonyms already were these
+        indexedSynonyms = synonyms;
+        saveMarker(upTo);
+        synchronizedOnce = true;
+        return rebuild;
+    }
+
+    private long indexedDocuments() {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return Search.session(entityManager).search(Festival.class)
+                    .where(f -> f.matchAll())
+                    .fetchTotalHitCount();
+        }
+    }
+
+    /**
+     * Purges the documents of festivals deleted from the database without going through Hibernate
+     * (e.g. bulk deletes, or while the application was down).
+     */
+    private void purgeOrphans() {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            SearchSession searchSession = Search.session(entityManager);
+            List<Long> indexedIds = searchSession.search(Festival.class)
+                    .select(f -> f.id(Long.class))
+                    .where(f -> f.matchAll())
+                    .fetchAllHits();
+            Set<Long> ids = new HashSet<>(festivalRepository.findAllIds());
+            List<Long> orphans = indexedIds.stream()
+                    .filter(id -> !ids.contains(id))
+                    .toList();
+            if (orphans.isEmpty()) {
+                return;
+            }
+
+            EntityTransaction transaction = entityManager.getTransaction();
+            transaction.begin();
+            try {
+                SearchIndexingPlan indexingPlan = searchSession.indexingPlan();
+                orphans.forEach(id -> indexingPlan.purge(Festival.class, id, null));
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+            log.info("Festival index: purged {} orphan documents.", orphans.size());
+        }
+    }
+
+    private MassIndexer tunedMassIndexer() {
+        return Search.mapping(entityManagerFactory).scope(Festival.class).massIndexer()
+                .typesToIndexInParallel(1)
+                .threadsToLoadObjects(threadsToLoadObjects)
+                .batchSizeToLoadObjects(batchSizeToLoadObjects)
+                .idFetchSize(idFetchSize)
+                // Every festival is read once: do not fill the second-level cache
+                .cacheMode(CacheMode.IGNORE);
+    }
+
+    private void saveMarker(LocalDateTime upTo) {
+        markerRepository.save(new SearchIndexMarker(INDEX_NAME, MAPPING_VERSION, indexedSynonyms, upTo,
+                LocalDateTime.now()));
+    }
+
+    public record IndexStatus(boolean indexing, IndexingProgress.Status progress, String lastError) {
+    }
+}
@@ -2,14 +2,13 @@ package csw.korea.festival.main.festival.service;
 
 import csw.korea.festival.main.common.dto.AddressComponents;
 import csw.korea.festival.main.common.util.KoreanAddressParser;
-import csw.korea.festival.main.config.LimitedThreadFactory;
 import csw.korea.festival.main.festival.model.Festival;
-import csw.korea.festival.main.festival.model.FestivalCategory;
 import csw.korea.festival.main.festival.model.FestivalDTO;
 import csw.korea.festival.main.festival.model.FestivalPage;
 import csw.korea.festival.main.festival.repository.FestivalRepository;
 import csw.korea.festival.main.translation.CategorizationService;
-import csw.korea.festival.main.translation.TranslationService;
+import csw.korea.festival.main.translation.FestivalEnrichment;
+import csw.korea.festival.main.translation.FestivalEnrichmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
@@ -24,9 +23,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.StructuredTaskScope;
-import java.util.concurrent.ThreadFactory;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -35,48 +31,44 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FestivalProcessingService {
 
+    // Festival ids per bulk "lastUpdated" update
+    private static final int TOUCH_BATCH_SIZE = 500;
+
     private final FestivalRepository festivalRepository;
-    private final TranslationService translationService;
-    private final CategorizationService categorizationService;
+    private final FestivalEnrichmentService festivalEnrichmentService;
     private final KoreanAddressParser addressParser = new KoreanAddressParser();
 
     /**
-     * Translates and categorizes a festival.
-     *
-     * @param festival The festival to process.
-     * @return The processed festival with translated fields and assigned categories.
+     * Cleans the summary by removing HTML tags and unwanted characters.
      */
-    private Festival translateAndCategorizeFestival(Festival festival) {
-        if (Thread.currentThread().isInterrupted()) {
-            // Handle interruption, e.g., return early
-            return null; // FIXME: or throw an exception
-        }
-
-        // Clean the summary by removing HTML tags and unwanted characters
-        String sourceBodyHtml = Jsoup.clean(festival.getSummary(), Safelist.none()); // preserves text within angle brackets if they are not valid HTML tags.
+    private static String cleanSummary(String summary) {
+        String sourceBodyHtml = Jsoup.clean(summary, Safelist.none()); // preserves text within angle brackets if they are not valid HTML tags.
         Cleaner cleaner = new Cleaner(Safelist.none());
         String cleanSummary = cleaner.clean(Jsoup.parse(sourceBodyHtml)).text();
 
         // Remove unwanted whitespace characters
-        cleanSummary = cleanSummary.replace("\r", "")
+        return cleanSummary.replace("\r", "")
                 .replace("\n", "")
                 .replace("&lt;", "<")
                 .replace("&gt;", ">")
                 .replace("\"", "'")
                 .trim();
+    }
 
-        // Translate name and summary from Korean to English
-        String translatedName = translationService.translateText(festival.getName());
-        String translatedSummary = translationService.translateText(cleanSummary);
-
-        festival.setNameEn(translatedName);
-        festival.setSummary(cleanSummary);
-        festival.setSummaryEn(translatedSummary);
+    /**
+     * Applies the translations and categories to a festival and fills the derived fields.
+     *
+     * @param festival   The festival to process (summary already cleaned).
+     * @param enrichment English name, summary and categories of the festival.
+     * @return The processed festival with translated fields and assigned categories.
+     */
+    private Festival applyEnrichment(Festival festival, FestivalEnrichment enrichment) {
+        festival.setNameEn(enrichment.nameEn());
+        festival.setSummaryEn(enrichment.summaryEn());
         festival.setAddress(festival.getAddress().trim());
 
-        // Assign categories using OpenAI
-        Set<FestivalCategory> categories = new HashSet<>(categorizationService.categorize(translatedSummary));
-        festival.setCategories(categories);
+        // Categories assigned by OpenAI
+        festival.setCategories(new HashSet<>(enrichment.categories()));
 
         // Set Naver URL with proper encoding
         String encodedAddress = URLEncoder.encode(festival.getAddress(), StandardCharsets.UTF_8);
@@ -95,22 +87,32 @@ public class FestivalProcessingService {
 //            festival.setWeather(null); // Set weather to null for now
 //        }
 
-        if (Thread.currentThread().isInterrupted()) {
-            return null;
-        }
-
         return festival;
     }
 
 // TODO: Skip festivals that are canceled or postponed (no start_date or end_date)
-    @SuppressWarnings(value = "UnstableApiUsage")
+    /**
+     * Selects the new or changed festivals and translates/categorizes them.
+     *
+     * <p>
+     * A festival is reprocessed only if it is new or its content hash differs from the stored one.
+     * Unchanged festivals are not translated, saved or reindexed again; only their {@code lastUpdated} is bumped.
+     * Rows without a content hash (stored before content hashes existed, or saved with fallback enrichments)
+     * fall back to the freshness threshold; a refresh only runs once the data is past it, so they are retried then.
+     * </p>
+     *
+     * @param festivalDTOs       The fetched festivals.
+     * @param freshnessThreshold Rows without a content hash that were updated before this time are reprocessed.
+     * @return The processed festivals to save (existing ones keep their id).
+     */
     public List<Festival> processFestivals(List<FestivalDTO> festivalDTOs, LocalDateTime freshnessThreshold) {
         if (festivalDTOs.isEmpty()) {
             return Collections.emptyList();
         }
 
-        // Map DTOs to entities
-        Map<String, Festival> festivalMap = festivalDTOs.stream().map(this::mapDtoToEntity).collect(Collectors.toMap(Festival::getFestivalId, Function.identity()));
+        // Map DTOs to entities (pages fetched concurrently may repeat a festival, keep the last one)
+        Map<String, Festival> festivalMap = festivalDTOs.stream().map(this::mapDtoToEntity)
+                .collect(Collectors.toMap(Festival::getFestivalId, Function.identity(), (first, second) -> second, LinkedHashMap::new));
 
         // Extract unique identifiers
         Set<String> festivalIds = festivalMap.keySet();
@@ -123,58 +125,79 @@ public class FestivalProcessingService {
 
         // Lists to hold festivals to process
         List<Festival> festivalsToProcess = new ArrayList<>();
+        List<String> unchangedFestivalIds = new ArrayList<>();
+        int newCount = 0;
 
-        for (Map.Entry<String, Festival> entry : festivalMap.entrySet()) {
-            String festivalId = entry.getKey();
-            Festival festival = entry.getValue();
+        for (Festival festival : festivalMap.values()) {
+            Festival existingFestival = existingFestivalMap.get(festival.getFestivalId());
 
-            existingFestivalMap.computeIfAbsent(festivalId, id -> {
+            if (existingFestival == null) {
+                newCount++;
                 festivalsToProcess.add(festival);
-                return festival;
-            });
-
-            Festival existingFestival = existingFestivalMap.get(festivalId);
-            if (existingFestival != null && existingFestival.getLastUpdated().isBefore(freshnessThreshold)) {
-                // Existing festival is outdated
+            } else if (isChanged(existingFestival, festival, freshnessThreshold)) {
                 festival.setId(existingFestival.getId()); // Ensure we're updating the same entity
                 festivalsToProcess.add(festival);
+            } else if (existingFestival.getContentHash() != null) {
+                unchangedFestivalIds.add(festival.getFestivalId());
             }
+            // Fresh rows without a hash are left as they are, they get hashed once they become outdated
         }
 
-        log.info("Identified {} festivals to process (new or outdated).", festivalsToProcess.size());
+        log.info("Identified {} festivals to process ({} new, {} changed), {} unchanged by content hash.",
+                festivalsToProcess.size(), newCount, festivalsToProcess.size() - newCount, unchangedFestivalIds.size());
+
+        touchUnchangedFestivals(unchangedFestivalIds);
 
         if (festivalsToProcess.isEmpty()) {
             return Collections.emptyList();
         }
 
-        // Proceed to translate and categorize festivals
-        int maxConcurrency = 3;
-        ThreadFactory baseFactory = Thread.ofVirtual().factory();
-        ThreadFactory limitedFactory = new LimitedThreadFactory(baseFactory, maxConcurrency);
-
-        List<Festival> processedFestivals = new ArrayList<>();
-        try (var scope = new StructuredTaskScope.ShutdownOnFailure(null, limitedFactory)) {
-            List<StructuredTaskScope.Subtask<Festival>> futures = new ArrayList<>();
-            for (Festival festival : festivalsToProcess) {
-                StructuredTaskScope.Subtask<Festival> future = scope.fork(() -> translateAndCategorizeFestival(festival));
-                futures.add(future);
+        // Translate and categorize festivals, one combined LLM call per batch of festivals
+        List<FestivalEnrichment.Source> sources = new ArrayList<>(festivalsToProcess.size());
+        for (Festival festival : festivalsToProcess) {
+            festival.setSummary(cleanSummary(festival.getSummary()));
+            sources.add(new FestivalEnrichment.Source(festival.getName(), festival.getSummary()));
+        }
+        List<FestivalEnrichment> enrichments = festivalEnrichmentService.enrichAll(sources);
+
+        List<Festival> processedFestivals = new ArrayList<>(festivalsToProcess.size());
+        int fallbackCount = 0;
+        for (int i = 0; i < festivalsToProcess.size(); i++) {
+            Festival festival = festivalsToProcess.get(i);
+            FestivalEnrichment enrichment = enrichments.get(i);
+            if (enrichment.isFallback()) {
+                // Korean text or [OTHER] stands in for the enrichment: keep it, but without a hash so the
+                // festival counts as changed on the next refresh (see isChanged) and is enriched again
+                festival.setContentHash(null);
+                fallbackCount++;
             }
+            processedFestivals.add(applyEnrichment(festival, enrichment));
+        }
+        if (fallbackCount > 0) {
+            log.warn("{} festivals were saved with fallback translations or categories and will be retried.", fallbackCount);
+        }
 
-            scope.join();
-            scope.throwIfFailed();
+        return processedFestivals;
+    }
 
-            for (StructuredTaskScope.Subtask<Festival> future : futures) {
-                Festival result = future.get();
-                if (result != null) {
-                    processedFestivals.add(result);
-                }
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Error during festival processing", e);
+    private static boolean isChanged(Festival existingFestival, Festival festival, LocalDateTime freshnessThreshold) {
+        if (existingFestival.getContentHash() == null) {
+            // Stored before content hashes existed
+            return existingFestival.getLastUpdated() == null || existingFestival.getLastUpdated().isBefore(freshnessThreshold);
         }
+        return !existingFestival.getContentHash().equals(festival.getContentHash());
+    }
 
-        return processedFestivals;
+    /**
+     * Marks unchanged festivals as up to date with bulk updates, without loading or reindexing them.
+     */
+    private void touchUnchangedFestivals(List<String> festivalIds) {
+        LocalDateTime now = LocalDateTime.now();
+        // Stay below SQLite's bound parameter limit
+        for (int from = 0; from < festivalIds.size(); from += TOUCH_BATCH_SIZE) {
+            List<String> batch = festivalIds.subList(from, Math.min(from + TOUCH_BATCH_SIZE, festivalIds.size()));
+            festivalRepository.updateLastUpdatedByFestivalIdIn(batch, now);
+        }
     }
 
     private FestivalPage convertToFestivalPage(Page<Festival> festivalPage) {
@@ -199,6 +222,7 @@ public class FestivalProcessingService {
         festival.setLongitude(dto.getLongitude());
         festival.setLastUpdated(LocalDateTime.now());
         festival.setImageUrl(dto.getImageUrl());
+        festival.setContentHash(dto.contentHash());
 
         // Parse and set startDate and endDate
         // koreafestival.com returns date as "yyyy.MM.dd" but I will save as "yyyy-MM-dd"
@@ -0,0 +1,230 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.FestivalDTO;
+import csw.korea.festival.main.festival.repository.FestivalRepository;
+import csw.korea.festival.main.festival.snapshot.FestivalSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Single-flight coordinator for refreshing festivals from the external API.
+ *
+ * <p>
+ * A refresh streams all festivals, translates/categorizes and saves the new or changed ones batch by batch,
+ * and rebuilds the snapshot.
+ * At most one refresh runs at a time: callers arriving while one is in flight join it instead of starting another.
+ * The request path only triggers a refresh and keeps serving the current snapshot (stale-while-revalidate).
+ * </p>
+ */
+@Slf4j
+@Service
+public class FestivalRefreshService {
+
+    private final FestivalRepository festivalRepository;
+    private final FestivalFetchingService festivalFetchingService;
+    private final FestivalProcessingService festivalProcessingService;
+    private final FestivalSnapshotService festivalSnapshotService;
+    private final FestivalIndexService festivalIndexService;
+    private final FestivalSearchCache festivalSearchCache;
+    private final TaskExecutor taskExecutor;
+    // Minimum time between two refreshes triggered by stale data on the request path
+    private final Duration minTriggerInterval;
+    // Festivals processed and saved together
+    private final int batchSize;
+
+    private final AtomicReference<CompletableFuture<Integer>> inFlight = new AtomicReference<>();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastSucceededAt;
+    private volatile LocalDateTime lastFailedAt;
+    private volatile String lastError;
+    private volatile int lastSavedCount;
+
+    public FestivalRefreshService(FestivalRepository festivalRepository,
+                                  FestivalFetchingService festivalFetchingService,
+                                  FestivalProcessingService festivalProcessingService,
+                                  FestivalSnapshotService festivalSnapshotService,
+                                  FestivalIndexService festivalIndexService,
+                                  FestivalSearchCache festivalSearchCache,
+                                  TaskExecutor taskExecutor,
+                                  @Value("${festival.refresh.min-interval-ms:600000}") long minTriggerIntervalMs,
+                                  @Value("${festival.ingest.batch-size:50}") int batchSize) {
+        this.festivalRepository = festivalRepository;
+        this.festivalFetchingService = festivalFetchingService;
+        this.festivalProcessingService = festivalProcessingService;
+        this.festivalSnapshotService = festivalSnapshotService;
+        this.festivalIndexService = festivalIndexService;
+        this.festivalSearchCache = festivalSearchCache;
+        this.taskExecutor = taskExecutor;
+        this.minTriggerInterval = Duration.ofMillis(minTriggerIntervalMs);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Triggers a background refresh if the data is stale, without waiting for it.
+     * Does nothing while a refresh is running or if the last one started less than the minimum interval ago,
+     * so a failing or empty external API is not crawled on every request.
+     *
+     * @param freshnessThreshold Data last updated before this time is stale.
+     * @return true if a refresh is running after this call.
+     */
+    public boolean refreshIfStale(LocalDateTime freshnessThreshold) {
+        if (isRefreshing()) {
+            return true;
+        }
+        if (!festivalSnapshotService.current().isStale(freshnessThreshold)) {
+            return false;
+        }
+        LocalDateTime startedAt = lastStartedAt;
+        if (startedAt != null && startedAt.plus(minTriggerInterval).isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        refreshAsync();
+        return true;
+    }
+
+    /**
+     * Starts a background refresh unless one is already running.
+     *
+     * @return A future completing with the number of saved festivals; the running refresh's future if there is one.
+     */
+    public CompletableFuture<Integer> refreshAsync() {
+        while (true) {
+            CompletableFuture<Integer> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Integer> refresh = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, refresh)) {
+                lastStartedAt = LocalDateTime.now();
+                try {
+                    taskExecutor.execute(() -> run(refresh));
+                } catch (RuntimeException e) {
+                    inFlight.compareAndSet(refresh, null);
+                    refresh.completeExceptionally(e);
+                }
+                return refresh;
+            }
+        }
+    }
+
+    public boolean isRefreshing() {
+        return inFlight.get() != null;
+    }
+
+    /**
+     * @return The current refresh status, as exposed by the actuator endpoint.
+     */
+    public RefreshStatus status() {
+        FestivalSnapshot snapshot = festivalSnapshotService.current();
+        return new RefreshStatus(isRefreshing(), lastStartedAt, lastSucceededAt, lastFailedAt, lastError,
+                lastSavedCount, completedCount.get(), failedCount.get(), snapshot.size(), snapshot.getDataUpdatedAt());
+    }
+
+    private void run(CompletableFuture<Integer> refresh) {
+        try {
+            int saved = ingest();
+            lastSavedCount = saved;
+            lastSucceededAt = LocalDateTime.now();
+            completedCount.incrementAndGet();
+            finish(refresh);
+            refresh.complete(saved);
+        } catch (Exception e) {
+            log.error("Festival refresh failed: {}", e.getMessage(), e);
+            lastError = e.getMessage();
+            lastFailedAt = LocalDateTime.now();
+            failedCount.incrementAndGet();
+            finish(refresh);
+            refresh.completeExceptionally(e);
+        }
+    }
+
+    // Cleared before completing, so callers reacting to the result can start a new refresh
+    private void finish(CompletableFuture<Integer> refresh) {
+        inFlight.compareAndSet(refresh, null);
+    }
+
+    /**
+     * Streams the feed through filter, translate and save in batches.
+     * Batches are processed one at a time on the calling thread, and only one batch ahead is requested from
+     * the feed, so memory stays flat regardless of the feed size. Each saved batch is added to the snapshot
+     * right away, before the remaining pages are fetched.
+     */
+    private int ingest() {
+        // Define the freshness threshold (festivals updated within the last 3 weeks are not reprocessed)
+        LocalDateTime freshnessThreshold = LocalDateTime.now().minusWeeks(3);
+        LocalDate today = LocalDate.now();
+
+        int savedCount = 0;
+        // Fetch from external API and filter out expired festivals
+        try (Stream<List<FestivalDTO>> batches = festivalFetchingService.streamFestivalsInKorean()
+                .filter(dto -> festivalFetchingService.isNotExpired(dto, today))
+                .buffer(batchSize)
+                .toStream(1)) {
+            Iterator<List<FestivalDTO>> iterator = batches.iterator();
+            while (iterator.hasNext()) {
+                savedCount += processAndSave(iterator.next(), freshnessThreshold);
+            }
+        }
+
+        if (savedCount > 0) {
+            log.info("Saved {} new or changed festivals to the database.", savedCount);
+        } else {
+            log.info("No new festivals to save after processing.");
+        }
+
+        // Saved festivals were indexed on commit, and the ones only marked as fresh did not change
+        festivalIndexService.markUpToDate();
+
+        // Reload the snapshot from the database, which also picks up festivals that were only marked as fresh
+        festivalSnapshotService.rebuild();
+        return savedCount;
+    }
+
+    private int processAndSave(List<FestivalDTO> batch, LocalDateTime freshnessThreshold) {
+        // Process festivals (translation and categorization)
+        List<Festival> processedFestivals = festivalProcessingService.processFestivals(batch, freshnessThreshold);
+        if (processedFestivals.isEmpty()) {
+            return 0;
+        }
+
+        // Update the lastUpdated timestamp
+        LocalDateTime now = LocalDateTime.now();
+        processedFestivals.forEach(festival -> festival.setLastUpdated(now));
+
+        // Save processed festivals to the database and make them queryable right away
+        List<Festival> savedFestivals = festivalRepository.saveAll(processedFestivals);
+        // Indexed on commit: cached search results of the previous index are dropped on the next search
+        festivalSearchCache.indexChanged();
+        festivalSnapshotService.upsert(savedFestivals);
+        return savedFestivals.size();
+    }
+
+    public record RefreshStatus(
+            boolean refreshing,
+            LocalDateTime lastStartedAt,
+            LocalDateTime lastSucceededAt,
+            LocalDateTime lastFailedAt,
+            String lastError,
+            int lastSavedCount,
+            long completedCount,
+            long failedCount,
+            int snapshotSize,
+            LocalDateTime dataUpdatedAt
+    ) {
+    }
+}
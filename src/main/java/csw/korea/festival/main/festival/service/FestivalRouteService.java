@@ -3,6 +3,7 @@ package csw.korea.festival.main.festival.service;
 import csw.korea.festival.main.common.dto.KakaoRouteRequest;
 import csw.korea.festival.main.common.dto.KakaoRouteResponse;
 import csw.korea.festival.main.common.service.KoreaStationService;
+import csw.korea.festival.main.common.util.TopK;
 import csw.korea.festival.main.config.KakaoMobilityClient;
 import csw.korea.festival.main.festival.exception.NoNearbyFestivalException;
 import csw.korea.festival.main.festival.model.Festival;
@@ -105,18 +106,23 @@ public class FestivalRouteService {
 
         log.info("Fetched {} festivals within the date range and categories.", allFestivals.size());
 
-        // Filter festivals within the maximum distance
-        List<Festival> nearbyFestivals = allFestivals.stream()
-                .peek(festival -> {
-                    double festivalLat = festival.getLatitude();
-                    double festivalLon = festival.getLongitude();
-                    double distance = calculateDistance(startLat, startLon, festivalLat, festivalLon);
-                    festival.setDistance(distance);
-                })
-                .filter(festival -> festival.getDistance() <= maxDistanceKm)
-                .sorted(Comparator.comparingDouble(Festival::getDistance))
-                .limit(maxAllowedFestivals)
-                .collect(Collectors.toList());
+        // Select the nearest festivals within the maximum distance without sorting or mutating the entities
+        TopK nearest = new TopK(Math.max(0, maxAllowedFestivals));
+        for (int i = 0; i < allFestivals.size(); i++) {
+            Festival festival = allFestivals.get(i);
+            double distance = calculateDistance(startLat, startLon, festival.getLatitude(), festival.getLongitude());
+            if (distance <= maxDistanceKm) {
+                nearest.offer(distance, i);
+            }
+        }
+        nearest.sort();
+
+        List<Festival> nearbyFestivals = new ArrayList<>(nearest.size());
+        for (int rank = 0; rank < nearest.size(); rank++) {
+            Festival festival = allFestivals.get(nearest.id(rank)).shallowCopy();
+            festival.setDistance(nearest.key(rank));
+            nearbyFestivals.add(festival);
+        }
 
         if (nearbyFestivals.isEmpty()) {
             throw new NoNearbyFestivalException(STR."No festivals found within \{maxDistanceKm} km of the start station.");
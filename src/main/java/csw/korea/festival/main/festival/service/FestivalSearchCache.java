@@ -0,0 +1,213 @@
+package csw.korea.festival.main.festival.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import csw.korea.festival.main.festival.model.Festival;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexReaderContext;
+import org.hibernate.search.backend.lucene.LuceneExtension;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caches festival search results until the search index changes.
+ *
+ * <p>
+ * Festivals change at most daily, so the same searches are answered many times from the same index.
+ * Entries are keyed by query shape, normalized query, parameters (page, coordinates) and index generation,
+ * the version of the Lucene reader. Every write to the index (mass indexing, or a saved festival indexed
+ * at commit) bumps the version, and the whole cache is dropped when a newer generation is seen.
+ * Opening a reader per lookup would put that cost on every cache hit, so the generation is read at most once per
+ * {@code festival.search.cache.generation-check-ms}, and right away after the indexing and refresh paths report
+ * a change ({@link #indexChanged()}). Writes from elsewhere are picked up within the interval.
+ * Cached results are shared by concurrent requests and must not be modified.
+ * Lookups are timed in {@code festival.search.requests}
+ * (tags: shape, profile, terms, cache), which also gives the hit rate and latency per search profile.
+ * </p>
+ */
+@Slf4j
+@Component
+public class FestivalSearchCache {
+
+    private final LongSupplier indexGeneration;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Key, Object> cache;
+    private final Counter invalidations;
+    // Highest index generation seen
+    private final AtomicLong generation = new AtomicLong(Long.MIN_VALUE);
+    private final long generationCheckIntervalNanos;
+    // Changes reported by indexChanged(), and how many of them the last generation read covers
+    private final AtomicLong reportedChanges = new AtomicLong();
+    private volatile long checkedChanges = -1;
+    // System.nanoTime() after which the generation is read again
+    private volatile long nextGenerationCheck;
+
+    @Autowired
+    public FestivalSearchCache(EntityManager entityManager, MeterRegistry meterRegistry,
+                               @Value("${festival.search.cache.max-size:2000}") long maximumSize,
+                               @Value("${festival.search.cache.expire-after-write-ms:86400000}") long expireAfterWriteMs,
+                               @Value("${festival.search.cache.generation-check-ms:1000}") long generationCheckMs) {
+        this(() -> indexGeneration(entityManager), meterRegistry, maximumSize, Duration.ofMillis(expireAfterWriteMs),
+                Duration.ofMillis(generationCheckMs));
+    }
+
+    FestivalSearchCache(LongSupplier indexGeneration, MeterRegistry meterRegistry,
+                        long maximumSize, Duration expireAfterWrite, Duration generationCheckInterval) {
+        this.indexGeneration = indexGeneration;
+        this.generationCheckIntervalNanos = generationCheckInterval.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.invalidations = Counter.builder("festival.search.cache.invalidations")
+                .description("Search result cache drops on index changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result of the search, or runs it and caches the result.
+     * If the index generation cannot be read, the search runs uncached.
+     *
+     * @param shape      The kind of search (e.g. "page", "geo"), part of the key and of the metrics.
+     * @param profile    The search profile name, for the metrics; its version belongs in the parameters.
+     * @param query      The query, normalized with {@link #normalize}.
+     * @param parameters The other inputs of the search, compared with equals.
+     * @param search     Runs the search; must not return null.
+     * @return The search result.
+     */
+    public <T> T get(String shape, String profile, String query, List<?> parameters, Supplier<T> search) {
+        long start = System.nanoTime();
+        long current;
+        try {
+            current = currentGeneration();
+        } catch (RuntimeException e) {
+            log.warn("Cannot read the search index generation, searching without cache: {}", e.getMessage());
+            return search.get();
+        }
+
+        Key key = new Key(shape, query, parameters, current);
+        @SuppressWarnings("unchecked")
+        T result = (T) cache.getIfPresent(key);
+        boolean hit = result != null;
+        if (!hit) {
+            result = search.get();
+            cache.put(key, result);
+        }
+        timer(shape, profile, query, hit).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Trims the query and collapses its whitespace, so equivalent queries share one entry.
+     *
+     * @param query The query, possibly null.
+     * @return The normalized query, empty if the query is null or blank.
+     */
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ");
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Tells the cache the index was written to (mass indexing done, festivals saved),
+     * so the next lookup reads the generation instead of waiting for the check interval.
+     */
+    public void indexChanged() {
+        reportedChanges.incrementAndGet();
+    }
+
+    private long currentGeneration() {
+        long now = System.nanoTime();
+        // Read before the generation, so a change reported meanwhile triggers another read
+        long changes = reportedChanges.get();
+        if (changes == checkedChanges && now - nextGenerationCheck < 0) {
+            return generation.get();
+        }
+        long current = indexGeneration.getAsLong();
+        nextGenerationCheck = now + generationCheckIntervalNanos;
+        checkedChanges = changes;
+        long previous = generation.getAndAccumulate(current, Math::max);
+        if (current > previous && previous != Long.MIN_VALUE) {
+            // Entries of older generations can no longer be hit
+            cache.invalidateAll();
+            invalidations.increment();
+            log.debug("Search index generation {} -> {}, result cache dropped.", previous, current);
+        }
+        return current;
+    }
+
+    private Timer timer(String shape, String profile, String query, boolean hit) {
+        return Timer.builder("festival.search.requests")
+                .description("Festival search latency, including cache hits")
+                .tag("shape", shape)
+                .tag("profile", profile)
+                .tag("terms", termsTag(query))
+                .tag("cache", hit ? "hit" : "miss")
+                .register(meterRegistry);
+    }
+
+    // Bucketed so the number of series stays small
+    private static String termsTag(String query) {
+        if (query.isEmpty()) {
+            return "0";
+        }
+        int terms = query.split(" ").length;
+        return terms >= 3 ? "3+" : String.valueOf(terms);
+    }
+
+    /**
+     * Reads the generation of the festival index: the version of its Lucene reader.
+     */
+    static long indexGeneration(EntityManager entityManager) {
+        try (IndexReader reader = Search.session(entityManager)
+                .scope(Festival.class)
+                .extension(LuceneExtension.get())
+                .openIndexReader()) {
+            return version(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the version of a directory reader, or the sum of the versions of the directory readers
+     * under a composite reader (one per index or shard), which only grows as the indexes change.
+     */
+    static long version(IndexReader reader) {
+        if (reader instanceof DirectoryReader directoryReader) {
+            return directoryReader.getVersion();
+        }
+        long version = 0;
+        List<IndexReaderContext> children = reader.getContext().children();
+        if (children != null) {
+            for (IndexReaderContext child : children) {
+                version += version(child.reader());
+            }
+        }
+        return version;
+    }
+
+    private record Key(String shape, String query, List<?> parameters, long generation) {
+    }
+}
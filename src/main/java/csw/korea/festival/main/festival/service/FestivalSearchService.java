@@ -2,21 +2,25 @@ package csw.korea.festival.main.festival.service;
 
 import csw.korea.festival.main.common.service.KoreaStationService;
 import csw.korea.festival.main.common.util.Korean;
-import csw.korea.festival.main.festival.model.Festival;
-import csw.korea.festival.main.festival.model.FestivalPage;
+import csw.korea.festival.main.festival.model.*;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
 import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.Session;
 import org.hibernate.search.engine.spatial.DistanceUnit;
+import org.hibernate.search.engine.spatial.GeoPoint;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.session.SearchSession;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,22 +28,52 @@ public class FestivalSearchService {
 
     private final EntityManager entityManager;
 
-    private final FestivalWeatherService festivalWeatherService;
     private final KoreaStationService koreaStationService;
 
+    /**
+     * 위치 기반 검색의 기본 프로필
+     */
+    public static final String NEARBY_PROFILE = "nearby";
+
+    /**
+     * 위치 기반 검색의 반경 (km): 결과가 한 페이지에 못 미치면 다음 반경으로 넓힙니다.
+     */
+    static final double[] RADII_KM = {5, 15, 50};
+
+    // Nearest candidates read from the index for one geo search
+    private static final int MAX_NEARBY_CANDIDATES = 1000;
+
+    private final FestivalSearchCache searchCache;
+
+    private final SearchProfileRegistry searchProfileRegistry;
+
+    public FestivalPage searchFestivals(String query, int page, int size) {
+        return searchFestivals(query, null, page, size);
+    }
+
     /**
      * 다중 단어 쿼리를 처리하여 관련 페스티벌을 검색합니다.
      *
-     * @param query 검색 쿼리 문자열 (예: "수원 세화")
-     * @param page  현재 페이지 번호
-     * @param size  페이지당 결과 개수
+     * @param query   검색 쿼리 문자열 (예: "수원 세화")
+     * @param profile 검색 프로필 이름 (null이면 기본 프로필)
+     * @param page    현재 페이지 번호
+     * @param size    페이지당 결과 개수
      * @return 페스티벌 페이지 결과
      */
-    public FestivalPage searchFestivals(String query, int page, int size) {
+    public FestivalPage searchFestivals(String query, String profile, int page, int size) {
+        String normalized = FestivalSearchCache.normalize(query);
+        SearchProfile searchProfile = searchProfileRegistry.get(profile);
+        PageHits hits = searchCache.get("page", searchProfile.name(), normalized,
+                List.of(searchProfile.key(), page, size),
+                () -> searchPage(normalized, searchProfile, page, size));
+        return hits.toPage(page, size);
+    }
+
+    private PageHits searchPage(String query, SearchProfile profile, int page, int size) {
         SearchSession searchSession = Search.session(entityManager);
 
         // 1. Split the query into individual terms
-        String[] terms = query.split("\\s+");
+        String[] terms = query.split(" ");
 
         // 2. Convert each term using qwerty to Korean conversion
 //        String[] qwertyTerms = Arrays.stream(terms)
@@ -52,135 +86,189 @@ public class FestivalSearchService {
                     // Start a boolean predicate
                     BooleanPredicateClausesStep<?> boolQuery = f.bool();
 
-                    // For each term, add 'should' clauses
-                    for (String term : terms) {
-                        boolQuery.should(f.match()
-                                .fields("name", "nameEn")
-                                .matching(term)
-                                .boost(9.0f));
-                        boolQuery.should(f.match()
-                                .fields("summary", "summaryEn")
-                                .matching(term)
-                                .boost(7.0f));
-                        boolQuery.should(f.match()
-                                .field("categoryDisplayNames")
-                                .matching(term)
-                                .boost(6.0f));
-                        boolQuery.should(f.wildcard()
-                                .field("address")
-                                .matching(STR."*\{term}*")
-                                .boost(10.0f));
-                        boolQuery.should(f.phrase()
-                                .fields("province", "city", "district", "town", "street")
-                                .matching(term)
-                                // .slop(2)
-                                .boost(15.0f));
-                    }
-
-                    //  Require a percentage of terms to match.
-                    boolQuery.minimumShouldMatchPercent(35);
+                    // For each term, add the profile's 'should' clauses and its minimum-should-match
+                    profile.addTermClauses(f, boolQuery, terms);
 
                     return boolQuery;
                 })
                 // .highlighter(f -> f.field("name").field("summary"))
                 .fetch(page * size, size);
 
-        int totalHits = (int) result.total().hitCount();
-        int start = Math.min(page * size, totalHits);
-        int end = Math.min(start + size, totalHits);
-        List<Festival> paginatedFestivals = result.hits().subList(start, end);
-
-        // Process the festivals to include weather information
-        paginatedFestivals = festivalWeatherService.processFestivalsWeather(paginatedFestivals);
-
-        // Create and return the festival page object
-        FestivalPage festivalPage = new FestivalPage();
-        festivalPage.setContent(paginatedFestivals);
-        festivalPage.setPageNumber(page);
-        festivalPage.setPageSize(size);
-        festivalPage.setTotalElements(totalHits);
-        festivalPage.setTotalPages((totalHits + size - 1) / size);
+        // fetch() already applied the offset, the hits are the requested page
+        return new PageHits(detached(result.hits()), (int) result.total().hitCount());
+    }
 
+    public FestivalPage searchFestivals(String query, int page, int size, Double latitude, Double longitude) {
+        return searchFestivals(query, null, page, size, latitude, longitude);
+    }
 
-        return festivalPage;
+    /**
+     * 좌표 주변의 페스티벌을 거리순으로 검색합니다.
+     * 반경은 5km에서 시작해 한 페이지를 채울 때까지 15km, 50km로 넓히며, 사용한 반경을 결과에 담습니다.
+     * 반경은 페이지와 무관하게 질의마다 한 번 정해지므로, 모든 페이지가 같은 반경과 전체 개수를 가집니다.
+     * 인덱스 조회는 한 번입니다: 최대 반경 안의 후보를 거리순으로 (id, 거리)만 가져와 반경을 고른 뒤,
+     * 해당 페이지의 엔티티만 불러옵니다. 후보는 가까운 순으로 최대 1000개까지이며, 전체 개수도 그만큼으로 제한됩니다.
+     *
+     * @param profile 검색 프로필 이름 (null이면 {@value #NEARBY_PROFILE})
+     */
+    public FestivalPage searchFestivals(String query, String profile, int page, int size,
+                                        Double latitude, Double longitude) {
+        String normalized = FestivalSearchCache.normalize(query);
+        SearchProfile searchProfile = searchProfileRegistry.get(profile != null ? profile : NEARBY_PROFILE);
+        // Exact coordinates: the radius and the distance order depend on them
+        PageHits hits = searchCache.get("geo", searchProfile.name(), normalized,
+                Arrays.asList(searchProfile.key(), page, size, latitude, longitude),
+                () -> latitude != null && longitude != null
+                        ? searchNearby(normalized, searchProfile, page, size, latitude, longitude)
+                        : searchPage(normalized, searchProfile, page, size));
+        return hits.toPage(page, size);
     }
 
-    public FestivalPage searchFestivals(String query, int page, int size, Double latitude, Double longitude) {
+    private PageHits searchNearby(String query, SearchProfile profile, int page, int size,
+                                  double latitude, double longitude) {
         SearchSession searchSession = Search.session(entityManager);
-
-        // 3. Build the boolean query dynamically
-        SearchResult<Festival> result = searchSession.search(Festival.class)
+        double maxRadius = RADII_KM[RADII_KM.length - 1];
+
+        SearchResult<NearbyHit> result = searchSession.search(Festival.class)
+                .select(f -> f.composite()
+                        .from(f.id(Long.class),
+                                f.distance("festivalLocation", GeoPoint.of(latitude, longitude))
+                                        .unit(DistanceUnit.KILOMETERS))
+                        .as(NearbyHit::new))
                 .where(f -> {
-                    // Start a boolean predicate
                     BooleanPredicateClausesStep<?> boolQuery = f.bool();
 
-                    // For each term, add 'should' clauses
-                    if (query != null && !query.trim().isEmpty()) {
-                        String[] terms = query.split("\\s+");
-
-                        for (String term : terms) {
-                            boolQuery.should(f.match()
-                                    .fields("name", "nameEn")
-                                    .matching(term)
-                                    .boost(9.0f));
-                            boolQuery.should(f.match()
-                                    .fields("summary", "summaryEn")
-                                    .matching(term)
-                                    .boost(7.0f));
-                            boolQuery.should(f.match()
-                                    .field("categoryDisplayNames")
-                                    .matching(term)
-                                    .boost(6.0f));
-                            boolQuery.should(f.wildcard()
-                                    .field("address")
-                                    .matching(STR."*\{term}*")
-                                    .boost(10.0f));
-                            boolQuery.should(f.phrase()
-                                    .fields("province", "city", "district", "town", "street")
-                                    .matching(term)
-                                    // .slop(2)
-                                    .boost(15.0f));
-                        }
-
-                        //  Require a percentage of terms to match.
-                        boolQuery.minimumShouldMatchPercent(50);
-                    }
-
-                    // Add spatial predicate
-                    if (latitude != null && longitude != null) {
-                        boolQuery.must(f.spatial().within()
-                                .field("festivalLocation")
-                                .circle(latitude, longitude, 5, DistanceUnit.KILOMETERS));
+                    // For each term, add the profile's 'should' clauses and its minimum-should-match
+                    if (!query.isEmpty()) {
+                        profile.addTermClauses(f, boolQuery, query.split(" "));
                     }
 
+                    // Candidates of every radius: the widest circle
+                    boolQuery.must(f.spatial().within()
+                            .field("festivalLocation")
+                            .circle(latitude, longitude, maxRadius, DistanceUnit.KILOMETERS));
                     return boolQuery;
                 })
-                .sort(f -> {
-                    if (latitude != null && longitude != null) {
-                        return f.distance("festivalLocation", latitude, longitude);
-                    } else {
-                        return f.score();
-                    }
-                })
-                .fetch(page * size, size);
+                .sort(f -> f.distance("festivalLocation", latitude, longitude).then().field("idSort"))
+                .fetch(MAX_NEARBY_CANDIDATES);
+
+        // Hits are in distance order, so the hits within a radius are a prefix of the candidates
+        List<NearbyHit> candidates = result.hits();
+        double[] distances = candidates.stream().mapToDouble(NearbyHit::distanceKm).toArray();
+        NearbyWindow window = NearbyWindow.of(distances, result.total().hitCount(), page, size);
+        List<Long> ids = candidates.subList(window.from(), window.to()).stream().map(NearbyHit::id).toList();
+        List<Festival> festivals = ids.isEmpty()
+                ? List.of()
+                : entityManager.unwrap(Session.class)
+                        .byMultipleIds(Festival.class)
+                        .multiLoad(ids)
+                        .stream()
+                        // Deleted since indexing
+                        .filter(Objects::nonNull)
+                        .map(FestivalSearchService::detached)
+                        .toList();
+        return new PageHits(festivals, window.totalHits(), window.radiusKm());
+    }
+
+    /**
+     * Returns the smallest radius of {@link #RADII_KM} holding the wanted number of hits, or the largest one.
+     *
+     * @param distancesKm The distances of the hits, in ascending order.
+     * @param wanted      The number of hits needed (one page).
+     */
+    static double chooseRadius(double[] distancesKm, int wanted) {
+        for (double radius : RADII_KM) {
+            if (countWithin(distancesKm, radius) >= wanted) {
+                return radius;
+            }
+        }
+        return RADII_KM[RADII_KM.length - 1];
+    }
 
-        int totalHits = (int) result.total().hitCount();
-        int start = Math.min(page * size, totalHits);
-        int end = Math.min(start + size, totalHits);
-        List<Festival> paginatedFestivals = result.hits().subList(start, end);
+    /**
+     * Returns the number of hits that can be paged through: those within the chosen radius or, at the widest
+     * radius, every hit as far as the candidates read ({@link #MAX_NEARBY_CANDIDATES}) go, so that no page
+     * past the candidates is announced and comes back empty.
+     *
+     * @param hitCount     The number of hits within the widest radius.
+     * @param candidates   The number of hits read.
+     * @param within       The number of hits read within the chosen radius.
+     * @param widestRadius Whether the chosen radius is the widest one.
+     */
+    static int totalHits(long hitCount, int candidates, int within, boolean widestRadius) {
+        return widestRadius ? (int) Math.min(hitCount, candidates) : within;
+    }
+
+    private static int countWithin(double[] distancesKm, double radius) {
+        int count = 0;
+        while (count < distancesKm.length && distancesKm[count] <= radius) {
+            count++;
+        }
+        return count;
+    }
+
+    public FestivalConnection searchFestivalsConnection(String query, Integer first, String after) {
+        return searchFestivalsConnection(query, null, first, after);
+    }
+
+    /**
+     * 커서 기반으로 페스티벌을 검색합니다. 결과는 (점수 내림차순, id 오름차순)으로 정렬됩니다.
+     * Hibernate Search에는 search-after가 없으므로 커서의 offset부터 가져오고,
+     * 그 사이 인덱스가 바뀌어 커서 이전 항목이 밀려 들어온 경우 (점수, id) 비교로 걸러냅니다.
+     * 전체 개수는 클라이언트가 totalCount를 요청할 때만 계산합니다.
+     *
+     * @param query   검색 쿼리 문자열
+     * @param profile 검색 프로필 이름 (null이면 기본 프로필)
+     * @param first   페이지 크기
+     * @param after   이전 페이지 마지막 항목의 커서
+     * @return 페스티벌 커넥션
+     */
+    public FestivalConnection searchFestivalsConnection(String query, String profile, Integer first, String after) {
+        SearchProfile searchProfile = searchProfileRegistry.get(profile);
+        int pageSize = FestivalService.resolvePageSize(first);
+        FestivalCursor cursor = FestivalCursor.decode(after);
+        int offset = cursor != null ? cursor.offset() : 0;
+        String normalized = FestivalSearchCache.normalize(query);
+        String[] terms = normalized.split(" ");
+
+        // Fetch one extra hit to know whether there is a next page
+        List<ScoredFestival> hits = searchCache.get("connection", searchProfile.name(), normalized,
+                List.of(searchProfile.key(), offset, pageSize + 1),
+                () -> Search.session(entityManager).search(Festival.class)
+                        .select(f -> f.composite()
+                                .from(f.score(), f.entity())
+                                .as(ScoredFestival::new))
+                        .where(f -> termsQuery(f, searchProfile, terms))
+                        .sort(f -> f.score().then().field("idSort"))
+                        .fetchHits(offset, pageSize + 1)
+                        .stream()
+                        .map(hit -> new ScoredFestival(hit.score(), detached(hit.festival())))
+                        .toList());
+
+        List<ScoredFestival> page = hits.stream()
+                .filter(hit -> cursor == null || hit.score() < cursor.sortValue()
+                        || (hit.score() == cursor.sortValue() && hit.festival().getId() > cursor.id()))
+                .toList();
+        boolean hasNextPage = page.size() > pageSize;
+        if (hasNextPage) {
+            page = page.subList(0, pageSize);
+        }
 
-        // Process the festivals to include weather information
-        paginatedFestivals = festivalWeatherService.processFestivalsWeather(paginatedFestivals);
+        List<Festival> festivals = page.stream().map(ScoredFestival::festival).toList();
 
-        // Create and return the festival page object
-        FestivalPage festivalPage = new FestivalPage();
-        festivalPage.setContent(paginatedFestivals);
-        festivalPage.setPageNumber(page);
-        festivalPage.setPageSize(size);
-        festivalPage.setTotalElements(totalHits);
-        festivalPage.setTotalPages((totalHits + size - 1) / size);
+        List<FestivalEdge> edges = new ArrayList<>(festivals.size());
+        for (int i = 0; i < festivals.size(); i++) {
+            Festival festival = festivals.get(i);
+            String edgeCursor = new FestivalCursor(page.get(i).score(), festival.getId(), offset + i + 1).encode();
+            edges.add(new FestivalEdge(festival, edgeCursor));
+        }
+        String endCursor = edges.isEmpty() ? after : edges.getLast().getCursor();
 
-        return festivalPage;
+        return new FestivalConnection(edges, new PageInfo(hasNextPage, endCursor),
+                () -> searchCache.get("count", searchProfile.name(), normalized, List.of(searchProfile.key()),
+                        () -> (int) Search.session(entityManager).search(Festival.class)
+                                .where(f -> termsQuery(f, searchProfile, terms))
+                                .fetchTotalHitCount()));
     }
 
     /**
@@ -193,6 +281,14 @@ public class FestivalSearchService {
      * @return 페스티벌 페이지 결과
      */
     public FestivalPage searchFestivalsNearStation(String query, String stationName, int page, int size) {
+        return searchFestivalsNearStation(query, stationName, null, page, size);
+    }
+
+    /**
+     * @param profile 검색 프로필 이름 (null이면 {@value #NEARBY_PROFILE})
+     * @see #searchFestivalsNearStation(String, String, int, int)
+     */
+    public FestivalPage searchFestivalsNearStation(String query, String stationName, String profile, int page, int size) {
         // Get the station coordinates
         Optional<KoreaStationService.Station> stationOpt = koreaStationService.getStationByName(stationName);
 
@@ -201,7 +297,7 @@ public class FestivalSearchService {
         }
 
         KoreaStationService.Station station = stationOpt.get();
-        return searchFestivals(query, page, size, station.getLatitude(), station.getLongitude());
+        return searchFestivals(query, profile, page, size, station.getLatitude(), station.getLongitude());
     }
 
     /**
@@ -209,18 +305,93 @@ public class FestivalSearchService {
      *
      * @param prefix 입력된 접두사 문자열
      * @return 자동 완성된 도시 이름 목록
+     * @deprecated {@link FestivalSuggestService#suggest(String, int)}를 사용하세요.
      */
+    @Deprecated
     public List<String> autocompleteCity(String prefix) {
-        SearchSession searchSession = Search.session(entityManager);
+        return searchCache.get("autocomplete", "none", prefix, List.of(), () -> {
+            SearchSession searchSession = Search.session(entityManager);
+
+            List<String> suggestions = searchSession.search(Festival.class)
+                    .select(f -> f.field("city", String.class))
+                    .where(f -> f.wildcard()
+                            .field("city")
+                            .matching(STR."\{prefix}*")
+                    )
+                    .fetchHits(10);
+
+            return suggestions.stream().distinct().toList();
+        });
+    }
+
+    /**
+     * Cached results are handed to concurrent requests: copies detached from this request's persistence context,
+     * sharing no Hibernate collection.
+     */
+    private static Festival detached(Festival festival) {
+        Festival copy = festival.shallowCopy();
+        copy.setCategories(festival.getCategories() != null ? new HashSet<>(festival.getCategories()) : null);
+        return copy;
+    }
+
+    private static List<Festival> detached(List<Festival> festivals) {
+        return festivals.stream().map(FestivalSearchService::detached).toList();
+    }
+
+    private BooleanPredicateClausesStep<?> termsQuery(SearchPredicateFactory f, SearchProfile profile, String[] terms) {
+        BooleanPredicateClausesStep<?> boolQuery = f.bool();
+        profile.addTermClauses(f, boolQuery, terms);
+        return boolQuery;
+    }
+
+    private record ScoredFestival(Float score, Festival festival) {
+    }
+
+    private record NearbyHit(Long id, Double distanceKm) {
+    }
 
-        List<String> suggestions = searchSession.search(Festival.class)
-                .select(f -> f.field("city", String.class))
-                .where(f -> f.wildcard()
-                        .field("city")
-                        .matching(STR."\{prefix}*")
-                )
-                .fetchHits(10);
+    /**
+     * The radius and total of a geo search, and the range of candidates on the requested page.
+     *
+     * @param from First candidate of the page.
+     * @param to   End (exclusive) of the page's candidates.
+     */
+    record NearbyWindow(double radiusKm, int totalHits, int from, int to) {
+
+        /**
+         * The radius depends on the page size only, so every page of a query shares the radius and the total.
+         *
+         * @param distancesKm The distances of the candidates read, in ascending order.
+         * @param hitCount    The number of hits within the widest radius.
+         */
+        static NearbyWindow of(double[] distancesKm, long hitCount, int page, int size) {
+            double radius = chooseRadius(distancesKm, size);
+            int within = countWithin(distancesKm, radius);
+            boolean widestRadius = radius == RADII_KM[RADII_KM.length - 1];
+            int totalHits = FestivalSearchService.totalHits(hitCount, distancesKm.length, within, widestRadius);
+            int from = Math.min(page * size, within);
+            return new NearbyWindow(radius, totalHits, from, Math.min(from + size, within));
+        }
+    }
 
-        return suggestions.stream().distinct().collect(Collectors.toList());
+    /**
+     * One page of hits as cached; a new {@link FestivalPage} is built for each request.
+     */
+    private record PageHits(List<Festival> content, int totalHits, Double radiusKm) {
+
+        PageHits(List<Festival> content, int totalHits) {
+            this(content, totalHits, null);
+        }
+
+        FestivalPage toPage(int page, int size) {
+            FestivalPage festivalPage = new FestivalPage();
+            festivalPage.setContent(content);
+            festivalPage.setPageNumber(page);
+            festivalPage.setPageSize(size);
+            festivalPage.setTotalElements(totalHits);
+            festivalPage.setTotalPages((totalHits + size - 1) / size);
+            festivalPage.setRadiusKm(radiusKm);
+            return festivalPage;
+        }
     }
 }
@@ -1,9 +1,8 @@
 package csw.korea.festival.main.festival.service;
 
-import csw.korea.festival.main.festival.model.Festival;
-import csw.korea.festival.main.festival.model.FestivalDTO;
-import csw.korea.festival.main.festival.model.FestivalPage;
+import csw.korea.festival.main.festival.model.*;
 import csw.korea.festival.main.festival.repository.FestivalRepository;
+import csw.korea.festival.main.festival.snapshot.FestivalSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,12 +11,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-
-import static csw.korea.festival.main.common.util.CoordinatesConverter.calculateDistance;
 
 @Slf4j
 @Service
@@ -29,11 +25,12 @@ public class FestivalService {
     private static final float DEFAULT_LONGITUDE = 126.98068787026715f;
     // Precompile the regex pattern for performance
     private static final Pattern VALID_MONTH_PATTERN = Pattern.compile("^(0[1-9]|1[0-2])$");
+    // Upper bound for page sizes
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final FestivalRepository festivalRepository;
-    private final FestivalWeatherService festivalWeatherService;
-    private final FestivalProcessingService festivalProcessingService;
-    private final FestivalFetchingService festivalFetchingService;
+    private final FestivalSnapshotService festivalSnapshotService;
+    private final FestivalRefreshService festivalRefreshService;
 
     /**
      * Fetches and translates festival data based on the provided month and location with pagination.
@@ -41,11 +38,100 @@ public class FestivalService {
      * @param month     Optional month in "MM" format. Defaults to current month if not provided.
      * @param latitude  Optional latitude for location-based filtering. Defaults to predefined value if not provided.
      * @param longitude Optional longitude for location-based filtering. Defaults to predefined value if not provided.
-     * @param page      Optional page number (0-indexed). Defaults to 0 if not provided.
-     * @param size      Optional page size. Defaults to 10 if not provided.
+     * @param page      Optional page number (0-indexed). Defaults to 0 if not provided, negative values read as 0.
+     * @param size      Optional page size. Defaults to 10 if not provided, clamped to 1..100.
      * @return Paginated list of translated and sorted festivals.
      */
     public FestivalPage getFestivals(String month, Float latitude, Float longitude, Integer page, Integer size) {
+        LocalDate startOfMonthDate = resolveStartOfMonth(month);
+        LocalDate endOfMonthDate = startOfMonthDate.with(TemporalAdjusters.lastDayOfMonth());
+        float lat = resolveLatitude(latitude);
+        float lon = resolveLongitude(longitude);
+
+        int pageNumber = (page != null) ? Math.max(page, 0) : 0;
+        int pageSize = (size != null) ? Math.clamp(size, 1, MAX_PAGE_SIZE) : 10;
+        // Deep pages saturate instead of overflowing (and come back empty)
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+
+        // Filter by month (expired festivals excluded), rank by distance and cut the requested page
+        FestivalSnapshot.Slice slice = currentSnapshot().nearest(lat, lon, startOfMonthDate, endOfMonthDate, LocalDate.now(),
+                0L, offset, pageSize);
+
+        // Weather is resolved per field by FestivalResolver, only when the client selects it
+        List<Festival> paginatedFestivals = slice.content();
+
+        // Create and return FestivalPage
+        FestivalPage festivalPage = new FestivalPage();
+        festivalPage.setContent(paginatedFestivals);
+        festivalPage.setPageNumber(pageNumber);
+        festivalPage.setPageSize(pageSize);
+        festivalPage.setTotalElements(slice.totalElements());
+        festivalPage.setTotalPages((int) Math.ceil((double) slice.totalElements() / pageSize));
+
+        return festivalPage;
+    }
+
+    /**
+     * Cursor based variant of {@link #getFestivals}: festivals ordered by (distance, id) after the given cursor.
+     * Each page only ranks the festivals beyond the cursor, and the total count is computed only if requested.
+     *
+     * @param month     Optional month in "MM" format. Defaults to current month if not provided.
+     * @param latitude  Optional latitude. Defaults to predefined value if not provided.
+     * @param longitude Optional longitude. Defaults to predefined value if not provided.
+     * @param first     Optional page size. Defaults to 10 if not provided.
+     * @param after     Optional cursor of the last festival of the previous page.
+     * @return A connection with the next festivals.
+     */
+    public FestivalConnection getFestivalsConnection(String month, Float latitude, Float longitude, Integer first, String after) {
+        LocalDate startOfMonthDate = resolveStartOfMonth(month);
+        LocalDate endOfMonthDate = startOfMonthDate.with(TemporalAdjusters.lastDayOfMonth());
+        float lat = resolveLatitude(latitude);
+        float lon = resolveLongitude(longitude);
+        int pageSize = resolvePageSize(first);
+
+        FestivalCursor cursor = FestivalCursor.decode(after);
+        double afterDistance = cursor != null ? cursor.sortValue() : Double.NEGATIVE_INFINITY;
+        long afterId = cursor != null ? cursor.id() : Long.MIN_VALUE;
+        int offset = cursor != null ? cursor.offset() : 0;
+
+        LocalDate today = LocalDate.now();
+        FestivalSnapshot snapshot = currentSnapshot();
+
+        // Fetch one extra festival to know whether there is a next page
+        List<Festival> festivals = snapshot.nearestAfter(lat, lon, startOfMonthDate, endOfMonthDate, today,
+                0L, afterDistance, afterId, pageSize + 1);
+        boolean hasNextPage = festivals.size() > pageSize;
+        List<Festival> pageFestivals = hasNextPage ? festivals.subList(0, pageSize) : festivals;
+
+        List<FestivalEdge> edges = new ArrayList<>(pageFestivals.size());
+        for (int i = 0; i < pageFestivals.size(); i++) {
+            Festival festival = pageFestivals.get(i);
+            String edgeCursor = new FestivalCursor(festival.getDistance(), festival.getId(), offset + i + 1).encode();
+            edges.add(new FestivalEdge(festival, edgeCursor));
+        }
+        String endCursor = edges.isEmpty() ? after : edges.getLast().getCursor();
+
+        return new FestivalConnection(edges, new PageInfo(hasNextPage, endCursor),
+                () -> snapshot.count(startOfMonthDate, endOfMonthDate, today, 0L));
+    }
+
+    /**
+     * Returns the current snapshot. Stale or missing data only triggers a background refresh;
+     * the request is always served from the last good snapshot.
+     */
+    private FestivalSnapshot currentSnapshot() {
+        // Festivals are served from the in-memory snapshot instead of the database
+        FestivalSnapshot snapshot = festivalSnapshotService.current();
+
+        // Define the freshness threshold (e.g., data updated within the last 3 weeks)
+        LocalDateTime freshnessThreshold = LocalDateTime.now().minusWeeks(3);
+        if (snapshot.isStale(freshnessThreshold)) {
+            festivalRefreshService.refreshIfStale(freshnessThreshold);
+        }
+        return snapshot;
+    }
+
+    private LocalDate resolveStartOfMonth(String month) {
         // Default to current month if month is not provided
         if (month == null || month.isEmpty()) {
             month = LocalDate.now().format(DateTimeFormatter.ofPattern("MM"));
@@ -55,96 +141,32 @@ public class FestivalService {
                 throw new IllegalArgumentException("Invalid month format. Use MM format (e.g., '01' for January).");
             }
         }
+        return LocalDate.of(LocalDate.now().getYear(), Integer.parseInt(month), 1);
+    }
 
-        // Validate and set default values for latitude and longitude
-        latitude = (latitude != null) ? latitude : DEFAULT_LATITUDE;
-        if (latitude < 32.0f || latitude > 39.0f) {
+    private float resolveLatitude(Float latitude) {
+        // Validate and set default values for latitude
+        float lat = (latitude != null) ? latitude : DEFAULT_LATITUDE;
+        if (lat < 32.0f || lat > 39.0f) {
             throw new IllegalArgumentException("Invalid latitude. Must be between 33 and 38.");
         }
+        return lat;
+    }
 
-        longitude = (longitude != null) ? longitude : DEFAULT_LONGITUDE;
-        if (longitude < 123.0f || longitude > 133.0f) {
+    private float resolveLongitude(Float longitude) {
+        float lon = (longitude != null) ? longitude : DEFAULT_LONGITUDE;
+        if (lon < 123.0f || lon > 133.0f) {
             throw new IllegalArgumentException("Invalid longitude. Must be between 124 and 132.");
         }
+        return lon;
+    }
 
-        // Define the freshness threshold (e.g., data updated within the last 14 days)
-        LocalDateTime freshnessThreshold = LocalDateTime.now().minusWeeks(3);
-
-        // Compute start and end dates of the month
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        LocalDate today = LocalDate.now();
-        int currentYear = today.getYear();
-        int monthInt = Integer.parseInt(month);
-        LocalDate startOfMonthDate = LocalDate.of(currentYear, monthInt, 1);
-        LocalDate endOfMonthDate = startOfMonthDate.with(TemporalAdjusters.lastDayOfMonth());
-        String startOfMonth = startOfMonthDate.format(dateFormatter);
-        String endOfMonth = endOfMonthDate.format(dateFormatter);
-
-        // Fetch festivals overlapping the month
-        List<Festival> festivals = festivalRepository.findFestivalsOverlappingMonth(startOfMonth, endOfMonth, freshnessThreshold);
-
-        if (festivals.isEmpty()) {
-            // Fetch from external API
-            // Filter out expired festivals
-            List<FestivalDTO> festivalDTOs = festivalFetchingService.filterExpiredFestivals(festivalFetchingService.fetchFestivalsInKorean()); // FETCH ALL FESTIVALS
-
-            // Process festivals (translation and categorization)
-            List<Festival> processedFestivals = festivalProcessingService.processFestivals(festivalDTOs, freshnessThreshold);
-
-            if (!processedFestivals.isEmpty()) {
-                // Update the lastUpdated timestamp
-                processedFestivals.forEach(festival -> festival.setLastUpdated(LocalDateTime.now()));
-
-                // Save processed festivals to the database
-                festivalRepository.saveAll(processedFestivals);
-                log.info("Saved {} new festivals to the database.", processedFestivals.size());
-            }
-
-            // Fetch all festivals again after inserting new ones
-            festivals = festivalRepository.findFestivalsOverlappingMonth(startOfMonth, endOfMonth, freshnessThreshold);
+    static int resolvePageSize(Integer first) {
+        int pageSize = (first != null) ? first : 10;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(STR."Invalid page size. Must be between 1 and \{MAX_PAGE_SIZE}.");
         }
-
-        // Option1: Set isFinished for each festival
-//        LocalDate today = LocalDate.now();
-//        for (Festival festival : festivals) {
-//            if (festival.getEndDate() != null) {
-//                festival.setIsFinished(festival.getEndDate().isBefore(today));
-//            } else {
-//                festival.setIsFinished(false);
-//            }
-//        }
-//
-        // Filter out expired festivals from the entity list
-        festivals = festivals.stream().filter(festival -> festival.getEndDate() != null && !festival.getEndDate().isBefore(today)).collect(Collectors.toList());
-
-        // Calculate distances and sort
-        Float finalLatitude = latitude;
-        Float finalLongitude = longitude;
-        festivals.forEach(festival -> {
-            double calculatedDistance = calculateDistance(finalLatitude, finalLongitude, festival.getLatitude(), festival.getLongitude());
-            festival.setDistance(calculatedDistance);
-        });
-
-        festivals.sort(Comparator.comparing(Festival::getDistance));
-
-        // Apply pagination
-        int start = Math.min(page * size, festivals.size());
-        int end = Math.min(start + size, festivals.size());
-        List<Festival> paginatedFestivals = festivals.subList(start, end);
-
-        // Fetch weather for paginated festivals
-        festivals = festivalWeatherService.processFestivalsWeather(paginatedFestivals);
-
-        // Create and return FestivalPage
-        FestivalPage festivalPage = new FestivalPage();
-        festivalPage.setContent(paginatedFestivals);
-        festivalPage.setPageNumber(page);
-        festivalPage.setPageSize(size);
-        festivalPage.setTotalElements(festivals.size());
-        festivalPage.setTotalPages((int) Math.ceil((double) festivals.size() / size));
-
-        return festivalPage;
+        return pageSize;
     }
 
     public List<Festival> getFestivalsByProvince(String province) {
@@ -161,44 +183,35 @@ public class FestivalService {
 
     /**
      * Updates the festivals data during application startup.
-     * @return true if new festivals were added, false otherwise
+     * Serves what the database has right away; missing data is fetched, translated and saved in the background.
+     * @return true if a background refresh was started, false otherwise
      */
     public boolean updateFestivalsDataOnStartup() {
-        boolean dataUpdated = false;
+        // 인메모리 스냅샷을 데이터베이스의 현재 축제로 만들어 원자적으로 교체
+        festivalSnapshotService.rebuild();
+
         // 기존 임계값 정의
         LocalDateTime freshnessThreshold = LocalDateTime.now().minusWeeks(3);
 
         // 임계값 이후 업데이트된 축제 확인
         List<Festival> festivals = festivalRepository.findFestivalsUpdatedAfter(freshnessThreshold);
+        if (!festivals.isEmpty()) {
+            log.info("데이터베이스에 최신 축제 정보가 이미 있습니다.");
+            return false;
+        }
 
-        if (festivals.isEmpty()) {
-            log.info("데이터베이스에 최신 축제 정보가 없습니다. 외부 API에서 가져오는 중...");
-
-            // 외부 API에서 가져오기
-            List<FestivalDTO> festivalDTOs = festivalFetchingService.filterExpiredFestivals(
-                    festivalFetchingService.fetchFestivalsInKorean()
-            );
-
-            // 축제 정보 처리 (번역 및 분류)
-            List<Festival> processedFestivals = festivalProcessingService.processFestivals(
-                    festivalDTOs, freshnessThreshold
-            );
-
-            if (!processedFestivals.isEmpty()) {
-                // 최종 업데이트 타임스탬프 갱신
-                processedFestivals.forEach(festival -> festival.setLastUpdated(LocalDateTime.now()));
+        log.info("데이터베이스에 최신 축제 정보가 없습니다. 백그라운드에서 외부 API에서 가져오는 중...");
 
-                // 처리된 축제 정보를 데이터베이스에 저장
-                festivalRepository.saveAll(processedFestivals);
-                log.info("{} 개의 새로운 축제 정보가 데이터베이스에 저장되었습니다.", processedFestivals.size());
-                dataUpdated = true;
+        // 외부 API에서 가져와 처리 (번역 및 분류) 후 저장, 기다리지 않음 (완료 시 스냅샷도 다시 만들어짐)
+        festivalRefreshService.refreshAsync().whenComplete((savedCount, e) -> {
+            if (e != null) {
+                log.error("시작 시 축제 정보 갱신 실패: {}", e.getMessage());
+            } else if (savedCount > 0) {
+                log.info("{} 개의 새로운 축제 정보가 데이터베이스에 저장되었습니다.", savedCount);
             } else {
                 log.info("처리 후 저장할 새 축제 정보가 없습니다.");
             }
-        } else {
-            log.info("데이터베이스에 최신 축제 정보가 이미 있습니다.");
-        }
-
-        return dataUpdated;
+        });
+        return true;
     }
 }
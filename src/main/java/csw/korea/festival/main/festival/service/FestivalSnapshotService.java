@@ -0,0 +1,79 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.repository.FestivalRepository;
+import csw.korea.festival.main.festival.snapshot.FestivalSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FestivalSnapshot} and rebuilds it from the database.
+ * Readers always see a complete snapshot; a rebuild swaps the reference atomically.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FestivalSnapshotService {
+
+    private final FestivalRepository festivalRepository;
+
+    private final AtomicReference<FestivalSnapshot> current = new AtomicReference<>(FestivalSnapshot.EMPTY);
+
+    /**
+     * Returns the latest snapshot. Never null, but may be empty before the first rebuild.
+     *
+     * @return The current snapshot.
+     */
+    public FestivalSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Rebuilds the snapshot from the festivals in the database that have not ended yet and swaps it in.
+     * Festivals older than the freshness threshold are kept, so the last good data stays served
+     * until a refresh replaces it.
+     *
+     * @return The new snapshot.
+     */
+    public FestivalSnapshot rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Festival> festivals = festivalRepository.findFestivalsEndingOnOrAfter(now.toLocalDate());
+
+        FestivalSnapshot snapshot = FestivalSnapshot.build(festivals, now);
+        current.set(snapshot);
+        log.info("Festival snapshot rebuilt with {} festivals.", snapshot.size());
+        return snapshot;
+    }
+
+    /**
+     * Adds or replaces the given festivals in the current snapshot without reading the database.
+     *
+     * @param festivals The saved festivals.
+     * @return The new snapshot.
+     */
+    public FestivalSnapshot upsert(Collection<Festival> festivals) {
+        if (festivals.isEmpty()) {
+            return current.get();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return current.updateAndGet(snapshot -> snapshot.withFestivals(festivals, now));
+    }
+
+    @Scheduled(fixedDelayString = "${festival.snapshot.refresh-interval-ms:600000}",
+            initialDelayString = "${festival.snapshot.refresh-interval-ms:600000}")
+    public void rebuildPeriodically() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            log.error("Failed to rebuild festival snapshot: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.common.service.KoreaStationService;
+import csw.korea.festival.main.common.util.Korean;
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.Suggestion;
+import csw.korea.festival.main.festival.snapshot.FestivalSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup;
+import org.apache.lucene.search.suggest.fst.WFSTCompletionLookup;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Search-as-you-type suggestions over festival names, provinces, cities and subway stations.
+ *
+ * <p>
+ * Backed by an in-memory FST ({@link WFSTCompletionLookup}), so a lookup takes microseconds.
+ * Every suggestion is reachable by three keys:
+ * <ul>
+ *     <li>its text, lowercased and without spaces ("해운대해수욕장")</li>
+ *     <li>the keys typed for it on a QWERTY keyboard ("gotndeoghotndyrwkd"), which also matches
+ *     a prefix whose last syllable is still being composed ("해운ㄷ") or typed with the wrong input mode</li>
+ *     <li>its initial consonants ("ㅎㅇㄷㅎㅅㅇㅈ")</li>
+ * </ul>
+ * Suggestions are ranked by the number of ongoing festivals they lead to.
+ * The FST is rebuilt when the festival snapshot changes.
+ * </p>
+ */
+@Slf4j
+@Service
+public class FestivalSuggestService {
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 50;
+
+    // Separates a key from the suggestion ordinal, so suggestions sharing a key stay distinct
+    private static final char SEPARATOR = '\u001F';
+
+    private final FestivalSnapshotService festivalSnapshotService;
+    private final KoreaStationService koreaStationService;
+
+    private volatile Index index;
+
+    public FestivalSuggestService(FestivalSnapshotService festivalSnapshotService,
+                                  KoreaStationService koreaStationService) {
+        this.festivalSnapshotService = festivalSnapshotService;
+        this.koreaStationService = koreaStationService;
+    }
+
+    /**
+     * Returns the suggestions starting with the prefix, in any of the supported input forms.
+     *
+     * @param prefix What the user typed so far.
+     * @param size   The maximum number of suggestions.
+     * @return The best suggestions first; empty for a blank prefix.
+     */
+    public List<Suggestion> suggest(String prefix, int size) {
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        String compact = prefix == null ? "" : prefix.replaceAll("\\s+", "");
+        if (compact.isEmpty()) {
+            return List.of();
+        }
+        Index current = index();
+
+        // The same suggestion can match in several forms; keep its best weight
+        Map<Integer, Long> matches = new HashMap<>();
+        for (String key : queryKeys(compact)) {
+            for (Lookup.LookupResult result : lookup(current, key, size * 3)) {
+                String matched = result.key.toString();
+                int ordinal = Integer.parseInt(matched.substring(matched.lastIndexOf(SEPARATOR) + 1));
+                matches.merge(ordinal, result.value, Math::max);
+            }
+        }
+        return matches.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(size)
+                .map(entry -> current.suggestions()[entry.getKey()])
+                .toList();
+    }
+
+    private static List<Lookup.LookupResult> lookup(Index index, String key, int num) {
+        try {
+            return index.lookup().lookup(key, false, num);
+        } catch (IOException e) {
+            // The FST is in memory
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rebuilds the FST if the festival snapshot has changed since it was built.
+     */
+    @Scheduled(fixedDelayString = "${festival.suggest.refresh-interval-ms:60000}",
+            initialDelayString = "${festival.suggest.refresh-interval-ms:60000}")
+    public void refreshPeriodically() {
+        try {
+            Index current = index;
+            if (current == null || current.source() != festivalSnapshotService.current()) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            // Keep serving the previous suggestions
+            log.error("Failed to rebuild suggestions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the FST from the current festival snapshot and the stations, and swaps it in.
+     */
+    public synchronized void rebuild() {
+        FestivalSnapshot snapshot = festivalSnapshotService.current();
+
+        // Weight: the number of ongoing festivals a suggestion leads to
+        Map<Suggestion, Long> weights = new LinkedHashMap<>();
+        snapshot.forEachFestival(LocalDate.now(), festival -> addFestival(weights, festival));
+        for (KoreaStationService.Station station : koreaStationService.getStations()) {
+            weights.merge(new Suggestion(station.getName(), Suggestion.Type.STATION), 1L, Long::sum);
+        }
+
+        Suggestion[] suggestions = weights.keySet().toArray(new Suggestion[0]);
+        List<String> keys = new ArrayList<>(suggestions.length * 3);
+        List<Long> keyWeights = new ArrayList<>(suggestions.length * 3);
+        for (int ordinal = 0; ordinal < suggestions.length; ordinal++) {
+            long weight = weights.get(suggestions[ordinal]);
+            for (String key : indexKeys(suggestions[ordinal].text())) {
+                keys.add(key + SEPARATOR + ordinal);
+                keyWeights.add(weight);
+            }
+        }
+
+        WFSTCompletionLookup lookup = new WFSTCompletionLookup(new ByteBuffersDirectory(), "suggest");
+        try {
+            lookup.build(new KeyIterator(keys, keyWeights));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        index = new Index(lookup, suggestions, snapshot);
+        log.info("Suggestions rebuilt with {} entries ({} keys).", suggestions.length, keys.size());
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private static void addFestival(Map<Suggestion, Long> weights, Festival festival) {
+        add(weights, festival.getName(), Suggestion.Type.FESTIVAL);
+        add(weights, festival.getProvince(), Suggestion.Type.PROVINCE);
+        add(weights, festival.getCity(), Suggestion.Type.CITY);
+    }
+
+    private static void add(Map<Suggestion, Long> weights, String text, Suggestion.Type type) {
+        if (text != null && !text.isBlank()) {
+            weights.merge(new Suggestion(text.trim(), type), 1L, Long::sum);
+        }
+    }
+
+    // Text, QWERTY keystrokes and initial consonants
+    static Set<String> indexKeys(String text) {
+        String compact = text.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(compact);
+        if (Korean.containsHangul(compact)) {
+            keys.add(Korean.toQwerty(compact));
+            keys.add(Korean.toChosung(compact));
+        }
+        return keys;
+    }
+
+    // The prefix as typed and lowercased, and its QWERTY keystrokes (matching a syllable being composed)
+    static Set<String> queryKeys(String compact) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(compact.toLowerCase(Locale.ROOT));
+        // Shifted QWERTY keys (e.g. "R" for ㄲ) are case-sensitive
+        keys.add(compact);
+        keys.add(Korean.toQwerty(compact));
+        return keys;
+    }
+
+    private record Index(WFSTCompletionLookup lookup, Suggestion[] suggestions, FestivalSnapshot source) {
+    }
+
+    /**
+     * Feeds the keys and their weights to the FST builder.
+     */
+    private static final class KeyIterator implements InputIterator {
+
+        private final List<String> keys;
+        private final List<Long> weights;
+        private int next;
+
+        KeyIterator(List<String> keys, List<Long> weights) {
+            this.keys = keys;
+            this.weights = weights;
+        }
+
+        @Override
+        public BytesRef next() {
+            return next < keys.size() ? new BytesRef(keys.get(next++)) : null;
+        }
+
+        @Override
+        public long weight() {
+            return weights.get(next - 1);
+        }
+
+        @Override
+        public BytesRef payload() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return false;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+}
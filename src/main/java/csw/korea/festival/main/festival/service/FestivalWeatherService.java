@@ -2,71 +2,247 @@ package csw.korea.festival.main.festival.service;
 
 import csw.korea.festival.main.common.dto.KWeather;
 import csw.korea.festival.main.common.service.KakaoAPIService;
-import csw.korea.festival.main.config.LimitedThreadFactory;
+import csw.korea.festival.main.common.util.GeoGrid;
+import csw.korea.festival.main.common.util.LongKeyCache;
+import csw.korea.festival.main.common.util.LongObjectMap;
 import csw.korea.festival.main.festival.model.Festival;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.StructuredTaskScope;
-import java.util.concurrent.ThreadFactory;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
 
+/**
+ * Serves festival weather from memory, keyed by {@link GeoGrid} cell (~5 km).
+ *
+ * <p>
+ * The weather of every cell holding an active festival is refreshed on a schedule, so GraphQL requests
+ * rarely wait for the weather API. A cell requested but not known yet (e.g. a new festival) is read in the
+ * background through {@link KakaoAPIService}'s cache, which serves recent results and coalesces concurrent
+ * lookups of a cell; the request waits for it up to a deadline ({@code festival.weather.deadline-ms}),
+ * after which the festival has no weather until a later request. A cell whose refreshes keep failing
+ * serves its last weather, reported as stale in the {@link WeatherCoverage} of the request.
+ * </p>
+ */
 @Slf4j
 @Service
 public class FestivalWeatherService {
 
     private final KakaoAPIService kakaoAPIService;
+    private final FestivalSnapshotService festivalSnapshotService;
 
-    public FestivalWeatherService(KakaoAPIService kakaoAPIService) {
+    // Read on every request: lock-free and keyed by the packed cell, written by refreshes only
+    private final LongKeyCache<CellWeather> weatherByCell = new LongKeyCache<>();
+    // Cells being fetched in the background, completed with null if the fetch failed
+    private final Map<Long, CompletableFuture<CellWeather>> pending = new ConcurrentHashMap<>();
+    // Bounds the calls to the weather API in flight
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long deadlineNanos;
+    private final long staleAfterNanos;
+
+    public FestivalWeatherService(KakaoAPIService kakaoAPIService,
+                                  FestivalSnapshotService festivalSnapshotService,
+                                  @Value("${festival.weather.max-concurrency:10}") int maxConcurrency,
+                                  @Value("${festival.weather.deadline-ms:150}") long deadlineMs,
+                                  @Value("${festival.weather.stale-after-ms:3600000}") long staleAfterMs) {
         this.kakaoAPIService = kakaoAPIService;
+        this.festivalSnapshotService = festivalSnapshotService;
+        this.permits = new Semaphore(maxConcurrency);
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(staleAfterMs);
+    }
+
+    public List<KWeather.WeatherRequest> getWeather(List<Festival> festivals) {
+        return getWeather(festivals, new WeatherCoverage());
     }
 
     /**
-     * Fetch weather data.
+     * Returns the in-memory weather of each festival's grid cell, looking each distinct cell up once.
+     * Unknown cells are fetched in the background; the call waits for them until the deadline at most,
+     * and a fetch still running then is left to complete for later requests.
      *
-     * @param festivalsToProcess The Festivals to process.
-     * @return The processed Festival.
+     * @param festivals The festivals.
+     * @param coverage  Receives how many festivals got fresh, stale or no weather.
+     * @return The weather of each festival, in the same order (null where it is not known in time).
      */
-    public List<Festival> processFestivalsWeather(List<Festival> festivalsToProcess) {
-        int maxConcurrency = 10;
-        ThreadFactory baseFactory = Thread.ofVirtual().factory();
-        ThreadFactory limitedFactory = new LimitedThreadFactory(baseFactory, maxConcurrency);
-
-        List<Festival> processedFestivals = new ArrayList<>();
-        try (var scope = new StructuredTaskScope.ShutdownOnFailure(null, limitedFactory)) {
-            List<StructuredTaskScope.Subtask<Festival>> futures = new ArrayList<>();
-            for (Festival festival : festivalsToProcess) {
-                StructuredTaskScope.Subtask<Festival> future = scope.fork(() -> {
-                    // Fetch Weather Data Concurrently
-                    try {
-                        KWeather.WeatherRequest weather = kakaoAPIService.getWeatherFromCoordinates(
-                                festival.getLatitude(), festival.getLongitude());
-                        festival.setWeather(weather);
-                        // log.info("Fetched weather for festival '{}' ({})", festival.getName(), weather);
-                    } catch (Exception e) {
-                        log.error("Error fetching weather for festival '{}': {}", festival.getName(), e.getMessage());
-                        festival.setWeather(null);
-                    }
-                    return festival;
-                });
-                futures.add(future);
+    public List<KWeather.WeatherRequest> getWeather(List<Festival> festivals, WeatherCoverage coverage) {
+        long deadline = System.nanoTime() + deadlineNanos;
+
+        // Distinct cells, with null for the ones not known yet
+        LongObjectMap<CellWeather> byCell = new LongObjectMap<>(festivals.size());
+        LongObjectMap<CompletableFuture<CellWeather>> fetches = new LongObjectMap<>();
+        for (Festival festival : festivals) {
+            if (festival.getLatitude() == null || festival.getLongitude() == null) {
+                continue;
+            }
+            long cell = GeoGrid.cellOf(festival.getLatitude(), festival.getLongitude());
+            if (byCell.containsKey(cell)) {
+                continue;
             }
+            CellWeather weather = weatherByCell.get(cell);
+            byCell.put(cell, weather);
+            if (weather == null) {
+                fetches.put(cell, fetchInBackground(cell));
+            }
+        }
+        if (!fetches.isEmpty()) {
+            awaitUntil(fetches, deadline);
+            fetches.forEach((cell, fetch) -> byCell.put(cell, fetch.getNow(null)));
+        }
 
-            scope.join();
-            scope.throwIfFailed();
+        long now = System.nanoTime();
+        int fresh = 0;
+        int stale = 0;
+        List<KWeather.WeatherRequest> weathers = new ArrayList<>(festivals.size());
+        for (Festival festival : festivals) {
+            CellWeather weather = festival.getLatitude() == null || festival.getLongitude() == null
+                    ? null
+                    : byCell.get(GeoGrid.cellOf(festival.getLatitude(), festival.getLongitude()));
+            if (weather == null) {
+                weathers.add(null);
+                continue;
+            }
+            if (now - weather.fetchedAt() > staleAfterNanos) {
+                stale++;
+            } else {
+                fresh++;
+            }
+            weathers.add(weather.weather());
+        }
+        coverage.record(fresh, stale, festivals.size() - fresh - stale);
+        return weathers;
+    }
+
+    private static void awaitUntil(LongObjectMap<CompletableFuture<CellWeather>> fetches, long deadline) {
+        List<CompletableFuture<CellWeather>> all = new ArrayList<>(fetches.size());
+        fetches.forEach((cell, fetch) -> all.add(fetch));
+        try {
+            CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Serve what arrived in time
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            for (StructuredTaskScope.Subtask<Festival> future : futures) {
-                Festival result = future.get();
-                if (result != null) {
-                    processedFestivals.add(result);
+    /**
+     * Returns the in-memory weather at the given coordinates.
+     *
+     * @param latitude  Latitude in decimal degrees.
+     * @param longitude Longitude in decimal degrees.
+     * @return The weather of the grid cell, or null if it is not known yet.
+     */
+    public KWeather.WeatherRequest getWeather(double latitude, double longitude) {
+        CellWeather weather = weatherByCell.get(GeoGrid.cellOf(latitude, longitude));
+        return weather != null ? weather.weather() : null;
+    }
+
+    /**
+     * Fetches the weather of every grid cell holding a festival that has not ended yet,
+     * and drops the cells that no longer hold one. A cell whose fetch fails keeps its previous weather.
+     *
+     * @return The number of cells refreshed.
+     */
+    public int refresh() {
+        LongObjectMap<Boolean> activeCells = new LongObjectMap<>();
+        festivalSnapshotService.current().forEachLocation(LocalDate.now(),
+                (latitude, longitude) -> activeCells.put(GeoGrid.cellOf(latitude, longitude), Boolean.TRUE));
+
+        long[] cells = activeCells.keys();
+        List<Future<KWeather.WeatherRequest>> fetches = new ArrayList<>(cells.length);
+        for (long cell : cells) {
+            fetches.add(executor.submit(() -> fetch(cell, true)));
+        }
+
+        // Published with one copy of the table
+        LongObjectMap<CellWeather> refreshed = new LongObjectMap<>(cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            try {
+                KWeather.WeatherRequest weather = fetches.get(i).get();
+                if (weather != null) {
+                    refreshed.put(cells[i], new CellWeather(weather, System.nanoTime()));
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Error refreshing weather: {}", e.getMessage());
             }
-        } catch (InterruptedException | ExecutionException e) {
+        }
+        weatherByCell.putAll(refreshed);
+        weatherByCell.retainKeys(activeCells::containsKey);
+        log.info("Weather refreshed for {} of {} grid cells.", refreshed.size(), activeCells.size());
+        return refreshed.size();
+    }
+
+    @Scheduled(fixedDelayString = "${festival.weather.refresh-interval-ms:1800000}",
+            initialDelayString = "${festival.weather.initial-delay-ms:60000}")
+    public void refreshPeriodically() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep serving the previous weather
+            log.error("Failed to refresh weather: {}", e.getMessage(), e);
+        }
+    }
+
+    // Joins the fetch of the cell already running, if any
+    private CompletableFuture<CellWeather> fetchInBackground(long cell) {
+        CompletableFuture<CellWeather> created = new CompletableFuture<>();
+        CompletableFuture<CellWeather> running = pending.putIfAbsent(cell, created);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                CellWeather result = null;
+                try {
+                    KWeather.WeatherRequest weather = fetch(cell, false);
+                    if (weather != null) {
+                        result = new CellWeather(weather, System.nanoTime());
+                        weatherByCell.put(cell, result);
+                    }
+                } finally {
+                    pending.remove(cell);
+                    created.complete(result);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(cell);
+            created.complete(null);
+        }
+        return created;
+    }
+
+    // Reloads the cell (scheduled refresh) or reads it through the API cache (request misses); null if the call failed
+    private KWeather.WeatherRequest fetch(long cell, boolean reload) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new RuntimeException("Error fetching festival weather", e);
+            return null;
         }
-        return processedFestivals;
+        try {
+            return reload ? kakaoAPIService.fetchWeatherForCell(cell) : kakaoAPIService.getWeatherForCell(cell);
+        } catch (Exception e) {
+            log.error("Error fetching weather for grid cell {}: {}", GeoGrid.toString(cell), e.getMessage());
+            return null;
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record CellWeather(KWeather.WeatherRequest weather, long fetchedAt) {
     }
 }
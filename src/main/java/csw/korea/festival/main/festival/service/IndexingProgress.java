@@ -0,0 +1,98 @@
+package csw.korea.festival.main.festival.service;
+
+import org.hibernate.search.mapper.pojo.massindexing.MassIndexingMonitor;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Progress of one mass indexing run, fed by Hibernate Search as a {@link MassIndexingMonitor}:
+ * documents written so far, throughput and the estimated time left.
+ */
+public class IndexingProgress implements MassIndexingMonitor {
+
+    private final String mode;
+    private final LongSupplier nanoClock;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLong added = new AtomicLong();
+    private volatile long completedNanos = -1;
+
+    public IndexingProgress(String mode) {
+        this(mode, System::nanoTime);
+    }
+
+    IndexingProgress(String mode, LongSupplier nanoClock) {
+        this.mode = mode;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void documentsAdded(long increment) {
+        added.addAndGet(increment);
+    }
+
+    @Override
+    public void documentsBuilt(long increment) {
+        // Counted when added to the index
+    }
+
+    @Override
+    public void entitiesLoaded(long increment) {
+        loaded.addAndGet(increment);
+    }
+
+    @Override
+    public void addToTotalCount(long increment) {
+        total.addAndGet(increment);
+    }
+
+    @Override
+    public void indexingCompleted() {
+        completedNanos = nanoClock.getAsLong();
+    }
+
+    public boolean isCompleted() {
+        return completedNanos >= 0;
+    }
+
+    /**
+     * @return The progress so far; the rate is over the whole run, the ETA null until a rate is known.
+     */
+    public Status status() {
+        long end = isCompleted() ? completedNanos : nanoClock.getAsLong();
+        double seconds = (end - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        long documents = added.get();
+        long totalDocuments = total.get();
+        double rate = seconds > 0 ? documents / seconds : 0;
+
+        Long etaSeconds;
+        if (isCompleted()) {
+            etaSeconds = 0L;
+        } else if (rate > 0) {
+            etaSeconds = (long) Math.ceil(Math.max(0, totalDocuments - documents) / rate);
+        } else {
+            etaSeconds = null;
+        }
+        return new Status(mode, startedAt, isCompleted(), totalDocuments, loaded.get(), documents,
+                Math.round(rate * 10) / 10.0, etaSeconds);
+    }
+
+    public record Status(
+            String mode,
+            LocalDateTime startedAt,
+            boolean completed,
+            long totalDocuments,
+            long entitiesLoaded,
+            long documentsAdded,
+            double documentsPerSecond,
+            Long etaSeconds
+    ) {
+    }
+}
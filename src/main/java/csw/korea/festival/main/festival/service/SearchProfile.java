@@ -0,0 +1,78 @@
+package csw.korea.festival.main.festival.service;
+
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
+import org.hibernate.search.engine.search.predicate.dsl.PredicateScoreStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+
+import java.util.List;
+
+/**
+ * A compiled search profile: which fields each query term is matched against, with which boosts,
+ * and how many terms must match. Profiles are loaded by {@link SearchProfileRegistry} and never modified.
+ *
+ * @param name                      The profile name, selectable per query.
+ * @param minimumShouldMatchPercent Percentage of the term clauses that must match (0-100).
+ * @param clauses                   The clauses added for every term.
+ * @param version                   The registry load the profile comes from, so cached results of
+ *                                  a previous definition are not reused.
+ */
+public record SearchProfile(String name, int minimumShouldMatchPercent, List<Clause> clauses, long version) {
+
+    public SearchProfile {
+        clauses = List.copyOf(clauses);
+    }
+
+    /**
+     * Adds the clauses of every term to the boolean predicate, as should clauses.
+     *
+     * @param f         The predicate factory of the query.
+     * @param boolQuery The boolean predicate.
+     * @param terms     The query terms.
+     */
+    public void addTermClauses(SearchPredicateFactory f, BooleanPredicateClausesStep<?> boolQuery, String[] terms) {
+        for (String term : terms) {
+            for (Clause clause : clauses) {
+                boolQuery.should(clause.toPredicate(f, term));
+            }
+        }
+        boolQuery.minimumShouldMatchPercent(minimumShouldMatchPercent);
+    }
+
+    /**
+     * @return The key identifying this definition of the profile, for caches and metrics.
+     */
+    public String key() {
+        return name + "@" + version;
+    }
+
+    public enum Type {
+        MATCH,
+        PHRASE
+    }
+
+    /**
+     * @param type          Full-text match of the term's tokens, or phrase match.
+     * @param fields        The fields, at least one.
+     * @param boost         Score multiplier (> 0).
+     * @param constantScore Score every match the same instead of by term statistics.
+     * @param slop          For phrases, how far apart the tokens may be.
+     */
+    public record Clause(Type type, String[] fields, float boost, boolean constantScore, int slop) {
+
+        PredicateFinalStep toPredicate(SearchPredicateFactory f, String term) {
+            return switch (type) {
+                case MATCH -> score(f.match().fields(fields).matching(term));
+                case PHRASE -> score(f.phrase().fields(fields).matching(term).slop(slop));
+            };
+        }
+
+        private <S extends PredicateScoreStep<?> & PredicateFinalStep> PredicateFinalStep score(S predicate) {
+            if (constantScore) {
+                predicate.constantScore();
+            }
+            predicate.boost(boost);
+            return predicate;
+        }
+    }
+}
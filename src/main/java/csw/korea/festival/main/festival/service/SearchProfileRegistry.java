@@ -0,0 +1,221 @@
+package csw.korea.festival.main.festival.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import csw.korea.festival.main.festival.model.Festival;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Named search profiles (fields, boosts, minimum-should-match) loaded from a JSON file
+ * ({@code festival.search.profiles-location}, by default {@code classpath:lucene/search_profiles.json}).
+ *
+ * <p>
+ * A profile is selected per query and falls back to {@value #DEFAULT_PROFILE}. A profile may extend another
+ * and override its minimum-should-match or clauses. Every field must exist in the festival index, so a typo
+ * fails the load instead of silently matching nothing. The file is checked for changes on a schedule
+ * ({@code festival.search.profiles-reload-interval-ms}) and can be reloaded through the JMX operation of the
+ * {@code searchprofiles} actuator endpoint; a file that fails to load keeps the previous profiles in use.
+ * </p>
+ */
+@Slf4j
+@Service
+public class SearchProfileRegistry {
+
+    public static final String DEFAULT_PROFILE = "default";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Resource location;
+    private final Predicate<String> indexedField;
+
+    private volatile Map<String, SearchProfile> profiles;
+    private volatile long lastModified;
+    private long version;
+
+    @Autowired
+    public SearchProfileRegistry(EntityManagerFactory entityManagerFactory,
+                                 @Value("${festival.search.profiles-location:classpath:lucene/search_profiles.json}")
+                                 String location) {
+        this(new DefaultResourceLoader().getResource(location),
+                field -> Search.mapping(entityManagerFactory)
+                        .indexedEntity(Festival.class)
+                        .indexManager()
+                        .descriptor()
+                        .field(field)
+                        .isPresent());
+    }
+
+    SearchProfileRegistry(Resource location, Predicate<String> indexedField) {
+        this.location = location;
+        this.indexedField = indexedField;
+        this.lastModified = lastModified();
+        this.profiles = load();
+    }
+
+    /**
+     * @param name The profile name; null for the default profile.
+     * @return The profile.
+     * @throws IllegalArgumentException If there is no such profile.
+     */
+    public SearchProfile get(String name) {
+        SearchProfile profile = profiles.get(name == null ? DEFAULT_PROFILE : name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown search profile: " + name);
+        }
+        return profile;
+    }
+
+    /**
+     * @return The profiles by name, in file order.
+     */
+    public Map<String, SearchProfile> profiles() {
+        return profiles;
+    }
+
+    /**
+     * Loads the profiles file again and replaces the profiles in use.
+     *
+     * @return The profiles loaded.
+     * @throws IllegalArgumentException If the file is invalid; the previous profiles are kept.
+     */
+    public synchronized Map<String, SearchProfile> reload() {
+        long modified = lastModified();
+        profiles = load();
+        lastModified = modified;
+        log.info("Search profiles reloaded from {}: {}", location.getDescription(), profiles.keySet());
+        return profiles;
+    }
+
+    @Scheduled(fixedDelayString = "${festival.search.profiles-reload-interval-ms:30000}",
+            initialDelayString = "${festival.search.profiles-reload-interval-ms:30000}")
+    public void reloadIfModified() {
+        long modified = lastModified();
+        if (modified == lastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Do not retry the same file on every check
+            lastModified = modified;
+            log.error("Failed to reload search profiles, keeping the previous ones: {}", e.getMessage());
+        }
+    }
+
+    private synchronized Map<String, SearchProfile> load() {
+        Map<String, ProfileDefinition> definitions;
+        try (InputStream in = location.getInputStream()) {
+            definitions = OBJECT_MAPPER.readValue(in, new TypeReference<LinkedHashMap<String, ProfileDefinition>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid search profiles in " + location.getDescription()
+                    + ": " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read search profiles from " + location.getDescription(), e);
+        }
+        if (definitions == null || !definitions.containsKey(DEFAULT_PROFILE)) {
+            throw new IllegalArgumentException("Search profiles must define \"" + DEFAULT_PROFILE + "\"");
+        }
+
+        long loadVersion = version + 1;
+        Map<String, SearchProfile> compiled = new LinkedHashMap<>();
+        for (String name : definitions.keySet()) {
+            compiled.put(name, compile(name, definitions, loadVersion));
+        }
+        version = loadVersion;
+        return Collections.unmodifiableMap(compiled);
+    }
+
+    private SearchProfile compile(String name, Map<String, ProfileDefinition> definitions, long loadVersion) {
+        // Resolve the extends chain, nearest definition first
+        Integer minimumShouldMatch = null;
+        List<ClauseDefinition> clauses = null;
+        Set<String> seen = new HashSet<>();
+        for (String current = name; current != null; current = definitions.get(current).extendsProfile()) {
+            if (!seen.add(current)) {
+                throw new IllegalArgumentException("Search profile " + name + " extends itself");
+            }
+            ProfileDefinition definition = definitions.get(current);
+            if (definition == null) {
+                throw new IllegalArgumentException("Search profile " + name + " extends unknown profile " + current);
+            }
+            if (minimumShouldMatch == null) {
+                minimumShouldMatch = definition.minimumShouldMatchPercent();
+            }
+            if (clauses == null) {
+                clauses = definition.clauses();
+            }
+        }
+
+        int msm = minimumShouldMatch != null ? minimumShouldMatch : 0;
+        if (msm < 0 || msm > 100) {
+            throw new IllegalArgumentException("Search profile " + name + ": minimumShouldMatchPercent must be between 0 and 100");
+        }
+        if (clauses == null || clauses.isEmpty()) {
+            throw new IllegalArgumentException("Search profile " + name + " has no clauses");
+        }
+        List<SearchProfile.Clause> compiled = new ArrayList<>(clauses.size());
+        for (ClauseDefinition clause : clauses) {
+            compiled.add(compile(name, clause));
+        }
+        return new SearchProfile(name, msm, compiled, loadVersion);
+    }
+
+    private SearchProfile.Clause compile(String profile, ClauseDefinition clause) {
+        if (clause.type() == null) {
+            throw new IllegalArgumentException("Search profile " + profile + ": clause type is required");
+        }
+        if (clause.fields() == null || clause.fields().isEmpty()) {
+            throw new IllegalArgumentException("Search profile " + profile + ": clause fields are required");
+        }
+        for (String field : clause.fields()) {
+            if (!indexedField.test(field)) {
+                throw new IllegalArgumentException("Search profile " + profile + ": unknown index field " + field);
+            }
+        }
+        float boost = clause.boost() != null ? clause.boost() : 1.0f;
+        if (!(boost > 0)) {
+            throw new IllegalArgumentException("Search profile " + profile + ": boost must be positive");
+        }
+        int slop = clause.slop() != null ? clause.slop() : 0;
+        if (slop < 0) {
+            throw new IllegalArgumentException("Search profile " + profile + ": slop must not be negative");
+        }
+        return new SearchProfile.Clause(clause.type(), clause.fields().toArray(String[]::new), boost,
+                Boolean.TRUE.equals(clause.constantScore()), slop);
+    }
+
+    private long lastModified() {
+        try {
+            return location.lastModified();
+        } catch (IOException e) {
+            // Not a file (e.g. inside the application jar): never modified
+            return 0;
+        }
+    }
+
+    private record ProfileDefinition(@JsonProperty("extends") String extendsProfile,
+                                     Integer minimumShouldMatchPercent,
+                                     List<ClauseDefinition> clauses) {
+    }
+
+    private record ClauseDefinition(SearchProfile.Type type, List<String> fields, Float boost,
+                                    Boolean constantScore, Integer slop) {
+    }
+}
@@ -0,0 +1,62 @@
+package csw.korea.festival.main.festival.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How much of the weather of one GraphQL request was served, summed over its weather batches.
+ * Reported in the {@code extensions.weather} entry of the response.
+ */
+public final class WeatherCoverage {
+
+    /**
+     * {@link graphql.GraphQLContext} key of the coverage of the current request.
+     */
+    public static final String CONTEXT_KEY = WeatherCoverage.class.getName();
+
+    private final AtomicInteger fresh = new AtomicInteger();
+    private final AtomicInteger stale = new AtomicInteger();
+    private final AtomicInteger missing = new AtomicInteger();
+
+    void record(int fresh, int stale, int missing) {
+        this.fresh.addAndGet(fresh);
+        this.stale.addAndGet(stale);
+        this.missing.addAndGet(missing);
+    }
+
+    public int fresh() {
+        return fresh.get();
+    }
+
+    public int stale() {
+        return stale.get();
+    }
+
+    public int missing() {
+        return missing.get();
+    }
+
+    /**
+     * @return Whether any weather was requested.
+     */
+    public boolean isEmpty() {
+        return fresh() + stale() + missing() == 0;
+    }
+
+    /**
+     * @return Whether some festivals got stale or no weather.
+     */
+    public boolean isPartial() {
+        return stale() + missing() > 0;
+    }
+
+    public Map<String, Object> toExtension() {
+        Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("partial", isPartial());
+        extension.put("fresh", fresh());
+        extension.put("stale", stale());
+        extension.put("missing", missing());
+        return extension;
+    }
+}
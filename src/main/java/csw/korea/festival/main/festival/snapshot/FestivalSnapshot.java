@@ -0,0 +1,442 @@
+package csw.korea.festival.main.festival.snapshot;
+
+import csw.korea.festival.main.common.util.TopK;
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.FestivalCategory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static csw.korea.festival.main.common.util.CoordinatesConverter.calculateDistance;
+
+/**
+ * Immutable in-memory snapshot of the active festivals.
+ *
+ * <p>
+ * Festival attributes used for filtering and ranking are stored as primitive arrays
+ * (struct-of-arrays) and the coordinates are bucketed into a uniform lat/lon grid,
+ * so month + nearest queries never touch the database.
+ * A snapshot is never modified after {@link #build(Collection, LocalDateTime)}; a new one is built and swapped in instead.
+ * </p>
+ */
+public final class FestivalSnapshot {
+
+    // Grid cell size in degrees (~11 km north-south)
+    private static final double CELL_DEGREES = 0.1;
+    // Upper bound on cells per axis, so a few bogus coordinates cannot blow up the grid
+    private static final int MAX_CELLS_PER_AXIS = 512;
+    private static final double KM_PER_DEGREE = 6371 * Math.PI / 180;
+    // Great-circle distances are slightly shorter than the planar cell width, keep the bound conservative
+    private static final double CELL_BOUND_SAFETY = 0.95;
+    // Upper bound on memoized counts; the filters in use are few (month x day x categories)
+    private static final int MAX_COUNTS = 1024;
+
+    public static final FestivalSnapshot EMPTY = build(List.of(), LocalDateTime.MIN);
+
+    private final Festival[] festivals;
+    private final long[] ids;
+    private final double[] lat;
+    private final double[] lon;
+    private final int[] startEpochDay;
+    private final int[] endEpochDay;
+    private final long[] categoryMask;
+
+    // Grid index in compressed row layout: items of cell c are cellItems[cellStart[c] .. cellStart[c + 1])
+    private final double gridMinLat;
+    private final double gridMinLon;
+    private final double cellDegrees;
+    private final int rows;
+    private final int cols;
+    private final int[] cellStart;
+    private final int[] cellItems;
+    private final double minCellKm;
+    private final double maxCellDiagonalKm;
+
+    private final LocalDateTime builtAt;
+    // Most recent lastUpdated of the festivals, null when none is known
+    private final LocalDateTime dataUpdatedAt;
+    // Memoized counts per filter, so paging does not rescan the snapshot; dropped with the snapshot
+    private final Map<CountKey, Integer> counts = new ConcurrentHashMap<>();
+
+    private FestivalSnapshot(Festival[] festivals, LocalDateTime builtAt) {
+        int n = festivals.length;
+        this.festivals = festivals;
+        this.builtAt = builtAt;
+        this.dataUpdatedAt = Arrays.stream(festivals)
+                .map(Festival::getLastUpdated)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        this.ids = new long[n];
+        this.lat = new double[n];
+        this.lon = new double[n];
+        this.startEpochDay = new int[n];
+        this.endEpochDay = new int[n];
+        this.categoryMask = new long[n];
+
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            Festival festival = festivals[i];
+            ids[i] = festival.getId() != null ? festival.getId() : Long.MIN_VALUE;
+            lat[i] = festival.getLatitude();
+            lon[i] = festival.getLongitude();
+            startEpochDay[i] = (int) festival.getStartDate().toEpochDay();
+            endEpochDay[i] = (int) festival.getEndDate().toEpochDay();
+            categoryMask[i] = categoryMask(festival.getCategories());
+
+            minLat = Math.min(minLat, lat[i]);
+            maxLat = Math.max(maxLat, lat[i]);
+            minLon = Math.min(minLon, lon[i]);
+            maxLon = Math.max(maxLon, lon[i]);
+        }
+
+        if (n == 0) {
+            minLat = maxLat = minLon = maxLon = 0;
+        }
+
+        this.gridMinLat = minLat;
+        this.gridMinLon = minLon;
+        this.cellDegrees = Math.max(CELL_DEGREES,
+                Math.max(maxLat - minLat, maxLon - minLon) / (MAX_CELLS_PER_AXIS - 1));
+        this.rows = (int) ((maxLat - minLat) / cellDegrees) + 1;
+        this.cols = (int) ((maxLon - minLon) / cellDegrees) + 1;
+
+        // Counting sort of festivals into cells
+        this.cellStart = new int[rows * cols + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cellIndex(rowOf(lat[i]), colOf(lon[i]));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellItems = new int[n];
+        int[] fill = Arrays.copyOf(cellStart, rows * cols);
+        for (int i = 0; i < n; i++) {
+            cellItems[fill[cellOf[i]]++] = i;
+        }
+
+        // The narrowest cell dimension is the east-west width at the pole-most edge of the grid,
+        // the widest one is the east-west width at the equator-most edge
+        double cellHeightKm = cellDegrees * KM_PER_DEGREE;
+        double narrowWidthKm = cellHeightKm * Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double wideWidthKm = minLat <= 0 && maxLat >= 0
+                ? cellHeightKm
+                : cellHeightKm * Math.cos(Math.toRadians(Math.min(Math.abs(minLat), Math.abs(maxLat))));
+        this.minCellKm = Math.min(cellHeightKm, narrowWidthKm) * CELL_BOUND_SAFETY;
+        this.maxCellDiagonalKm = Math.hypot(cellHeightKm, wideWidthKm) / CELL_BOUND_SAFETY;
+    }
+
+    /**
+     * Builds a snapshot from the given festivals.
+     * Festivals without coordinates or without start/end dates are skipped.
+     *
+     * @param festivals The festivals to include.
+     * @param builtAt   The time the source data was read.
+     * @return A new immutable snapshot.
+     */
+    public static FestivalSnapshot build(Collection<Festival> festivals, LocalDateTime builtAt) {
+        // Kept in id order so that index order doubles as the (distance, id) tie-breaker
+        Festival[] valid = festivals.stream()
+                .filter(f -> f.getLatitude() != null && f.getLongitude() != null)
+                .filter(f -> f.getStartDate() != null && f.getEndDate() != null)
+                .sorted(Comparator.comparing(Festival::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toArray(Festival[]::new);
+        return new FestivalSnapshot(valid, builtAt);
+    }
+
+    /**
+     * Builds a new snapshot with the given festivals added, replacing festivals with the same id.
+     * Used to make freshly saved festivals queryable without reloading everything from the database.
+     *
+     * @param updated The saved festivals (with ids).
+     * @param builtAt The time the source data was read.
+     * @return A new immutable snapshot; this one is left unchanged.
+     */
+    public FestivalSnapshot withFestivals(Collection<Festival> updated, LocalDateTime builtAt) {
+        Map<Long, Festival> merged = new HashMap<>(Math.max(16, (festivals.length + updated.size()) * 2));
+        for (Festival festival : festivals) {
+            merged.put(festival.getId(), festival);
+        }
+        for (Festival festival : updated) {
+            merged.put(festival.getId(), festival);
+        }
+        return build(merged.values(), builtAt);
+    }
+
+    /**
+     * Converts a set of categories into a bitmask (bit = enum ordinal).
+     *
+     * @param categories The categories, may be null.
+     * @return The bitmask, 0 when there are no categories.
+     */
+    public static long categoryMask(Collection<FestivalCategory> categories) {
+        long mask = 0L;
+        if (categories != null) {
+            for (FestivalCategory category : categories) {
+                mask |= 1L << category.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public int size() {
+        return festivals.length;
+    }
+
+    public boolean isEmpty() {
+        return festivals.length == 0;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public LocalDateTime getDataUpdatedAt() {
+        return dataUpdatedAt;
+    }
+
+    /**
+     * Tells whether the data should be refreshed from the external API.
+     *
+     * @param freshnessThreshold Data last updated before this time is stale.
+     * @return true if the snapshot is empty or its newest festival was updated before the threshold.
+     */
+    public boolean isStale(LocalDateTime freshnessThreshold) {
+        return dataUpdatedAt == null || dataUpdatedAt.isBefore(freshnessThreshold);
+    }
+
+    /**
+     * Calls the action with the coordinates of every festival that has not ended before {@code today}.
+     *
+     * @param today  Festivals ending before this day are skipped.
+     * @param action Receives (latitude, longitude).
+     */
+    public void forEachLocation(LocalDate today, LocationConsumer action) {
+        int todayDay = (int) today.toEpochDay();
+        for (int i = 0; i < festivals.length; i++) {
+            if (endEpochDay[i] >= todayDay) {
+                action.accept(lat[i], lon[i]);
+            }
+        }
+    }
+
+    /**
+     * Calls the action with every festival that has not ended before {@code today}.
+     * The festivals are shared by all readers of the snapshot and must not be modified.
+     *
+     * @param today  Festivals ending before this day are skipped.
+     * @param action Receives each festival.
+     */
+    public void forEachFestival(LocalDate today, Consumer<Festival> action) {
+        int todayDay = (int) today.toEpochDay();
+        for (int i = 0; i < festivals.length; i++) {
+            if (endEpochDay[i] >= todayDay) {
+                action.accept(festivals[i]);
+            }
+        }
+    }
+
+    /**
+     * Counts festivals running between {@code from} and {@code to} that have not ended before {@code today}.
+     * The first count of a filter scans the snapshot, later ones are memoized.
+     *
+     * @param from       First day of the period (inclusive).
+     * @param to         Last day of the period (inclusive).
+     * @param today      Festivals ending before this day are excluded.
+     * @param categories Category bitmask (see {@link #categoryMask(Collection)}), 0 matches every festival.
+     * @return The number of matching festivals.
+     */
+    public int count(LocalDate from, LocalDate to, LocalDate today, long categories) {
+        int fromDay = (int) Math.max(from.toEpochDay(), today.toEpochDay());
+        int toDay = (int) to.toEpochDay();
+
+        CountKey key = new CountKey(fromDay, toDay, categories);
+        Integer memoized = counts.get(key);
+        if (memoized != null) {
+            return memoized;
+        }
+
+        int total = 0;
+        for (int i = 0; i < festivals.length; i++) {
+            if (matches(i, fromDay, toDay, categories)) {
+                total++;
+            }
+        }
+        if (counts.size() >= MAX_COUNTS) {
+            counts.clear();
+        }
+        counts.put(key, total);
+        return total;
+    }
+
+    /**
+     * Finds festivals running between {@code from} and {@code to} that have not ended before {@code today},
+     * ordered by distance from the given point.
+     *
+     * @param latitude   Latitude of the reference point.
+     * @param longitude  Longitude of the reference point.
+     * @param from       First day of the period (inclusive).
+     * @param to         Last day of the period (inclusive).
+     * @param today      Festivals ending before this day are excluded.
+     * @param categories Category bitmask (see {@link #categoryMask(Collection)}), 0 matches every festival.
+     * @param offset     Number of nearest results to skip.
+     * @param limit      Maximum number of results to return.
+     * @return The requested slice with copies of the festivals (distance set) and the total number of matches.
+     */
+    public Slice nearest(double latitude, double longitude, LocalDate from, LocalDate to, LocalDate today,
+                         long categories, int offset, int limit) {
+        int total = count(from, to, today, categories);
+        int need = (int) Math.min((long) offset + limit, total);
+        if (offset >= need) {
+            return new Slice(List.of(), total);
+        }
+
+        TopK nearest = search(latitude, longitude, from, to, today, categories,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, need);
+        return new Slice(toFestivals(nearest, offset), total);
+    }
+
+    /**
+     * Keyset variant of {@link #nearest}: returns the festivals ordered after the given (distance, id) position.
+     * Festivals closer than {@code afterDistance} are skipped without ranking them, so deep pages cost about
+     * the same as the first one.
+     *
+     * @param latitude      Latitude of the reference point.
+     * @param longitude     Longitude of the reference point.
+     * @param from          First day of the period (inclusive).
+     * @param to            Last day of the period (inclusive).
+     * @param today         Festivals ending before this day are excluded.
+     * @param categories    Category bitmask, 0 matches every festival.
+     * @param afterDistance Distance of the last festival already returned, or negative infinity for the first page.
+     * @param afterId       Id of the last festival already returned, or {@link Long#MIN_VALUE} for the first page.
+     * @param limit         Maximum number of results to return.
+     * @return Copies of the festivals (distance set) ordered by (distance, id).
+     */
+    public List<Festival> nearestAfter(double latitude, double longitude, LocalDate from, LocalDate to, LocalDate today,
+                                       long categories, double afterDistance, long afterId, int limit) {
+        TopK nearest = search(latitude, longitude, from, to, today, categories, afterDistance, afterId, limit);
+        return toFestivals(nearest, 0);
+    }
+
+    private TopK search(double latitude, double longitude, LocalDate from, LocalDate to, LocalDate today,
+                        long categories, double afterDistance, long afterId, int k) {
+        int fromDay = (int) Math.max(from.toEpochDay(), today.toEpochDay());
+        int toDay = (int) to.toEpochDay();
+
+        // Bounded max-heap of the `k` nearest festivals seen so far.
+        // Festivals are stored in id order, so ties on distance are broken by id.
+        TopK nearest = new TopK(k);
+        if (k == 0 || isEmpty()) {
+            nearest.sort();
+            return nearest;
+        }
+
+        // Expand rings of grid cells around the query cell until the nearest `k` festivals are settled
+        int rawRow = rowOf(latitude);
+        int rawCol = colOf(longitude);
+        int queryRow = clamp(rawRow, rows);
+        int queryCol = clamp(rawCol, cols);
+        boolean insideGrid = rawRow == queryRow && rawCol == queryCol;
+        int maxRing = Math.max(rows, cols);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every festival in this ring is at most (ring + 1) cell diagonals away; skip rings fully before the cursor
+            if (insideGrid && (ring + 1) * maxCellDiagonalKm < afterDistance) {
+                continue;
+            }
+
+            for (int r = queryRow - ring; r <= queryRow + ring; r++) {
+                if (r < 0 || r >= rows) {
+                    continue;
+                }
+                boolean edgeRow = r == queryRow - ring || r == queryRow + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int c = queryCol - ring; c <= queryCol + ring; c += step) {
+                    if (c < 0 || c >= cols) {
+                        continue;
+                    }
+                    int cell = cellIndex(r, c);
+                    for (int j = cellStart[cell]; j < cellStart[cell + 1]; j++) {
+                        int i = cellItems[j];
+                        if (!matches(i, fromDay, toDay, categories)) {
+                            continue;
+                        }
+                        double distance = calculateDistance(latitude, longitude, lat[i], lon[i]);
+                        if (distance > afterDistance || (distance == afterDistance && ids[i] > afterId)) {
+                            nearest.offer(distance, i);
+                        }
+                    }
+                }
+            }
+
+            // Every festival outside the visited rings is at least ring * minCellKm away
+            if (nearest.isFull() && ring * minCellKm >= nearest.worstKey()) {
+                break;
+            }
+        }
+
+        nearest.sort();
+        return nearest;
+    }
+
+    private List<Festival> toFestivals(TopK nearest, int fromRank) {
+        List<Festival> content = new ArrayList<>(Math.max(0, nearest.size() - fromRank));
+        for (int rank = fromRank; rank < nearest.size(); rank++) {
+            Festival festival = festivals[nearest.id(rank)].shallowCopy();
+            festival.setDistance(nearest.key(rank));
+            content.add(festival);
+        }
+        return content;
+    }
+
+    private boolean matches(int i, int fromDay, int toDay, long categories) {
+        return endEpochDay[i] >= fromDay && startEpochDay[i] <= toDay
+                && (categories == 0L || (categoryMask[i] & categories) != 0L);
+    }
+
+    private int rowOf(double latitude) {
+        return (int) Math.floor((latitude - gridMinLat) / cellDegrees);
+    }
+
+    private int colOf(double longitude) {
+        return (int) Math.floor((longitude - gridMinLon) / cellDegrees);
+    }
+
+    private int cellIndex(int row, int col) {
+        return row * cols + col;
+    }
+
+    private static int clamp(int value, int bound) {
+        return Math.max(0, Math.min(bound - 1, value));
+    }
+
+    private record CountKey(int fromDay, int toDay, long categories) {
+    }
+
+    @FunctionalInterface
+    public interface LocationConsumer {
+        void accept(double latitude, double longitude);
+    }
+
+    /**
+     * A page of festivals returned by a snapshot query.
+     *
+     * @param content       Copies of the matching festivals with their distance set.
+     * @param totalElements Total number of festivals matching the filter.
+     */
+    public record Slice(List<Festival> content, int totalElements) {
+    }
+}
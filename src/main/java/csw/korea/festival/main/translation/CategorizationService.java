@@ -1,20 +1,25 @@
 package csw.korea.festival.main.translation;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import csw.korea.festival.main.festival.model.FestivalCategory;
 import csw.korea.festival.main.festival.model.FestivalUsageFeeCategory;
-import lombok.RequiredArgsConstructor;
+import csw.korea.festival.main.translation.cache.LlmCacheRepository;
+import csw.korea.festival.main.translation.cache.TieredCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CategorizationService {
 
     private final OpenAiClient openAiClient;
@@ -22,11 +27,39 @@ public class CategorizationService {
     private static final Pattern FREE_PATTERN = Pattern.compile("무료");
     private static final Pattern PAID_PATTERN = Pattern.compile("유료|이용료|입장료|비용|요금|가격");
 
-    // Initialize Caffeine cache
-    private final Cache<String, List<FestivalCategory>> categorizationCache = Caffeine.newBuilder()
-            .expireAfterWrite(24, TimeUnit.HOURS) // Cache entries expire after 24 hours
-            .maximumSize(10_000) // Maximum number of entries in the cache
-            .build();
+    // Caffeine cache in front of the persistent llm_cache table, categories are stored as comma-separated enum names
+    private final TieredCache<List<FestivalCategory>> categorizationCache;
+    private final int warmSize;
+
+    public CategorizationService(OpenAiClient openAiClient,
+                                 LlmCacheRepository llmCacheRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${translation.cache.warm-size:10000}") int warmSize,
+                              @Value("${translation.cache.ttl-days:180}") long ttlDays) {
+        this.openAiClient = openAiClient;
+        this.categorizationCache = new TieredCache<>("categorization", llmCacheRepository, meterRegistry,
+                10_000, Duration.ofHours(24), Duration.ofDays(ttlDays),
+                categories -> categories.stream().map(Enum::name).collect(Collectors.joining(",")),
+                value -> Arrays.stream(value.split(",")).map(FestivalCategory::valueOf).toList());
+        this.warmSize = warmSize;
+    }
+
+    /**
+     * Loads the most recent persisted categorizations into memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmCache() {
+        categorizationCache.warm(warmSize);
+    }
+
+    /**
+     * Deletes persisted categorizations older than the time to live, once a day.
+     */
+    @Scheduled(initialDelayString = "${translation.cache.purge-interval-ms:86400000}",
+            fixedDelayString = "${translation.cache.purge-interval-ms:86400000}")
+    public void purgeCache() {
+        categorizationCache.purgeExpired();
+    }
 
     /**
      * Categorizes the given festival summary into predefined categories.
@@ -46,13 +79,37 @@ public class CategorizationService {
         }
 
         // If not cached, perform categorization using OpenAiClient
-        List<FestivalCategory> categories = openAiClient.categorize(summary);
+        List<FestivalCategory> categories = openAiClient.categorize(summary).block();
 
-        // Cache the result for future use
-        categorizationCache.put(summary, categories);
+        // Cache the result for future use (not the fallback of a failed call)
+        cacheCategories(summary, categories);
         return categories;
     }
 
+    /**
+     * Returns the cached categories of the given summary, without calling the API.
+     *
+     * @param summary The festival summary in English.
+     * @return The categories, or null if they are not cached.
+     */
+    public List<FestivalCategory> getCachedCategories(String summary) {
+        return summary == null || summary.isEmpty() ? null : categorizationCache.getIfPresent(summary);
+    }
+
+    /**
+     * Stores categories obtained elsewhere (e.g. from a combined translate + categorize call).
+     * The client's fallback for a failed call ({@link OpenAiClient#isFallback(List)}) is not persisted.
+     *
+     * @param summary    The festival summary in English.
+     * @param categories The categories.
+     */
+    public void cacheCategories(String summary, List<FestivalCategory> categories) {
+        if (summary != null && !summary.isEmpty() && categories != null && !categories.isEmpty()
+                && !OpenAiClient.isFallback(categories)) {
+            categorizationCache.put(summary, categories);
+        }
+    }
+
     /**
      * Categorizes the usage fee information into predefined categories.
      *
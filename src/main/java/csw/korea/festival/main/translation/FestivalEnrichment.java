@@ -0,0 +1,44 @@
+package csw.korea.festival.main.translation;
+
+import csw.korea.festival.main.festival.model.FestivalCategory;
+
+import java.util.List;
+
+/**
+ * English name, English summary and categories of a festival, produced by one combined LLM call.
+ *
+ * @param nameEn              Festival name in English.
+ * @param summaryEn           Festival summary in English.
+ * @param categories          Assigned categories, never empty.
+ * @param nameUntranslated    The name could not be translated: {@code nameEn} is the Korean original.
+ * @param summaryUntranslated The summary could not be translated: {@code summaryEn} is the Korean original.
+ */
+public record FestivalEnrichment(String nameEn, String summaryEn, List<FestivalCategory> categories,
+                                 boolean nameUntranslated, boolean summaryUntranslated) {
+
+    /**
+     * An enrichment whose texts are model answers, even when equal to the original (e.g. "DMZ OPEN").
+     */
+    public FestivalEnrichment(String nameEn, String summaryEn, List<FestivalCategory> categories) {
+        this(nameEn, summaryEn, categories, false, false);
+    }
+
+    /**
+     * Tells whether any field is a fallback of a failed call instead of a model answer:
+     * an untranslated text, or the fallback categories.
+     *
+     * @return true if the enrichment should be retried rather than kept for good.
+     */
+    public boolean isFallback() {
+        return nameUntranslated || summaryUntranslated || OpenAiClient.isFallback(categories);
+    }
+
+    /**
+     * Korean source texts of a festival.
+     *
+     * @param name    Festival name.
+     * @param summary Cleaned festival summary.
+     */
+    public record Source(String name, String summary) {
+    }
+}
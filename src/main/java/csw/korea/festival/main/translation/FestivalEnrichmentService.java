@@ -0,0 +1,99 @@
+package csw.korea.festival.main.translation;
+
+import csw.korea.festival.main.common.util.MicroBatcher;
+import csw.korea.festival.main.festival.model.FestivalCategory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Translates and categorizes festivals with one combined LLM call per batch of festivals,
+ * instead of separate name, summary and category round trips.
+ *
+ * <p>
+ * Results are also stored in the {@link TranslationService} and {@link CategorizationService} caches,
+ * and festivals whose translations and categories are all cached there are not sent to the API.
+ * Both services stay usable on their own.
+ * </p>
+ */
+@Service
+public class FestivalEnrichmentService {
+
+    private final TranslationService translationService;
+    private final CategorizationService categorizationService;
+    private final MicroBatcher<FestivalEnrichment.Source, FestivalEnrichment> batcher;
+
+    public FestivalEnrichmentService(OpenAiClient openAiClient,
+                                     TranslationService translationService,
+                                     CategorizationService categorizationService,
+                                     @Value("${translation.enrich.max-size:8}") int maxBatchSize,
+                                     @Value("${translation.batch.max-delay-ms:20}") long maxDelayMs,
+                                     @Value("${translation.batch.max-concurrent:32}") int maxConcurrentBatches) {
+        this.translationService = translationService;
+        this.categorizationService = categorizationService;
+        this.batcher = new MicroBatcher<>(maxBatchSize, Duration.ofMillis(maxDelayMs), maxConcurrentBatches,
+                festivals -> openAiClient.enrichBatch(festivals).block());
+    }
+
+    /**
+     * Translates and categorizes one festival.
+     *
+     * @param name    Korean festival name.
+     * @param summary Cleaned Korean festival summary.
+     * @return The enrichment.
+     */
+    public FestivalEnrichment enrich(String name, String summary) {
+        return enrichAll(List.of(new FestivalEnrichment.Source(name, summary))).getFirst();
+    }
+
+    /**
+     * Translates and categorizes several festivals, sending the uncached ones in as few requests as possible.
+     *
+     * @param festivals Korean names and summaries.
+     * @return One enrichment per festival, in the same order.
+     */
+    public List<FestivalEnrichment> enrichAll(List<FestivalEnrichment.Source> festivals) {
+        List<CompletableFuture<FestivalEnrichment>> futures = new ArrayList<>(festivals.size());
+        for (FestivalEnrichment.Source festival : festivals) {
+            FestivalEnrichment cached = fromCaches(festival);
+            futures.add(cached != null
+                    ? CompletableFuture.completedFuture(cached)
+                    : batcher.submit(festival).thenApply(enrichment -> store(festival, enrichment)));
+        }
+        // No need to wait for the delay, everything has been submitted
+        batcher.flush();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private FestivalEnrichment fromCaches(FestivalEnrichment.Source festival) {
+        String nameEn = translationService.getCachedTranslation(festival.name());
+        String summaryEn = translationService.getCachedTranslation(festival.summary());
+        if (nameEn == null || summaryEn == null) {
+            return null;
+        }
+        List<FestivalCategory> categories = categorizationService.getCachedCategories(summaryEn);
+        return categories != null ? new FestivalEnrichment(nameEn, summaryEn, categories) : null;
+    }
+
+    // Untranslated texts are not cached, so they are translated again next time
+    private FestivalEnrichment store(FestivalEnrichment.Source festival, FestivalEnrichment enrichment) {
+        if (!enrichment.nameUntranslated()) {
+            translationService.cacheTranslation(festival.name(), enrichment.nameEn());
+        }
+        if (!enrichment.summaryUntranslated()) {
+            translationService.cacheTranslation(festival.summary(), enrichment.summaryEn());
+            categorizationService.cacheCategories(enrichment.summaryEn(), enrichment.categories());
+        }
+        return enrichment;
+    }
+
+    @PreDestroy
+    public void close() {
+        batcher.close();
+    }
+}
@@ -4,25 +4,59 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import csw.korea.festival.main.festival.model.FestivalCategory;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.util.*;
 
+/**
+ * Non-blocking OpenAI chat completion client.
+ *
+ * <p>
+ * Every call goes through an {@link OpenAiRateLimiter} (requests and tokens per minute, adaptive concurrency,
+ * pause on 429) and is retried with jittered exponential backoff on 429, 5xx and connection errors.
+ * The methods return {@link Mono}s and never fail: on error they fall back to the original text or
+ * {@link FestivalCategory#OTHER}, as before. Fallback categories are the {@link #FALLBACK_CATEGORIES} instance,
+ * so callers can tell them from an "Other" answer and avoid persisting them ({@link #isFallback(List)}).
+ * Failed translations are marked explicitly: null in {@link #translateBatch} results, and the untranslated flags
+ * of a {@link FestivalEnrichment}. A translation equal to its original (e.g. an English name) is a valid answer.
+ * </p>
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OpenAiClient {
 
+    /**
+     * Categories returned when a festival could not be categorized; compared by identity.
+     */
+    static final List<FestivalCategory> FALLBACK_CATEGORIES = List.of(FestivalCategory.OTHER);
+
     private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
     // Constants for the translation method
     private static final String TRANSLATE_SYSTEM_PROMPT = "Translates Korean text to English. Answer only translated text.";
     private static final String TRANSLATE_EXAMPLE_USER = "백두대간 봉자페스티벌";
     private static final String TRANSLATE_EXAMPLE_ASSISTANT = "The Baekdu Daegan Bongja Festival";
+    // Constants for the batch translation method
+    private static final String TRANSLATE_BATCH_SYSTEM_PROMPT = """
+            Translates Korean texts to English.
+            The input is a JSON object with a "texts" array. Answer a JSON object with a "translations" array
+            holding the translation of each text, in the same order and with the same number of items.
+            """;
     // Constant prompt for the category method
     private static final String CATEGORIZE_PROMPT = """
             You are an assistant that categorizes festival descriptions into predefined categories. Assign each festival to one or more of the following categories:
@@ -52,16 +86,70 @@ public class OpenAiClient {
             Festival Description: "A community gathering with food stalls and live entertainment."
             Categories: Community & Social, Food & Culinary
             """;
+    // Constant prompt for the combined translate + categorize method
+    private static final String ENRICH_SYSTEM_PROMPT = """
+            You translate Korean festival information to English and categorize the festivals.
+            The input is a JSON object with a "festivals" array of {"name", "summary"} in Korean.
+            Answer a JSON object with a "festivals" array holding, for each input festival in the same order:
+            "name_en" (the English name), "summary_en" (the English summary) and "categories"
+            (one or more of the allowed categories; use "Other" only if none fits).
+            
+            Example: "백두대간 봉자페스티벌" -> "The Baekdu Daegan Bongja Festival"
+            """;
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
     private final ObjectMapper objectMapper;
     private final WebClient webClient;
+    private final OpenAiRateLimiter rateLimiter;
+    private final int maxRetries;
+
+    public OpenAiClient(ObjectMapper objectMapper,
+                        WebClient.Builder webClientBuilder,
+                        MeterRegistry meterRegistry,
+                        @Value("${openai.api.key}") String apiKey,
+                        @Value("${openai.limits.requests-per-minute:500}") long requestsPerMinute,
+                        @Value("${openai.limits.tokens-per-minute:200000}") long tokensPerMinute,
+                        @Value("${openai.limits.initial-concurrency:4}") int initialConcurrency,
+                        @Value("${openai.limits.max-concurrency:32}") int maxConcurrency,
+                        @Value("${openai.retry.max-retries:4}") int maxRetries) {
+        this.objectMapper = objectMapper;
+        // Own client: the shared one carries the visitKorea rate limiter and circuit breaker
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().responseTimeout(Duration.ofSeconds(90))))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, STR."Bearer \{apiKey}")
+                .build();
+        this.rateLimiter = new OpenAiRateLimiter(requestsPerMinute, tokensPerMinute, initialConcurrency, maxConcurrency);
+        this.maxRetries = maxRetries;
+
+        Gauge.builder("openai.concurrency.limit", rateLimiter, OpenAiRateLimiter::concurrencyLimit)
+                .description("Adaptive limit of OpenAI requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("openai.requests.in-flight", rateLimiter, OpenAiRateLimiter::inFlight)
+                .description("OpenAI requests in flight")
+                .register(meterRegistry);
+    }
 
-    @Value("${openai.api.key}")
-    private String apiKey;
+    /**
+     * Translates a Korean text to English.
+     *
+     * @param text Korean text.
+     * @return The translation, or the original text in case of failure (empty for a null text).
+     */
+    public Mono<String> translate(String text) {
+        return translateOrFail(text).onErrorResume(e -> Mono.just(text));
+    }
 
-    public String translate(String text) {
+    /**
+     * Translates a Korean text to English.
+     *
+     * @param text Korean text.
+     * @return The translation (the text itself if empty, empty for a null text), or an error in case of failure.
+     */
+    private Mono<String> translateOrFail(String text) {
         if (text == null || text.isEmpty()) {
             log.warn("Empty or null text received for translation.");
-            return text;
+            return Mono.justOrEmpty(text);
         }
 
         try {
@@ -89,33 +177,253 @@ public class OpenAiClient {
 
             requestBody.set("messages", messages);
 
-            String requestBodyJson = objectMapper.writeValueAsString(requestBody);
-
-            // Send the request using WebClient
-            String response = webClient.post()
-                    .uri(OPENAI_API_URL)
-                    .header("Authorization", "Bearer " + apiKey)
-                    .header("Content-Type", "application/json")
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block(); // Blocking call;
-
-            JsonNode root = objectMapper.readTree(response);
-
-            // Check for errors in the response
-            if (root.has("error")) {
-                String errorMessage = root.path("error").path("message").asText();
-                log.error("OpenAI API Error: {}", errorMessage);
-                return text; // Return original text or handle accordingly
-            }
-
-            return root.path("choices").get(0).path("message").path("content").asText().trim();
+            return complete(requestBody)
+                    .map(String::trim)
+                    .filter(translated -> !translated.isEmpty())
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty translation")))
+                    .doOnError(e -> log.error("Error during translation: {}", e.getMessage()));
 
         } catch (Exception e) {
             log.error("Error during translation: {}", e.getMessage(), e);
-            return text;
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Translates several Korean texts with a single chat completion.
+     * The texts are sent as a JSON array and the answer is constrained to a JSON schema with one translation per text.
+     * If the batch call fails or the answer does not line up with the input, each text is translated on its own.
+     *
+     * @param texts Korean texts to translate.
+     * @return The English translations, in the same order; null where translation failed (or the text was null),
+     * so that a failure is never mistaken for a translation equal to its original.
+     */
+    public Mono<List<String>> translateBatch(List<String> texts) {
+        if (texts.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        if (texts.size() == 1) {
+            return translateEach(texts);
+        }
+
+        try {
+            ObjectNode input = objectMapper.createObjectNode();
+            ArrayNode inputTexts = input.putArray("texts");
+            texts.forEach(text -> inputTexts.add(text == null ? "" : text.strip()));
+
+            ObjectNode requestBody = objectMapper.createObjectNode();
+            requestBody.put("model", "gpt-4.1-mini");
+            requestBody.put("temperature", 0.2);
+
+            ArrayNode messages = requestBody.putArray("messages");
+            messages.add(objectMapper.createObjectNode()
+                    .put("role", "system")
+                    .put("content", TRANSLATE_BATCH_SYSTEM_PROMPT));
+            messages.add(objectMapper.createObjectNode()
+                    .put("role", "user")
+                    .put("content", objectMapper.writeValueAsString(input)));
+
+            // Structured output: {"translations": ["...", ...]}
+            ObjectNode schema = objectMapper.createObjectNode();
+            schema.put("type", "object");
+            schema.putObject("properties").putObject("translations")
+                    .put("type", "array")
+                    .putObject("items").put("type", "string");
+            schema.putArray("required").add("translations");
+            schema.put("additionalProperties", false);
+
+            ObjectNode responseFormat = requestBody.putObject("response_format");
+            responseFormat.put("type", "json_schema");
+            responseFormat.putObject("json_schema")
+                    .put("name", "translations")
+                    .put("strict", true)
+                    .set("schema", schema);
+
+            return complete(requestBody)
+                    .map(content -> {
+                        JsonNode translations = readJson(content).path("translations");
+                        if (!translations.isArray() || translations.size() != texts.size()) {
+                            throw new IllegalStateException(STR."Expected \{texts.size()} translations but got \{translations.size()}");
+                        }
+
+                        List<String> result = new ArrayList<>(texts.size());
+                        for (int i = 0; i < texts.size(); i++) {
+                            String text = texts.get(i);
+                            String translated = translations.get(i).asText().trim();
+                            result.add(text == null || text.isEmpty() ? text : translated.isEmpty() ? null : translated);
+                        }
+                        return result;
+                    })
+                    .onErrorResume(e -> {
+                        log.error("Error during batch translation of {} texts, translating one by one: {}", texts.size(), e.getMessage());
+                        return translateEach(texts);
+                    });
+
+        } catch (Exception e) {
+            log.error("Error during batch translation of {} texts, translating one by one: {}", texts.size(), e.getMessage());
+            return translateEach(texts);
+        }
+    }
+
+    // One request per text, run concurrently within the rate limiter's limits; null for nulls and failures
+    private Mono<List<String>> translateEach(List<String> texts) {
+        return Flux.range(0, texts.size())
+                .flatMapSequential(i -> attemptTranslation(texts.get(i)))
+                .collectList()
+                .map(translations -> translations.stream().map(translated -> translated.orElse(null)).toList());
+    }
+
+    // Empty for a failure (or a null text)
+    private Mono<Optional<String>> attemptTranslation(String text) {
+        return translateOrFail(text)
+                .map(Optional::of)
+                .onErrorResume(e -> Mono.just(Optional.empty()))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * Translates the name and summary of several festivals and categorizes them with a single chat completion.
+     * The answer is constrained to a JSON schema whose categories are limited to {@link FestivalCategory} display names.
+     * If the combined call fails or the answer does not line up with the input, each festival falls back to
+     * separate {@link #translate} and {@link #categorize} calls.
+     *
+     * @param festivals Korean names and summaries.
+     * @return One enrichment per festival, in the same order.
+     */
+    public Mono<List<FestivalEnrichment>> enrichBatch(List<FestivalEnrichment.Source> festivals) {
+        if (festivals.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        try {
+            ObjectNode input = objectMapper.createObjectNode();
+            ArrayNode inputFestivals = input.putArray("festivals");
+            festivals.forEach(festival -> inputFestivals.addObject()
+                    .put("name", festival.name() == null ? "" : festival.name().strip())
+                    .put("summary", festival.summary() == null ? "" : festival.summary().strip()));
+
+            ObjectNode requestBody = objectMapper.createObjectNode();
+            requestBody.put("model", "gpt-4.1-mini");
+            requestBody.put("temperature", 0.2);
+
+            ArrayNode messages = requestBody.putArray("messages");
+            messages.add(objectMapper.createObjectNode()
+                    .put("role", "system")
+                    .put("content", ENRICH_SYSTEM_PROMPT));
+            messages.add(objectMapper.createObjectNode()
+                    .put("role", "user")
+                    .put("content", objectMapper.writeValueAsString(input)));
+
+            // Structured output: {"festivals": [{"name_en": "...", "summary_en": "...", "categories": ["..."]}]}
+            ObjectNode item = objectMapper.createObjectNode();
+            item.put("type", "object");
+            ObjectNode itemProperties = item.putObject("properties");
+            itemProperties.putObject("name_en").put("type", "string");
+            itemProperties.putObject("summary_en").put("type", "string");
+            ArrayNode categoryNames = itemProperties.putObject("categories")
+                    .put("type", "array")
+                    .putObject("items").put("type", "string")
+                    .putArray("enum");
+            for (FestivalCategory category : FestivalCategory.values()) {
+                categoryNames.add(category.getDisplayNameEn());
+            }
+            item.putArray("required").add("name_en").add("summary_en").add("categories");
+            item.put("additionalProperties", false);
+
+            ObjectNode schema = objectMapper.createObjectNode();
+            schema.put("type", "object");
+            schema.putObject("properties").putObject("festivals")
+                    .put("type", "array")
+                    .set("items", item);
+            schema.putArray("required").add("festivals");
+            schema.put("additionalProperties", false);
+
+            ObjectNode responseFormat = requestBody.putObject("response_format");
+            responseFormat.put("type", "json_schema");
+            responseFormat.putObject("json_schema")
+                    .put("name", "festival_enrichments")
+                    .put("strict", true)
+                    .set("schema", schema);
+
+            return complete(requestBody)
+                    .map(content -> parseEnrichments(content, festivals))
+                    .onErrorResume(e -> {
+                        log.error("Error during combined enrichment of {} festivals, falling back to separate calls: {}", festivals.size(), e.getMessage());
+                        return enrichEach(festivals);
+                    });
+
+        } catch (Exception e) {
+            log.error("Error during combined enrichment of {} festivals, falling back to separate calls: {}", festivals.size(), e.getMessage());
+            return enrichEach(festivals);
+        }
+    }
+
+    private List<FestivalEnrichment> parseEnrichments(String content, List<FestivalEnrichment.Source> festivals) {
+        JsonNode results = readJson(content).path("festivals");
+        if (!results.isArray() || results.size() != festivals.size()) {
+            throw new IllegalStateException(STR."Expected \{festivals.size()} festivals but got \{results.size()}");
         }
+
+        List<FestivalEnrichment> enrichments = new ArrayList<>(festivals.size());
+        for (int i = 0; i < festivals.size(); i++) {
+            FestivalEnrichment.Source festival = festivals.get(i);
+            JsonNode result = results.get(i);
+
+            List<FestivalCategory> categories = new ArrayList<>();
+            result.path("categories").forEach(category -> {
+                FestivalCategory parsed = FestivalCategory.fromDisplayName(category.asText().trim());
+                if (!categories.contains(parsed)) {
+                    categories.add(parsed);
+                }
+            });
+            String nameEn = result.path("name_en").asText();
+            String summaryEn = result.path("summary_en").asText();
+            // Ensure at least one category
+            enrichments.add(new FestivalEnrichment(
+                    orOriginal(nameEn, festival.name()),
+                    orOriginal(summaryEn, festival.summary()),
+                    categories.isEmpty() ? FALLBACK_CATEGORIES : List.copyOf(categories),
+                    isMissing(nameEn, festival.name()),
+                    isMissing(summaryEn, festival.summary())));
+        }
+        return enrichments;
+    }
+
+    // Separate translate + categorize calls per festival
+    private Mono<List<FestivalEnrichment>> enrichEach(List<FestivalEnrichment.Source> festivals) {
+        return Flux.fromIterable(festivals)
+                .flatMapSequential(festival -> Mono.zip(
+                                attemptTranslation(festival.name()),
+                                attemptTranslation(festival.summary()))
+                        .flatMap(translations -> {
+                            String nameEn = translations.getT1().orElse(null);
+                            String summaryEn = translations.getT2().orElse(null);
+                            return categorize(orOriginal(summaryEn, festival.summary())).map(categories ->
+                                    new FestivalEnrichment(
+                                            orOriginal(nameEn, festival.name()),
+                                            orOriginal(summaryEn, festival.summary()),
+                                            categories,
+                                            isMissing(nameEn, festival.name()),
+                                            isMissing(summaryEn, festival.summary())));
+                        }))
+                .collectList();
+    }
+
+    private static String orOriginal(String translated, String original) {
+        return isMissing(translated, original) || original == null || original.isEmpty() ? original : translated.trim();
+    }
+
+    // No answer for a text that needed one: a failure, flagged rather than inferred from translated == original
+    private static boolean isMissing(String translated, String original) {
+        return (translated == null || translated.isBlank()) && original != null && !original.isEmpty();
+    }
+
+    /**
+     * @param categories Categories returned by this client.
+     * @return true if they are the fallback of a failed or empty categorization rather than a model answer.
+     */
+    public static boolean isFallback(List<FestivalCategory> categories) {
+        return categories == FALLBACK_CATEGORIES;
     }
 
     /**
@@ -124,10 +432,10 @@ public class OpenAiClient {
      * @param summary The festival summary in English.
      * @return A list of FestivalCategory enums.
      */
-    public List<FestivalCategory> categorize(String summary) {
+    public Mono<List<FestivalCategory>> categorize(String summary) {
         if (summary == null || summary.isEmpty()) {
             log.warn("Empty or null summary received for categorization.");
-            return List.of(FestivalCategory.OTHER);
+            return Mono.just(FALLBACK_CATEGORIES);
         }
 
         try {
@@ -143,65 +451,110 @@ public class OpenAiClient {
 
             requestBodyMap.put("messages", messages);
 
-            String requestBody = objectMapper.writeValueAsString(requestBodyMap);
-
-            String response = webClient.post()
-                    .uri(OPENAI_API_URL)
-                    .header("Authorization", "Bearer " + apiKey)
-                    .header("Content-Type", "application/json")
-                    .bodyValue(requestBody)
-                    .retrieve()
-//                    .onStatus(HttpStatus::is4xxClientError, clientResponse -> {
-//                        // Handle 4xx errors
-//                        return clientResponse.bodyToMono(String.class)
-//                                .flatMap(errorBody -> {
-//                                    log.error("Client error: {}", errorBody);
-//                                    return Mono.error(new RuntimeException("Client error"));
-//                                });
-//                    })
-//                    .onStatus(HttpStatus::is5xxServerError, clientResponse -> {
-//                        // Handle 5xx errors
-//                        return clientResponse.bodyToMono(String.class)
-//                                .flatMap(errorBody -> {
-//                                    log.error("Server error: {}", errorBody);
-//                                    return Mono.error(new RuntimeException("Server error"));
-//                                });
-//                    })
-                    .bodyToMono(String.class)
-                    .block(); // Blocking call
-
-            JsonNode root = objectMapper.readTree(response);
-
-            // Check for errors in the response
-            if (root.has("error")) {
-                String errorMessage = root.path("error").path("message").asText();
-                log.error("OpenAI API Error: {}", errorMessage);
-                return List.of(FestivalCategory.OTHER);
-            }
+            return complete(objectMapper.valueToTree(requestBodyMap))
+                    .map(content -> {
+                        String categoriesStr = content.trim();
+                        if (categoriesStr.isEmpty()) {
+                            return FALLBACK_CATEGORIES;
+                        }
+
+                        // Split the categories by comma and map to enum
+                        String[] categoriesArray = categoriesStr.split(",");
+                        List<FestivalCategory> categories = Arrays.stream(categoriesArray)
+                                .map(String::trim)
+                                .map(FestivalCategory::fromDisplayName)
+                                .filter(Objects::nonNull)
+                                .toList();
+
+                        // Ensure at least one category
+                        return categories.isEmpty() ? FALLBACK_CATEGORIES : categories;
+                    })
+                    .onErrorResume(e -> {
+                        log.error("Error during categorization: {}", e.getMessage());
+                        return Mono.just(FALLBACK_CATEGORIES);
+                    });
 
-            String categoriesStr = root.path("choices").get(0).path("message").path("content").asText().trim();
-            if (categoriesStr.isEmpty()) {
-                return List.of(FestivalCategory.OTHER);
-            }
+        } catch (Exception e) {
+            log.error("Error during categorization: {}", e.getMessage(), e);
+            return Mono.just(FALLBACK_CATEGORIES);
+        }
+    }
 
-            // Split the categories by comma and map to enum
-            String[] categoriesArray = categoriesStr.split(",");
-            List<FestivalCategory> categories = Arrays.stream(categoriesArray)
-                    .map(String::trim)
-                    .map(FestivalCategory::fromDisplayName)
-                    .filter(Objects::nonNull)
-                    .toList();
+    /**
+     * Sends a chat completion request through the rate limiter, retrying 429, 5xx and connection errors
+     * with jittered exponential backoff.
+     *
+     * @param requestBody The request.
+     * @return The content of the first choice, or an error once the retries are exhausted.
+     */
+    private Mono<String> complete(JsonNode requestBody) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(requestBody))
+                .flatMap(requestJson -> {
+                    int estimatedTokens = estimateTokens(requestJson);
+                    return rateLimiter.execute(estimatedTokens, () -> send(requestJson, estimatedTokens));
+                })
+                .retryWhen(Retry.backoff(maxRetries, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .jitter(0.5)
+                        .filter(OpenAiClient::isRetryable)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
 
-            // Ensure at least one category
-            if (categories.isEmpty()) {
-                categories = List.of(FestivalCategory.OTHER);
-            }
+    private Mono<String> send(String requestJson, int estimatedTokens) {
+        return webClient.post()
+                .uri(OPENAI_API_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestJson)
+                .exchangeToMono(response -> {
+                    int status = response.statusCode().value();
+                    rateLimiter.onResponse(response.headers().asHttpHeaders(), status == 429);
+                    return response.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .map(body -> {
+                                if (response.statusCode().isError()) {
+                                    throw new OpenAiException(status, errorMessage(body));
+                                }
+                                JsonNode root = readJson(body);
+
+                                // Check for errors in the response
+                                if (root.has("error")) {
+                                    throw new OpenAiException(status, root.path("error").path("message").asText());
+                                }
+                                if (root.path("usage").has("total_tokens")) {
+                                    rateLimiter.settle(estimatedTokens, root.path("usage").path("total_tokens").asInt());
+                                }
+                                return root.path("choices").path(0).path("message").path("content").asText();
+                            });
+                });
+    }
 
-            return categories;
+    private String errorMessage(String body) {
+        try {
+            return objectMapper.readTree(body).path("error").path("message").asText(body);
+        } catch (JsonProcessingException e) {
+            return body;
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("Error during categorization: {}", e.getMessage(), e);
-            return List.of(FestivalCategory.OTHER);
+    private JsonNode readJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(STR."Invalid JSON from OpenAI: \{e.getOriginalMessage()}", e);
         }
     }
+
+    /**
+     * Rough token count of a request and its answer, reserved from the tokens-per-minute bucket
+     * and corrected with the reported usage afterwards.
+     * Korean text is about one token per character and the answers are about as long as the input,
+     * so the length of the request JSON is used as is.
+     */
+    static int estimateTokens(String requestJson) {
+        return Math.max(1, requestJson.length());
+    }
+
+    private static boolean isRetryable(Throwable throwable) {
+        return throwable instanceof OpenAiException e ? e.isRetryable() : throwable instanceof WebClientRequestException;
+    }
 }
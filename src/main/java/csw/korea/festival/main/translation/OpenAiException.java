@@ -0,0 +1,29 @@
+package csw.korea.festival.main.translation;
+
+import lombok.Getter;
+
+/**
+ * An error answer from the OpenAI API.
+ */
+@Getter
+public class OpenAiException extends RuntimeException {
+
+    // HTTP status of the answer, 200 when the error came in the body of a successful answer
+    private final int statusCode;
+
+    public OpenAiException(int statusCode, String message) {
+        super("OpenAI API Error (" + statusCode + "): " + message);
+        this.statusCode = statusCode;
+    }
+
+    public boolean isRateLimited() {
+        return statusCode == 429;
+    }
+
+    /**
+     * @return true for rate limiting and server errors, which are worth retrying.
+     */
+    public boolean isRetryable() {
+        return isRateLimited() || statusCode >= 500;
+    }
+}
@@ -0,0 +1,310 @@
+package csw.korea.festival.main.translation;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Client-side flow control for the OpenAI API, so that throughput follows the account quota.
+ *
+ * <ul>
+ *     <li>Requests-per-minute and tokens-per-minute token buckets. A call reserves one request and its estimated
+ *     tokens and is delayed until both buckets can cover it; the buckets are pulled down to the
+ *     {@code x-ratelimit-remaining-*} headers whenever the server knows better.</li>
+ *     <li>An adaptive (AIMD) limit on calls in flight: it grows by one per "window" of successful calls and is halved
+ *     on a 429, at most once per second.</li>
+ *     <li>A 429 pauses every new call until its {@code retry-after} (or {@code x-ratelimit-reset-*}) has passed.</li>
+ * </ul>
+ * Nothing blocks: waiting calls are parked as delayed or pending {@link Mono}s.
+ */
+@Slf4j
+public class OpenAiRateLimiter {
+
+    static final String REMAINING_REQUESTS = "x-ratelimit-remaining-requests";
+    static final String REMAINING_TOKENS = "x-ratelimit-remaining-tokens";
+    static final String RESET_REQUESTS = "x-ratelimit-reset-requests";
+    static final String RESET_TOKENS = "x-ratelimit-reset-tokens";
+    static final String RETRY_AFTER_MS = "retry-after-ms";
+
+    private static final Duration DEFAULT_PAUSE = Duration.ofSeconds(1);
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Parts of reset durations such as "1s", "6m0s" or "20ms"
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final Bucket requestBucket;
+    private final Bucket tokenBucket;
+    private final long tokensPerMinute;
+    private final int maxConcurrency;
+    // System.nanoTime() before which no call may start
+    private final AtomicLong pausedUntil = new AtomicLong(System.nanoTime());
+
+    private final Object lock = new Object();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double concurrencyLimit;
+    private int inFlight;
+    private long lastDecrease;
+
+    public OpenAiRateLimiter(long requestsPerMinute, long tokensPerMinute, int initialConcurrency, int maxConcurrency) {
+        if (requestsPerMinute < 1 || tokensPerMinute < 1 || initialConcurrency < 1 || maxConcurrency < initialConcurrency) {
+            throw new IllegalArgumentException("Rate limits must be positive and maxConcurrency >= initialConcurrency");
+        }
+        this.requestBucket = perMinuteBucket(requestsPerMinute);
+        this.tokenBucket = perMinuteBucket(tokensPerMinute);
+        this.tokensPerMinute = tokensPerMinute;
+        this.maxConcurrency = maxConcurrency;
+        this.concurrencyLimit = initialConcurrency;
+        this.lastDecrease = System.nanoTime() - DECREASE_COOLDOWN_NANOS;
+    }
+
+    private static Bucket perMinuteBucket(long limit) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder().capacity(limit).refillGreedy(limit, Duration.ofMinutes(1)).build())
+                .build();
+    }
+
+    /**
+     * Runs the call once the rate limits and the concurrency limit allow it.
+     * A failing call with a 429 {@link OpenAiException} lowers the concurrency limit, a successful one raises it.
+     *
+     * @param estimatedTokens Tokens the call is expected to use (prompt and completion).
+     * @param call            Creates the call, subscribed when a slot is free.
+     * @return The call's result.
+     */
+    public <T> Mono<T> execute(int estimatedTokens, Supplier<Mono<T>> call) {
+        return Mono.usingWhen(
+                Mono.defer(() -> {
+                    long waitNanos = reserve(estimatedTokens);
+                    return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then(acquire()) : acquire();
+                }),
+                permit -> call.get(),
+                permit -> Mono.fromRunnable(() -> permit.release(Outcome.SUCCESS)),
+                (permit, e) -> Mono.fromRunnable(() -> permit.release(
+                        e instanceof OpenAiException oe && oe.isRateLimited() ? Outcome.RATE_LIMITED : Outcome.FAILURE)),
+                permit -> Mono.fromRunnable(() -> permit.release(Outcome.FAILURE)));
+    }
+
+    /**
+     * Takes one request and the estimated tokens from the buckets, going into debt if needed.
+     *
+     * @return Nanoseconds to wait before the call may start.
+     */
+    long reserve(int estimatedTokens) {
+        long tokens = Math.clamp(estimatedTokens, 1, tokensPerMinute);
+        long wait = Math.max(requestBucket.consumeIgnoringRateLimits(1), tokenBucket.consumeIgnoringRateLimits(tokens));
+        return Math.max(wait, pausedUntil.get() - System.nanoTime());
+    }
+
+    /**
+     * Corrects the token bucket with the usage reported by the API.
+     *
+     * @param estimatedTokens Tokens reserved for the call.
+     * @param actualTokens    {@code usage.total_tokens} of the answer.
+     */
+    public void settle(int estimatedTokens, int actualTokens) {
+        long difference = (long) actualTokens - estimatedTokens;
+        if (difference > 0) {
+            tokenBucket.consumeIgnoringRateLimits(Math.min(difference, tokensPerMinute));
+        } else if (difference < 0) {
+            tokenBucket.addTokens(-difference);
+        }
+    }
+
+    /**
+     * Aligns the buckets with the rate limit headers of an answer and pauses new calls after a 429
+     * or when the server reports an exhausted quota.
+     *
+     * @param headers     Answer headers.
+     * @param rateLimited Whether the answer was a 429.
+     */
+    public void onResponse(HttpHeaders headers, boolean rateLimited) {
+        long remainingRequests = syncBucket(requestBucket, headers.getFirst(REMAINING_REQUESTS));
+        long remainingTokens = syncBucket(tokenBucket, headers.getFirst(REMAINING_TOKENS));
+
+        Duration pause = null;
+        if (rateLimited) {
+            pause = retryAfter(headers);
+        } else if (remainingRequests == 0) {
+            pause = parseDuration(headers.getFirst(RESET_REQUESTS));
+        } else if (remainingTokens == 0) {
+            pause = parseDuration(headers.getFirst(RESET_TOKENS));
+        }
+        if (pause != null) {
+            long until = System.nanoTime() + pause.toNanos();
+            pausedUntil.accumulateAndGet(until, Math::max);
+            log.warn("OpenAI rate limit reached, pausing new requests for {} ms.", pause.toMillis());
+        }
+    }
+
+    // Returns the remaining count from the header, or -1 if absent
+    private static long syncBucket(Bucket bucket, String remainingHeader) {
+        if (remainingHeader == null) {
+            return -1;
+        }
+        long remaining;
+        try {
+            remaining = Long.parseLong(remainingHeader.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        long surplus = bucket.getAvailableTokens() - remaining;
+        if (surplus > 0) {
+            bucket.tryConsume(surplus);
+        }
+        return remaining;
+    }
+
+    static Duration retryAfter(HttpHeaders headers) {
+        String retryAfterMs = headers.getFirst(RETRY_AFTER_MS);
+        if (retryAfterMs != null && retryAfterMs.trim().matches("\\d+")) {
+            return Duration.ofMillis(Long.parseLong(retryAfterMs.trim()));
+        }
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null && retryAfter.trim().matches("\\d+")) {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        }
+        Duration requests = parseDuration(headers.getFirst(RESET_REQUESTS));
+        Duration tokens = parseDuration(headers.getFirst(RESET_TOKENS));
+        if (requests == null && tokens == null) {
+            return DEFAULT_PAUSE;
+        }
+        return requests == null ? tokens : tokens == null ? requests : (requests.compareTo(tokens) > 0 ? requests : tokens);
+    }
+
+    /**
+     * Parses OpenAI reset durations such as {@code "1s"}, {@code "6m0s"}, {@code "1.5s"} or {@code "20ms"}.
+     *
+     * @return The duration, or null if the value is missing or not a duration.
+     */
+    static Duration parseDuration(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Matcher matcher = DURATION_PART.matcher(value.trim());
+        double millis = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1_000;
+                default -> amount;
+            };
+            end = matcher.end();
+        }
+        return end == value.trim().length() ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+    }
+
+    public int concurrencyLimit() {
+        synchronized (lock) {
+            return (int) concurrencyLimit;
+        }
+    }
+
+    public int inFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> cancel(waiter));
+            synchronized (lock) {
+                if (waiter.cancelled) {
+                    return;
+                }
+                if (!waiters.isEmpty() || inFlight >= (int) concurrencyLimit) {
+                    waiters.add(waiter);
+                    return;
+                }
+                inFlight++;
+                waiter.permit = new Permit();
+            }
+            sink.success(waiter.permit);
+        });
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit permit;
+        synchronized (lock) {
+            waiter.cancelled = true;
+            waiters.remove(waiter);
+            permit = waiter.permit;
+        }
+        // Granted but maybe never delivered, releasing an already released permit does nothing
+        if (permit != null) {
+            permit.release(Outcome.FAILURE);
+        }
+    }
+
+    private void release(Outcome outcome) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (lock) {
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS -> concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+                case RATE_LIMITED -> {
+                    long now = System.nanoTime();
+                    if (now - lastDecrease >= DECREASE_COOLDOWN_NANOS) {
+                        concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+                        lastDecrease = now;
+                        log.info("OpenAI concurrency limit lowered to {}.", (int) concurrencyLimit);
+                    }
+                }
+                case FAILURE -> {
+                }
+            }
+            while (!waiters.isEmpty() && inFlight < (int) concurrencyLimit) {
+                Waiter waiter = waiters.poll();
+                inFlight++;
+                waiter.permit = new Permit();
+                granted.add(waiter);
+            }
+        }
+        // Outside the lock, the granted calls start right away
+        granted.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    enum Outcome {
+        SUCCESS, RATE_LIMITED, FAILURE
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        // Guarded by the lock
+        private boolean cancelled;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    // Held by one call in flight, released exactly once
+    final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                OpenAiRateLimiter.this.release(outcome);
+            }
+        }
+    }
+}
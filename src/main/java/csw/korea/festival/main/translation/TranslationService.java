@@ -1,27 +1,71 @@
 package csw.korea.festival.main.translation;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import lombok.RequiredArgsConstructor;
+import csw.korea.festival.main.common.util.MicroBatcher;
+import csw.korea.festival.main.translation.cache.LlmCacheRepository;
+import csw.korea.festival.main.translation.cache.TieredCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class TranslationService {
 
-    private final OpenAiClient openAiClient;
+    // Coalesces concurrent translateText calls into batch requests.
+    // Batches run on virtual threads and wait for the client, whose rate limiter bounds the requests in flight.
+    private final MicroBatcher<String, String> batcher;
 
-    // TODO: maybe redis?
-    // Cache to store translations and reduce API calls
-    private final Cache<String, String> translationCache = Caffeine.newBuilder()
-            .expireAfterWrite(24, TimeUnit.HOURS)
-            .maximumSize(10_000)
-            .build();
+    // Cache to store translations and reduce API calls: Caffeine in front of the persistent llm_cache table
+    private final TieredCache<String> translationCache;
+    // Pending translations, so that concurrent calls for the same text share one request
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final int warmSize;
+
+    public TranslationService(OpenAiClient openAiClient,
+                              LlmCacheRepository llmCacheRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${translation.batch.max-size:16}") int maxBatchSize,
+                              @Value("${translation.batch.max-delay-ms:20}") long maxDelayMs,
+                              @Value("${translation.batch.max-concurrent:32}") int maxConcurrentBatches,
+                              @Value("${translation.cache.warm-size:10000}") int warmSize,
+                              @Value("${translation.cache.ttl-days:180}") long ttlDays) {
+        this.batcher = new MicroBatcher<>(maxBatchSize, Duration.ofMillis(maxDelayMs), maxConcurrentBatches,
+                texts -> openAiClient.translateBatch(texts).block());
+        this.translationCache = new TieredCache<>("translation", llmCacheRepository, meterRegistry,
+                10_000, Duration.ofHours(24), Duration.ofDays(ttlDays), Function.identity(), Function.identity());
+        this.warmSize = warmSize;
+    }
+
+    /**
+     * Loads the most recent persisted translations into memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmCache() {
+        translationCache.warm(warmSize);
+    }
+
+    /**
+     * Deletes persisted translations older than the time to live, once a day.
+     */
+    @Scheduled(initialDelayString = "${translation.cache.purge-interval-ms:86400000}",
+            fixedDelayString = "${translation.cache.purge-interval-ms:86400000}")
+    public void purgeCache() {
+        translationCache.purgeExpired();
+    }
 
     /**
      * Translates the given text from Korean to English.
+     * Calls made at about the same time (from other threads) are sent together in one request.
      *
      * @param text Korean text to translate.
      * @return Translated English text or the original text in case of failure.
@@ -30,14 +74,78 @@ public class TranslationService {
         if (text == null || text.isEmpty()) {
             return text;
         }
+        return translateAsync(text).exceptionally(e -> text).join();
+    }
+
+    /**
+     * Translates several texts, sending the uncached ones in as few requests as possible.
+     *
+     * @param texts Korean texts to translate.
+     * @return Translated texts in the same order (the original text where translation failed).
+     */
+    public List<String> translateTexts(List<String> texts) {
+        List<CompletableFuture<String>> futures = texts.stream()
+                .map(text -> text == null || text.isEmpty()
+                        ? CompletableFuture.completedFuture(text)
+                        : translateAsync(text).exceptionally(e -> text))
+                .toList();
+        // No need to wait for the delay, everything has been submitted
+        batcher.flush();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Returns the cached translation of the given text, without calling the API.
+     *
+     * @param text Korean text.
+     * @return The translation, or null if it is not cached.
+     */
+    public String getCachedTranslation(String text) {
+        return text == null || text.isEmpty() ? null : translationCache.getIfPresent(text);
+    }
+
+    /**
+     * Stores a translation obtained elsewhere (e.g. from a combined translate + categorize call).
+     *
+     * @param text           Korean text.
+     * @param translatedText English translation.
+     */
+    public void cacheTranslation(String text, String translatedText) {
+        // Failures never get here as text: the client reports them as null, enrichments flag them.
+        // A translation equal to its text (e.g. "K-POP FESTIVAL") is an answer and is kept
+        if (text != null && !text.isEmpty() && translatedText != null && !translatedText.isEmpty()) {
+            translationCache.put(text, translatedText);
+        }
+    }
 
-        String cachedTranslation = translationCache.getIfPresent(text);
-        if (cachedTranslation != null) {
-            return cachedTranslation;
+    private CompletableFuture<String> translateAsync(String text) {
+        String cached = translationCache.getIfPresent(text);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
-        String translatedText = openAiClient.translate(text);
-        translationCache.put(text, translatedText);
-        return translatedText;
+        CompletableFuture<String> translation = new CompletableFuture<>();
+        CompletableFuture<String> pending = inFlight.putIfAbsent(text, translation);
+        if (pending != null) {
+            return pending;
+        }
+        batcher.submit(text).whenComplete((translatedText, e) -> {
+            if (e == null) {
+                cacheTranslation(text, translatedText);
+            }
+            inFlight.remove(text, translation);
+            if (e == null) {
+                // Null: the translation failed, fall back to the original without caching it
+                translation.complete(translatedText != null ? translatedText : text);
+            } else {
+                translation.completeExceptionally(e);
+            }
+        });
+        return translation;
+    }
+
+    @PreDestroy
+    public void close() {
+        batcher.close();
     }
-}
\ No newline at end of file
+}
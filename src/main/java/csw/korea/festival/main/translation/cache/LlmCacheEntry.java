@@ -0,0 +1,39 @@
+package csw.korea.festival.main.translation.cache;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted LLM result (translation, categories, ...) keyed by a hash of its kind and input text.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "llm_cache", indexes = @Index(name = "idx_llm_cache_kind_created", columnList = "kind, created_at"))
+public class LlmCacheEntry {
+
+    @Id
+    @Column(length = 64)
+    private String id;          // SHA-256 of kind + input text
+
+    @Column(nullable = false, length = 32)
+    private String kind;        // Cache name, e.g. "translation"
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String value;       // Encoded result
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public LlmCacheEntry(String id, String kind, String value, LocalDateTime createdAt) {
+        this.id = id;
+        this.kind = kind;
+        this.value = value;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,27 @@
+package csw.korea.festival.main.translation.cache;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LlmCacheRepository extends JpaRepository<LlmCacheEntry, String> {
+
+    /**
+     * 종류별로 최근에 저장된 항목을 조회합니다. (캐시 예열용)
+     */
+    List<LlmCacheEntry> findByKindOrderByCreatedAtDesc(String kind, Pageable pageable);
+
+    /**
+     * 종류별로 주어진 시각 이전에 저장된 항목을 삭제합니다. (만료 정리용)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM LlmCacheEntry e WHERE e.kind = :kind AND e.createdAt < :cutoff")
+    int deleteByKindAndCreatedAtBefore(@Param("kind") String kind, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,182 @@
+package csw.korea.festival.main.translation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache for LLM results: an in-process Caffeine cache (L1) in front of the SQLite {@code llm_cache} table (L2).
+ *
+ * <p>
+ * Entries are keyed by the SHA-256 of the cache name and the input text, so L2 rows stay small and L1 can be warmed
+ * from L2 without storing the input. L2 survives restarts; a failing L2 read or write is logged and treated as a miss.
+ * L2 rows expire after a time to live: older rows are misses and are deleted by {@link #purgeExpired()}, so the table
+ * is bounded by the texts seen within that period and results of older prompts/models get refreshed.
+ * Lookups are counted per tier in {@code llm.cache.lookups} (tags: cache, tier, result).
+ * </p>
+ *
+ * @param <V> Cached value type, stored in L2 through the given codec.
+ */
+@Slf4j
+public class TieredCache<V> {
+
+    private final String name;
+    private final LlmCacheRepository repository;
+    private final Function<V, String> encoder;
+    private final Function<String, V> decoder;
+    private final Cache<String, V> l1;
+    private final Duration timeToLive;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TieredCache(String name, LlmCacheRepository repository, MeterRegistry meterRegistry,
+                       long maximumSize, Duration expireAfterAccess, Duration timeToLive,
+                       Function<V, String> encoder, Function<String, V> decoder) {
+        this.name = name;
+        this.timeToLive = timeToLive;
+        this.repository = repository;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.l1 = Caffeine.newBuilder()
+                .expireAfterAccess(expireAfterAccess)
+                .maximumSize(maximumSize)
+                .build();
+        this.l1Hits = counter(meterRegistry, "l1", "hit");
+        this.l1Misses = counter(meterRegistry, "l1", "miss");
+        this.l2Hits = counter(meterRegistry, "l2", "hit");
+        this.l2Misses = counter(meterRegistry, "l2", "miss");
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("llm.cache.lookups")
+                .description("LLM result cache lookups")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks the key up in L1, then in L2 (promoting an L2 hit to L1).
+     *
+     * @param key The input text.
+     * @return The cached value, or null if neither tier has it.
+     */
+    public V getIfPresent(String key) {
+        String hash = hash(key);
+        V value = l1.getIfPresent(hash);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        l1Misses.increment();
+
+        Optional<LlmCacheEntry> entry;
+        try {
+            entry = repository.findById(hash);
+        } catch (Exception e) {
+            log.warn("Failed to read {} cache entry: {}", name, e.getMessage());
+            entry = Optional.empty();
+        }
+        if (entry.isEmpty() || isExpired(entry.get())) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        value = decoder.apply(entry.get().getValue());
+        l1.put(hash, value);
+        return value;
+    }
+
+    /**
+     * Stores the value in both tiers.
+     *
+     * @param key   The input text.
+     * @param value The result to cache.
+     */
+    public void put(String key, V value) {
+        String hash = hash(key);
+        l1.put(hash, value);
+        try {
+            repository.save(new LlmCacheEntry(hash, name, encoder.apply(value), LocalDateTime.now()));
+        } catch (Exception e) {
+            log.warn("Failed to persist {} cache entry: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the most recent L2 entries into L1.
+     *
+     * @param limit Maximum number of entries to load.
+     * @return The number of entries loaded.
+     */
+    public int warm(int limit) {
+        try {
+            List<LlmCacheEntry> entries = repository.findByKindOrderByCreatedAtDesc(name, PageRequest.of(0, limit));
+            int warmed = 0;
+            for (LlmCacheEntry entry : entries) {
+                if (!isExpired(entry)) {
+                    l1.put(entry.getId(), decoder.apply(entry.getValue()));
+                    warmed++;
+                }
+            }
+            log.info("Warmed {} cache with {} entries.", name, warmed);
+            return warmed;
+        } catch (Exception e) {
+            // A cold cache only costs API calls, startup goes on
+            log.warn("Failed to warm {} cache: {}", name, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes the L2 rows older than the time to live.
+     *
+     * @return The number of deleted rows.
+     */
+    public int purgeExpired() {
+        try {
+            int deleted = repository.deleteByKindAndCreatedAtBefore(name, LocalDateTime.now().minus(timeToLive));
+            if (deleted > 0) {
+                log.info("Purged {} expired {} cache entries.", deleted, name);
+            }
+            return deleted;
+        } catch (Exception e) {
+            log.warn("Failed to purge {} cache: {}", name, e.getMessage());
+            return 0;
+        }
+    }
+
+    private boolean isExpired(LlmCacheEntry entry) {
+        return entry.getCreatedAt().isBefore(LocalDateTime.now().minus(timeToLive));
+    }
+
+    private String hash(String key) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0x1f);
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,115 @@
+package csw.korea.festival.main.common.service;
+
+import csw.korea.festival.main.common.dto.KWeather;
+import csw.korea.festival.main.common.util.GeoGrid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KakaoAPIServiceTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile String resultCode = "OK";
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setUp() {
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    int call = calls.incrementAndGet();
+                    String body = "{\"codes\":{\"resultCode\":\"" + resultCode + "\"},"
+                            + "\"weatherInfos\":{\"current\":{\"iconId\":\"01\",\"temperature\":\"" + call + "\",\"desc\":\"Clear\"}}}";
+                    return Mono.delay(Duration.ofMillis(200))
+                            .thenReturn(ClientResponse.create(HttpStatus.OK)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body(body)
+                                    .build());
+                })
+                .build();
+    }
+
+    private KakaoAPIService service(long expireAfterWriteMs, long refreshAfterWriteMs) {
+        return new KakaoAPIService(webClient, "https://weather.test?a=b", "https://icon.test/%s.png",
+                expireAfterWriteMs, refreshAfterWriteMs);
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneRequest() throws Exception {
+        // Given
+        KakaoAPIService kakaoAPIService = service(1_800_000, 1_500_000);
+        long cell = GeoGrid.cellOf(37.5665, 126.9780);
+
+        // When
+        List<CompletableFuture<KWeather.WeatherRequest>> lookups = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                lookups.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return kakaoAPIService.getWeatherFromCoordinates(37.5665, 126.9780);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor));
+            }
+        }
+
+        // Then
+        assertEquals(1, calls.get());
+        for (CompletableFuture<KWeather.WeatherRequest> lookup : lookups) {
+            assertEquals("1", lookup.get(5, TimeUnit.SECONDS).getTemperature());
+        }
+        assertEquals("https://icon.test/01.png", kakaoAPIService.getWeatherForCell(cell).getIconImage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testStaleEntryIsServedWhileRefreshedInBackground() throws Exception {
+        // Given
+        KakaoAPIService kakaoAPIService = service(60_000, 100);
+        long cell = GeoGrid.cellOf(35.1796, 129.0756);
+        assertEquals("1", kakaoAPIService.getWeatherForCell(cell).getTemperature());
+        Thread.sleep(150);
+
+        // When: the old value is returned right away and a reload starts
+        KWeather.WeatherRequest stale = kakaoAPIService.getWeatherForCell(cell);
+
+        // Then
+        assertEquals("1", stale.getTemperature());
+        for (int i = 0; i < 50 && calls.get() < 2; i++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(400);
+        assertEquals("2", kakaoAPIService.getWeatherForCell(cell).getTemperature());
+    }
+
+    @Test
+    public void testFailedLookupIsNotCached() {
+        // Given
+        KakaoAPIService kakaoAPIService = service(1_800_000, 1_500_000);
+        long cell = GeoGrid.cellOf(33.4996, 126.5312);
+        resultCode = "NOT_FOUND";
+
+        // When / Then
+        assertThrows(IOException.class, () -> kakaoAPIService.getWeatherForCell(cell));
+        resultCode = "OK";
+        assertDoesNotThrow(() -> kakaoAPIService.getWeatherForCell(cell));
+        assertEquals(2, calls.get());
+    }
+}
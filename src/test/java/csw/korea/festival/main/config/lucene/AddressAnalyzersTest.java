@@ -0,0 +1,77 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AddressAnalyzersTest {
+
+    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+    private DirectoryReader reader;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(AddressAnalyzers.indexing()))) {
+            writer.addDocument(address("경기도 수원시 팔달구 정조로 825"));
+            writer.addDocument(address("부산광역시 해운대구 해운대해변로 264"));
+            writer.addDocument(address("Seoul Jongno-gu Sejong-daero 175"));
+        }
+        reader = DirectoryReader.open(directory);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Test
+    public void testTermMatchesAnySubstringOfAnAddressToken() throws IOException {
+        assertEquals(1, count("수원"));
+        assertEquals(1, count("원시"));
+        assertEquals(1, count("해변로"));
+        assertEquals(2, count("시"));
+        assertEquals(1, count("82"));
+        assertEquals(1, count("대구"));
+        assertEquals(0, count("대전"));
+    }
+
+    @Test
+    public void testMatchingIgnoresCaseAndWidth() throws IOException {
+        assertEquals(1, count("JONGNO"));
+        assertEquals(1, count("ｓｅｊｏｎｇ"));
+    }
+
+    @Test
+    public void testLongTokensMatchWhole() throws IOException {
+        // Longer than the largest gram: only the whole token is indexed
+        assertEquals(1, count("jongno-gu"));
+        assertEquals(0, count("sejong-daer"));
+        assertEquals(1, count("sejong-daero"));
+    }
+
+    private int count(String term) throws IOException {
+        Query query = new QueryBuilder(AddressAnalyzers.search()).createBooleanQuery("address", term);
+        return query == null ? 0 : new IndexSearcher(reader).count(query);
+    }
+
+    private static Document address(String address) {
+        Document document = new Document();
+        document.add(new TextField("address", address, Field.Store.NO));
+        return document;
+    }
+}
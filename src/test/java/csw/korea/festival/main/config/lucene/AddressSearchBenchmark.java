@@ -0,0 +1,114 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.ko.KoreanTokenizerFactory;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramFilterFactory;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Address clause of a festival search on an index of 100k {@link SyntheticFestivals} addresses:
+ * the former {@code *term*} wildcard on the "korean" address field, against a gram lookup on {@code addressNgram}.
+ *
+ * <p>
+ * Not run by the tests. Run {@link #main} from the IDE after {@code mvn test-compile};
+ * sample-time mode reports the latency percentiles ({@code p0.99}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class AddressSearchBenchmark {
+
+    private static final int FESTIVALS = 100_000;
+
+    private static final String[] TERMS = {"수원", "해운대", "중앙로", "강릉", "세종", "광장", "12", "축제길",
+            "제주", "남구", "대로"};
+
+    private ByteBuffersDirectory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private QueryBuilder ngramQueries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The "korean" analyzer's tokenizer and grams, which the wildcard enumerates
+        Analyzer korean = CustomAnalyzer.builder()
+                .withTokenizer(KoreanTokenizerFactory.class)
+                .addTokenFilter(LowerCaseFilterFactory.class)
+                .addTokenFilter(NGramFilterFactory.class, "minGramSize", "2", "maxGramSize", "5")
+                .build();
+        Analyzer analyzer = new PerFieldAnalyzerWrapper(korean, Map.of("addressNgram", AddressAnalyzers.indexing()));
+
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer))) {
+            for (SyntheticFestivals.Festival festival : SyntheticFestivals.generate(FESTIVALS, 42)) {
+                String address = festival.address();
+                Document document = new Document();
+                document.add(new TextField("address", address, Field.Store.NO));
+                document.add(new TextField("addressNgram", address, Field.Store.NO));
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        // No query cache: every invocation pays for the clause as a new query would
+        searcher.setQueryCache(null);
+        ngramQueries = new QueryBuilder(AddressAnalyzers.search());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public TopDocs leadingWildcard() throws IOException {
+        String term = nextTerm();
+        return searcher.search(new WildcardQuery(new Term("address", "*" + term + "*")), 10);
+    }
+
+    @Benchmark
+    public TopDocs ngramMatch() throws IOException {
+        Query query = ngramQueries.createBooleanQuery("addressNgram", nextTerm());
+        return searcher.search(new ConstantScoreQuery(query), 10);
+    }
+
+    private String nextTerm() {
+        next = (next + 1) % TERMS.length;
+        return TERMS[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AddressSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
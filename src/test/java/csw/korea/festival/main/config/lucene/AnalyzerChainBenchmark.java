@@ -0,0 +1,112 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexing throughput and query latency of the festival name/summary analyzers
+ * for each gram setting of {@link FestivalCorpus.Chain}, on a synthetic corpus of festivals.
+ *
+ * <p>
+ * Not run by the tests. Run {@link #main} from the IDE after {@code mvn test-compile};
+ * {@link AnalyzerIndexReport} prints the index sizes and tokens per document of the same settings.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class AnalyzerChainBenchmark {
+
+    private static final int FESTIVALS = 20_000;
+    private static final int BATCH = 1_000;
+
+    @Param({"KOREAN_2_5", "KOREAN_2_3", "KOREAN_NO_NGRAM", "ENGLISH_3_10", "ENGLISH_3_6", "ENGLISH_NO_EDGE"})
+    public String setting;
+
+    private FestivalCorpus.Chain chain;
+    private Analyzer analyzer;
+    private List<SyntheticFestivals.Festival> festivals;
+    private ByteBuffersDirectory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private QueryBuilder queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        chain = FestivalCorpus.Chain.valueOf(setting);
+        analyzer = chain.analyzer();
+        festivals = FestivalCorpus.festivals(FESTIVALS, 42);
+
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer))) {
+            for (SyntheticFestivals.Festival festival : festivals) {
+                writer.addDocument(chain.document(festival));
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        // No query cache: every invocation pays for the clauses as a new query would
+        searcher.setQueryCache(null);
+        queries = new QueryBuilder(analyzer);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    /**
+     * Analyzes and indexes a batch of festivals into a fresh in-memory index.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public long index() throws IOException {
+        int from = next = (next + BATCH) % (FESTIVALS - BATCH);
+        try (ByteBuffersDirectory batch = new ByteBuffersDirectory();
+             IndexWriter writer = new IndexWriter(batch, new IndexWriterConfig(analyzer))) {
+            for (int i = from; i < from + BATCH; i++) {
+                writer.addDocument(chain.document(festivals.get(i)));
+            }
+            writer.commit();
+            return writer.getDocStats().numDocs;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TopDocs search() throws IOException {
+        String[] texts = chain.queries();
+        next = (next + 1) % texts.length;
+        return searcher.search(chain.query(queries, texts[next]), 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AnalyzerChainBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,99 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiTerms;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.QueryBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index statistics of the festival name/summary analyzers for each gram setting of {@link FestivalCorpus.Chain}:
+ * tokens per document, unique terms, index bytes after a full merge, indexing throughput and query latency.
+ *
+ * <p>
+ * Not run by the tests. Run {@link #main} from the IDE after {@code mvn test-compile}, optionally with the
+ * number of festivals (default 20000). The timings are single runs; {@link AnalyzerChainBenchmark} measures them
+ * properly.
+ * </p>
+ */
+public class AnalyzerIndexReport {
+
+    private static final int QUERIES = 5_000;
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        List<SyntheticFestivals.Festival> festivals = FestivalCorpus.festivals(count, 42);
+
+        System.out.printf("%d festivals%n", count);
+        System.out.printf("%-16s %10s %10s %12s %10s %10s %10s%n",
+                "chain", "tokens/doc", "terms", "index KiB", "docs/s", "p50 us", "p99 us");
+        for (FestivalCorpus.Chain chain : FestivalCorpus.Chain.values()) {
+            report(chain, festivals);
+        }
+    }
+
+    private static void report(FestivalCorpus.Chain chain, List<SyntheticFestivals.Festival> festivals) throws IOException {
+        try (Analyzer analyzer = chain.analyzer(); ByteBuffersDirectory directory = new ByteBuffersDirectory()) {
+            long start = System.nanoTime();
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer))) {
+                for (SyntheticFestivals.Festival festival : festivals) {
+                    writer.addDocument(chain.document(festival));
+                }
+                writer.commit();
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                writer.forceMerge(1);
+                writer.commit();
+
+                long bytes = 0;
+                for (String file : directory.listAll()) {
+                    bytes += directory.fileLength(file);
+                }
+
+                try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                    long tokens = 0;
+                    long terms = 0;
+                    for (String field : new String[]{FestivalCorpus.NAME, FestivalCorpus.SUMMARY}) {
+                        tokens += reader.getSumTotalTermFreq(field);
+                        Terms fieldTerms = MultiTerms.getTerms(reader, field);
+                        terms += fieldTerms == null ? 0 : fieldTerms.size();
+                    }
+                    long[] latencies = latencies(chain, analyzer, reader);
+                    System.out.printf("%-16s %10.1f %10d %12d %10.0f %10.1f %10.1f%n",
+                            chain, (double) tokens / festivals.size(), terms, bytes / 1024,
+                            festivals.size() / seconds,
+                            latencies[latencies.length / 2] / 1e3, latencies[latencies.length * 99 / 100] / 1e3);
+                }
+            }
+        }
+    }
+
+    private static long[] latencies(FestivalCorpus.Chain chain, Analyzer analyzer, DirectoryReader reader)
+            throws IOException {
+        IndexSearcher searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+        QueryBuilder queries = new QueryBuilder(analyzer);
+        String[] texts = chain.queries();
+
+        // Warm-up, then the measured run
+        for (int i = 0; i < QUERIES; i++) {
+            searcher.search(chain.query(queries, texts[i % texts.length]), 10);
+        }
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            searcher.search(chain.query(queries, texts[i % texts.length]), 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+}
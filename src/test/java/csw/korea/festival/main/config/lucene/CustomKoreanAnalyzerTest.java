@@ -0,0 +1,109 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CustomKoreanAnalyzerTest {
+
+    @Test
+    public void testSplitsOnWhitespaceWithOffsets() throws IOException {
+        assertEquals(List.of("경기도[0,3]", "수원시[4,7]", "팔달구[10,13]", "정조로[14,17]", "825[18,21]"),
+                tokenize("경기도 수원시\t\n 팔달구 정조로 825"));
+    }
+
+    @Test
+    public void testIgnoresLeadingAndTrailingWhitespace() throws IOException {
+        assertEquals(List.of("해운대[2,5]"), tokenize("  해운대 \r\n"));
+        assertEquals(List.of(), tokenize(""));
+        assertEquals(List.of(), tokenize(" \t "));
+    }
+
+    @Test
+    public void testTokenSpanningReadBuffers() throws IOException {
+        // Given: a token across the 4096 char read buffer boundary
+        String text = " ".repeat(4090) + "서울특별시종로구 세종대로";
+
+        // Then
+        assertEquals(List.of("서울특별시종로구[4090,4098]", "세종대로[4099,4103]"), tokenize(text));
+    }
+
+    @Test
+    public void testTokenLongerThanTermBuffer() throws IOException {
+        String token = "가".repeat(10_000);
+
+        assertEquals(List.of(token + "[1,10001]"), tokenize(" " + token));
+    }
+
+    @Test
+    public void testReusedAcrossInputs() throws IOException {
+        try (Tokenizer tokenizer = new CustomKoreanAnalyzer.SimpleKoreanTokenizer()) {
+            assertEquals(List.of("부산광역시[0,5]", "해운대구[6,10]"), tokens(tokenizer, "부산광역시 해운대구"));
+            assertEquals(List.of("제주[0,2]"), tokens(tokenizer, "제주"));
+        }
+    }
+
+    @Test
+    public void testFinalOffsetIsInputLength() throws IOException {
+        try (Tokenizer tokenizer = new CustomKoreanAnalyzer.SimpleKoreanTokenizer()) {
+            tokenizer.setReader(new StringReader("수원 화성  "));
+            tokenizer.reset();
+            while (tokenizer.incrementToken()) {
+                // Consume
+            }
+            tokenizer.end();
+            assertEquals(7, tokenizer.getAttribute(OffsetAttribute.class).endOffset());
+        }
+    }
+
+    @Test
+    public void testAnalyzerExpandsProvinceSynonyms() throws IOException {
+        try (Analyzer analyzer = new CustomKoreanAnalyzer();
+             TokenStream stream = analyzer.tokenStream("province", "경기 수원시 a")) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            List<String> terms = new ArrayList<>();
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+
+            assertTrue(terms.contains("경기도"), terms.toString());
+            assertTrue(terms.contains("수원시"), terms.toString());
+            // Single characters are dropped
+            assertFalse(terms.contains("a"), terms.toString());
+        }
+    }
+
+    private static List<String> tokenize(String text) throws IOException {
+        try (Tokenizer tokenizer = new CustomKoreanAnalyzer.SimpleKoreanTokenizer()) {
+            return tokens(tokenizer, text);
+        }
+    }
+
+    private static List<String> tokens(Tokenizer tokenizer, String text) throws IOException {
+        CharTermAttribute term = tokenizer.getAttribute(CharTermAttribute.class);
+        OffsetAttribute offset = tokenizer.getAttribute(OffsetAttribute.class);
+        tokenizer.setReader(new StringReader(text));
+        tokenizer.reset();
+        List<String> tokens = new ArrayList<>();
+        while (tokenizer.incrementToken()) {
+            tokens.add(term + "[" + offset.startOffset() + "," + offset.endOffset() + "]");
+        }
+        tokenizer.end();
+        tokenizer.close();
+        return tokens;
+    }
+}
@@ -0,0 +1,67 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FestivalAnalyzersTest {
+
+    @Test
+    public void testKoreanGramsAndSynonyms() throws IOException {
+        List<String> terms = terms(FestivalAnalyzers.korean(), "<b>벚꽃</b> 축제");
+
+        assertTrue(terms.contains("축제"));
+        assertTrue(terms.contains("페스티"), "2-5 grams of the 페스티벌 synonym");
+        assertFalse(terms.contains("<b>"));
+        assertTrue(terms.stream().allMatch(term -> term.length() >= 2 && term.length() <= 5));
+    }
+
+    @Test
+    public void testKoreanWithoutGramsKeepsWholeTokens() throws IOException {
+        List<String> terms = terms(FestivalAnalyzers.korean(0, 0), "벚꽃 축제");
+
+        // Single-syllable morphemes (벚, 꽃) survive only without the 2-5 grams
+        assertTrue(terms.contains("벚"));
+        assertTrue(terms.contains("페스티벌"));
+        assertFalse(terms.contains("페스"));
+    }
+
+    @Test
+    public void testEnglishEdgeGrams() throws IOException {
+        assertTrue(terms(FestivalAnalyzers.english(), "Cherry Blossom").contains("cher"));
+        assertFalse(terms(FestivalAnalyzers.english(0, 0), "Cherry Blossom").contains("cher"));
+        assertFalse(terms(FestivalAnalyzers.english(3, 3), "Cherry Blossom").contains("cher"));
+    }
+
+    @Test
+    public void testMultilingualNormalizesAndStripsMarkup() throws IOException {
+        List<String> terms = terms(FestivalAnalyzers.multilingual(), "<b>ＭＵＳＩＣ and Arts</b> 음악 & 공연");
+
+        assertEquals(List.of("music", "arts", "음악", "공연"), terms);
+    }
+
+    @Test
+    public void testCorpusIsReproducible() {
+        assertEquals(FestivalCorpus.festivals(10, 7), FestivalCorpus.festivals(10, 7));
+    }
+
+    private static List<String> terms(Analyzer analyzer, String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (analyzer; TokenStream stream = analyzer.tokenStream("name", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+}
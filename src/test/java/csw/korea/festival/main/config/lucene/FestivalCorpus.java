@@ -0,0 +1,86 @@
+package csw.korea.festival.main.config.lucene;
+
+import csw.korea.festival.main.config.lucene.SyntheticFestivals.Festival;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.QueryBuilder;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Names and summaries (Korean and English) of {@link SyntheticFestivals} for the analyzer benchmarks,
+ * and the analyzer settings they compare.
+ */
+final class FestivalCorpus {
+
+    /**
+     * An analyzer setting of a festival text field; the first of each language is the production one.
+     */
+    enum Chain {
+        KOREAN_2_5(true, () -> FestivalAnalyzers.korean()),
+        KOREAN_2_3(true, () -> FestivalAnalyzers.korean(2, 3)),
+        KOREAN_NO_NGRAM(true, () -> FestivalAnalyzers.korean(0, 0)),
+        ENGLISH_3_10(false, () -> FestivalAnalyzers.english()),
+        ENGLISH_3_6(false, () -> FestivalAnalyzers.english(3, 6)),
+        ENGLISH_NO_EDGE(false, () -> FestivalAnalyzers.english(0, 0));
+
+        private final boolean korean;
+        private final Supplier<Analyzer> analyzer;
+
+        Chain(boolean korean, Supplier<Analyzer> analyzer) {
+            this.korean = korean;
+            this.analyzer = analyzer;
+        }
+
+        Analyzer analyzer() {
+            return analyzer.get();
+        }
+
+        Document document(Festival festival) {
+            Document document = new Document();
+            document.add(new TextField(NAME, korean ? festival.name() : festival.nameEn(), Field.Store.NO));
+            document.add(new TextField(SUMMARY, korean ? festival.summary() : festival.summaryEn(), Field.Store.NO));
+            return document;
+        }
+
+        String[] queries() {
+            return korean ? KOREAN_QUERIES : ENGLISH_QUERIES;
+        }
+
+        /**
+         * The term clauses of a festival search: a match on the name or the summary.
+         */
+        Query query(QueryBuilder builder, String text) {
+            BooleanQuery.Builder query = new BooleanQuery.Builder();
+            for (String field : new String[]{NAME, SUMMARY}) {
+                Query clause = builder.createBooleanQuery(field, text);
+                if (clause != null) {
+                    query.add(clause, BooleanClause.Occur.SHOULD);
+                }
+            }
+            return query.build();
+        }
+    }
+
+    static final String NAME = "name";
+    static final String SUMMARY = "summary";
+
+    // Whole words, word prefixes and partial words as typed in the search box
+    static final String[] KOREAN_QUERIES = {"벚꽃", "벚꽃 축제", "강릉", "불꽃놀이", "전통", "먹거리 장터", "해운",
+            "페스티", "머드축제", "체험 프로그램", "제주 별빛", "단풍"};
+    static final String[] ENGLISH_QUERIES = {"cherry", "cherry blossom", "fire", "gangneung", "tradition",
+            "food stalls", "haeun", "festiv", "mud festival", "hands-on programs", "jeju starlight", "autumn"};
+
+    private FestivalCorpus() {
+    }
+
+    static List<Festival> festivals(int count, long seed) {
+        return SyntheticFestivals.generate(count, seed);
+    }
+}
@@ -0,0 +1,157 @@
+package csw.korea.festival.main.config.lucene;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexing throughput of the "seok" tokenizer over festival addresses: the streaming
+ * {@link CustomKoreanAnalyzer.SimpleKoreanTokenizer} against the former read-all, regex-split implementation.
+ * One operation tokenizes every address once, as a reindex of the address fields would.
+ *
+ * <p>
+ * Not run by the tests. Run {@link #main} from the IDE after {@code mvn test-compile};
+ * add {@code -prof gc} to the runner options to compare allocations per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class SimpleKoreanTokenizerBenchmark {
+
+    // Venue addresses of well-known festivals
+    private static final String[] ADDRESSES = {
+            "경기도 수원시 팔달구 정조로 825",
+            "부산광역시 해운대구 해운대해변로 264",
+            "서울특별시 종로구 세종대로 175",
+            "전북특별자치도 전주시 완산구 기린대로 99",
+            "강원특별자치도 강릉시 창해로 514",
+            "경상북도 안동시 풍천면 하회종가길 40",
+            "충청남도 보령시 해수욕장3길 10",
+            "제주특별자치도 서귀포시 성산읍 일출로 284-12",
+            "전라남도 함평군 함평읍 곤재로 27",
+            "경상남도 진주시 남강로 626",
+            "서울특별시 영등포구 여의동로 330",
+            "광주광역시 동구 문화전당로 38",
+            "대구광역시 중구 달구벌대로 2077",
+            "인천광역시 중구 차이나타운로 59",
+            "충청북도 괴산군 괴산읍 임꺽정로 90",
+            "경기도 이천시 신둔면 도자예술로 5",
+    };
+    private static final int DOCUMENTS = 10_000;
+
+    private String[] documents;
+    private Tokenizer streaming;
+    private Tokenizer legacy;
+
+    @Setup
+    public void setUp() {
+        documents = new String[DOCUMENTS];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents[i] = ADDRESSES[i % ADDRESSES.length];
+        }
+        streaming = new CustomKoreanAnalyzer.SimpleKoreanTokenizer();
+        legacy = new LegacyTokenizer();
+    }
+
+    @Benchmark
+    public void streamingTokenizer(Blackhole blackhole) throws IOException {
+        tokenizeAll(streaming, blackhole);
+    }
+
+    @Benchmark
+    public void legacyTokenizer(Blackhole blackhole) throws IOException {
+        tokenizeAll(legacy, blackhole);
+    }
+
+    private void tokenizeAll(Tokenizer tokenizer, Blackhole blackhole) throws IOException {
+        CharTermAttribute term = tokenizer.getAttribute(CharTermAttribute.class);
+        for (String document : documents) {
+            tokenizer.setReader(new StringReader(document));
+            tokenizer.reset();
+            while (tokenizer.incrementToken()) {
+                blackhole.consume(term.length());
+            }
+            tokenizer.end();
+            tokenizer.close();
+        }
+    }
+
+    /**
+     * The tokenizer before the streaming rewrite, kept for comparison.
+     */
+    private static final class LegacyTokenizer extends Tokenizer {
+        private final CharTermAttribute charTermAttribute = addAttribute(CharTermAttribute.class);
+        private final OffsetAttribute offsetAttribute = addAttribute(OffsetAttribute.class);
+        private final PositionIncrementAttribute positionIncrementAttribute = addAttribute(PositionIncrementAttribute.class);
+        private final List<TokenInfo> tokens = new ArrayList<>();
+        private int tokenIndex = 0;
+
+        @Override
+        public boolean incrementToken() {
+            if (tokenIndex < tokens.size()) {
+                clearAttributes();
+                TokenInfo tokenInfo = tokens.get(tokenIndex);
+                charTermAttribute.append(tokenInfo.token);
+                charTermAttribute.setLength(tokenInfo.token.length());
+                offsetAttribute.setOffset(correctOffset(tokenInfo.startOffset), correctOffset(tokenInfo.endOffset));
+                positionIncrementAttribute.setPositionIncrement(1);
+                tokenIndex++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void reset() throws IOException {
+            super.reset();
+            tokenIndex = 0;
+            tokens.clear();
+            String text = inputToString(input);
+            int currentOffset = 0;
+            for (String token : text.split("\\s+")) {
+                int startOffset = text.indexOf(token, currentOffset);
+                int endOffset = startOffset + token.length();
+                tokens.add(new TokenInfo(token, startOffset, endOffset));
+                currentOffset = endOffset;
+            }
+        }
+
+        private static String inputToString(Reader input) throws IOException {
+            StringBuilder builder = new StringBuilder();
+            char[] buffer = new char[1024];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                builder.append(buffer, 0, length);
+            }
+            return builder.toString();
+        }
+
+        private record TokenInfo(String token, int startOffset, int endOffset) {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SimpleKoreanTokenizerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
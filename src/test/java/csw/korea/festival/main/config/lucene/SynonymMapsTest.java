@@ -0,0 +1,164 @@
+package csw.korea.festival.main.config.lucene;
+
+import csw.korea.festival.main.festival.service.FestivalIndexService;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.core.WhitespaceTokenizerFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SynonymMapsTest {
+
+    private static final String TEST_SYNONYMS = "test_synonyms";
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    public void restoreBundledMaps() throws IOException {
+        for (String name : SynonymMaps.NAMES) {
+            SynonymMaps.replace(name, bundled(name));
+        }
+    }
+
+    @Test
+    public void testBundledMapsAreCompiledOnceAndShared() {
+        SynonymMaps.Version first = SynonymMaps.current(SynonymMaps.KOREAN);
+
+        assertSame(first, SynonymMaps.current(SynonymMaps.KOREAN));
+        assertNotNull(first.map().fst);
+    }
+
+    @Test
+    public void testFilterSwitchesToReplacedMapOnReset() throws IOException {
+        // Given
+        SynonymMaps.replace(TEST_SYNONYMS, "축제 => 축제, 페스티벌");
+        Tokenizer tokenizer = new WhitespaceTokenizer();
+        TokenStream stream = new ReloadableSynonymGraphFilter(tokenizer, TEST_SYNONYMS, true);
+        assertEquals(List.of("수원", "축제", "페스티벌"), terms(tokenizer, stream, "수원 축제"));
+
+        // When
+        SynonymMaps.replace(TEST_SYNONYMS, "축제 => 축제, 잔치");
+
+        // Then: the same, reused stream
+        assertEquals(List.of("수원", "축제", "잔치"), terms(tokenizer, stream, "수원 축제"));
+    }
+
+    @Test
+    public void testDigestFollowsTheRulesInUse() throws IOException {
+        String bundled = SynonymMaps.digest();
+
+        // Same rules again: same digest
+        SynonymMaps.replace(SynonymMaps.PROVINCE, bundled(SynonymMaps.PROVINCE));
+        assertEquals(bundled, SynonymMaps.digest());
+
+        SynonymMaps.replace(SynonymMaps.PROVINCE, bundled(SynonymMaps.PROVINCE) + "수원 => 수원, 수원시\n");
+        assertNotEquals(bundled, SynonymMaps.digest());
+
+        // An invalid file is not published
+        String changed = SynonymMaps.digest();
+        assertThrows(IllegalArgumentException.class, () -> SynonymMaps.replace(SynonymMaps.PROVINCE, "수원 => \n"));
+        assertEquals(changed, SynonymMaps.digest());
+    }
+
+    @Test
+    public void testFactoryBuildsFilterForAnalyzerDefinitions() throws IOException {
+        try (Analyzer analyzer = CustomAnalyzer.builder()
+                .withTokenizer(WhitespaceTokenizerFactory.class)
+                .addTokenFilter(ReloadableSynonymFilterFactory.class,
+                        "synonyms", SynonymMaps.KOREAN, "ignoreCase", "true")
+                .build();
+             TokenStream stream = analyzer.tokenStream("name", "맥주 축제")) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            List<String> terms = new ArrayList<>();
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+
+            assertTrue(terms.contains("페스티벌"), terms.toString());
+        }
+    }
+
+    @Test
+    public void testInvalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SynonymMaps.parse(new StringReader("축제 => ")));
+        assertThrows(IllegalArgumentException.class, () -> SynonymMaps.parse(new StringReader("# empty\n")));
+        assertThrows(IllegalArgumentException.class, () -> SynonymMaps.current("missing_synonyms"));
+    }
+
+    @Test
+    public void testReloaderPublishesChangedFilesAndReindexes() throws IOException {
+        // Given
+        for (String name : SynonymMaps.NAMES) {
+            Files.writeString(directory.resolve(name + ".txt"), bundled(name));
+        }
+        FestivalIndexService festivalIndexService = mock(FestivalIndexService.class);
+        SynonymReloader reloader = new SynonymReloader(directory.toUri().toString(), festivalIndexService);
+        long version = SynonymMaps.current(SynonymMaps.PROVINCE).number();
+
+        // When: unchanged files
+        reloader.reloadIfModified();
+
+        // Then
+        assertEquals(version, SynonymMaps.current(SynonymMaps.PROVINCE).number());
+        verifyNoInteractions(festivalIndexService);
+
+        // When: one file changed
+        Path province = directory.resolve(SynonymMaps.PROVINCE + ".txt");
+        Files.writeString(province, bundled(SynonymMaps.PROVINCE) + "수원 => 수원, 수원시\n");
+        Files.setLastModifiedTime(province, FileTime.fromMillis(Files.getLastModifiedTime(province).toMillis() + 5000));
+        reloader.reloadIfModified();
+
+        // Then
+        assertEquals(version + 1, SynonymMaps.current(SynonymMaps.PROVINCE).number());
+        verify(festivalIndexService).reindexAsync();
+
+        // When: an invalid file keeps the previous map
+        Files.writeString(province, "수원 => \n");
+        Files.setLastModifiedTime(province, FileTime.fromMillis(Files.getLastModifiedTime(province).toMillis() + 10000));
+        reloader.reloadIfModified();
+
+        // Then
+        assertEquals(version + 1, SynonymMaps.current(SynonymMaps.PROVINCE).number());
+        verify(festivalIndexService, times(1)).reindexAsync();
+    }
+
+    private static List<String> terms(Tokenizer tokenizer, TokenStream stream, String text) throws IOException {
+        CharTermAttribute term = stream.getAttribute(CharTermAttribute.class);
+        tokenizer.setReader(new StringReader(text));
+        stream.reset();
+        List<String> terms = new ArrayList<>();
+        while (stream.incrementToken()) {
+            terms.add(term.toString());
+        }
+        stream.end();
+        stream.close();
+        return terms;
+    }
+
+    private static String bundled(String name) throws IOException {
+        try (InputStream in = SynonymMapsTest.class.getClassLoader().getResourceAsStream("lucene/" + name + ".txt")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package csw.korea.festival.main.config.lucene;
+
+import csw.korea.festival.main.festival.model.FestivalCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic festivals for the search benchmarks and reports: Korean and English names and summaries,
+ * a category, and an address whose parts (province, city, town, street) follow the place.
+ * The same seed always generates the same festivals.
+ *
+ * <p>
+ * Shared by {@link FestivalCorpus} (analyzer settings), {@link AddressSearchBenchmark} (address clause) and
+ * the search profile harness, so they all measure the same kind of data.
+ * </p>
+ */
+public final class SyntheticFestivals {
+
+    /**
+     * @param ord     Position in the generated list.
+     * @param place   Where the festival is held.
+     * @param theme   What the festival is about, and its category.
+     * @param town    Town (동) of the address.
+     * @param street  Street and building number of the address.
+     */
+    public record Festival(int ord, Place place, Theme theme, String name, String summary, String nameEn,
+                           String summaryEn, String town, String street) {
+
+        public String address() {
+            return place.province() + " " + place.city() + " " + town + " " + street;
+        }
+
+        /**
+         * @return The English and Korean category display names, as indexed from the categories.
+         */
+        public String categoryDisplayNames() {
+            return theme.category().getDisplayNameEn() + " " + theme.category().getDisplayNameKo();
+        }
+    }
+
+    public record Place(String name, String nameEn, String province, String city) {
+    }
+
+    public record Theme(String name, String nameEn, FestivalCategory category) {
+    }
+
+    private static final Place[] PLACES = {
+            new Place("서울", "Seoul", "서울특별시", "중구"),
+            new Place("종로", "Jongno", "서울특별시", "종로구"),
+            new Place("부산", "Busan", "부산광역시", "동구"),
+            new Place("해운대", "Haeundae", "부산광역시", "해운대구"),
+            new Place("인천", "Incheon", "인천광역시", "서구"),
+            new Place("유성", "Yuseong", "대전광역시", "유성구"),
+            new Place("울산", "Ulsan", "울산광역시", "남구"),
+            new Place("수원", "Suwon", "경기도", "수원시"),
+            new Place("강릉", "Gangneung", "강원특별자치도", "강릉시"),
+            new Place("춘천", "Chuncheon", "강원특별자치도", "춘천시"),
+            new Place("평창", "Pyeongchang", "강원특별자치도", "평창군"),
+            new Place("보령", "Boryeong", "충청남도", "보령시"),
+            new Place("공주", "Gongju", "충청남도", "공주시"),
+            new Place("전주", "Jeonju", "전북특별자치도", "전주시"),
+            new Place("남원", "Namwon", "전북특별자치도", "남원시"),
+            new Place("여수", "Yeosu", "전라남도", "여수시"),
+            new Place("담양", "Damyang", "전라남도", "담양군"),
+            new Place("경주", "Gyeongju", "경상북도", "경주시"),
+            new Place("안동", "Andong", "경상북도", "안동시"),
+            new Place("통영", "Tongyeong", "경상남도", "통영시"),
+            new Place("진해", "Jinhae", "경상남도", "창원시"),
+            new Place("하동", "Hadong", "경상남도", "하동군"),
+            new Place("제주", "Jeju", "제주특별자치도", "제주시"),
+    };
+    private static final Theme[] THEMES = {
+            new Theme("벚꽃", "Cherry Blossom", FestivalCategory.SEASONAL_HOLIDAY),
+            new Theme("불꽃", "Fireworks", FestivalCategory.SEASONAL_HOLIDAY),
+            new Theme("단풍", "Autumn Leaves", FestivalCategory.SEASONAL_HOLIDAY),
+            new Theme("눈꽃", "Snow", FestivalCategory.SEASONAL_HOLIDAY),
+            new Theme("머드", "Mud", FestivalCategory.SPORTS_RECREATION),
+            new Theme("바다", "Ocean", FestivalCategory.SPORTS_RECREATION),
+            new Theme("재즈", "Jazz", FestivalCategory.MUSIC_PERFORMING_ARTS),
+            new Theme("국악", "Gugak", FestivalCategory.MUSIC_PERFORMING_ARTS),
+            new Theme("한지", "Hanji", FestivalCategory.CULTURAL_HERITAGE),
+            new Theme("탈춤", "Mask Dance", FestivalCategory.CULTURAL_HERITAGE),
+            new Theme("연등", "Lantern", FestivalCategory.CULTURAL_HERITAGE),
+            new Theme("음식", "Food", FestivalCategory.FOOD_CULINARY),
+            new Theme("김치", "Kimchi", FestivalCategory.FOOD_CULINARY),
+            new Theme("막걸리", "Makgeolli", FestivalCategory.FOOD_CULINARY),
+            new Theme("녹차", "Green Tea", FestivalCategory.FOOD_CULINARY),
+            new Theme("빛", "Light", FestivalCategory.VISUAL_ARTS_EXHIBITIONS),
+            new Theme("별빛", "Starlight", FestivalCategory.VISUAL_ARTS_EXHIBITIONS),
+            new Theme("로봇", "Robot", FestivalCategory.TECHNOLOGY_INNOVATION),
+            new Theme("나비", "Butterfly", FestivalCategory.FAMILY_CHILDREN),
+            new Theme("전통시장", "Traditional Market", FestivalCategory.COMMUNITY_SOCIAL),
+    };
+    private static final String[] KINDS = {"축제", "페스티벌", "문화제", "한마당", "대축제"};
+    private static final String[] KINDS_EN = {"Festival", "Festival", "Cultural Festival", "Fair", "Grand Festival"};
+    private static final String[] ROADS = {"중앙로", "세종대로", "정조로", "해변로", "충장로", "문화로", "축제길",
+            "강변로", "시청로", "역전로", "공원로", "호수로", "대학로", "산업로", "해안로", "광장로"};
+    private static final String[] SENTENCES = {
+            "%s에서 열리는 %s 행사로 가족 단위 관광객에게 인기가 많습니다.",
+            "<p>올해로 %d회를 맞이한 이 축제는 다양한 체험 프로그램과 공연을 선보입니다.</p>",
+            "지역 특산물 판매와 먹거리 장터가 함께 운영되며 야간에는 불꽃놀이가 펼쳐집니다.",
+            "%s의 아름다운 풍경 속에서 %s을(를) 즐길 수 있는 대표적인 봄 행사입니다.",
+            "어린이를 위한 만들기 체험, 전통 놀이, 버스킹 공연이 준비되어 있습니다.",
+            "주차 공간이 협소하므로 대중교통 이용을 권장합니다.",
+    };
+    private static final String[] SENTENCES_EN = {
+            "A %s event held in %s, popular with families and visitors of all ages.",
+            "<p>Now in its %dth year, the festival features hands-on programs and live performances.</p>",
+            "Local specialty markets and food stalls run throughout, with fireworks every night.",
+            "Enjoy %s among the beautiful scenery of %s, one of the region's signature spring events.",
+            "Crafts for children, traditional games and busking performances are prepared.",
+            "Parking is limited, so public transportation is recommended.",
+    };
+
+    private SyntheticFestivals() {
+    }
+
+    public static List<Festival> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Festival> festivals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Place place = PLACES[random.nextInt(PLACES.length)];
+            // Summaries also mention another place, which a search for that place should rank lower
+            Place nearby = PLACES[random.nextInt(PLACES.length)];
+            Theme theme = THEMES[random.nextInt(THEMES.length)];
+            int kind = random.nextInt(KINDS.length);
+            int edition = random.nextInt(40) + 1;
+
+            StringBuilder summary = new StringBuilder();
+            StringBuilder summaryEn = new StringBuilder();
+            int sentences = 2 + random.nextInt(4);
+            for (int s = 0; s < sentences; s++) {
+                int sentence = random.nextInt(SENTENCES.length);
+                summary.append(format(SENTENCES[sentence], place.name(), theme.name(), edition)).append(' ');
+                summaryEn.append(format(SENTENCES_EN[sentence], theme.nameEn(), place.nameEn(), edition)).append(' ');
+            }
+            summary.append(nearby.name()).append("에서 차로 한 시간 거리입니다.");
+            summaryEn.append("An hour's drive from ").append(nearby.nameEn()).append('.');
+
+            String road = ROADS[random.nextInt(ROADS.length)];
+            String street = (random.nextBoolean() ? road + (random.nextInt(60) + 1) + "길 " : road + " ")
+                    + (random.nextInt(999) + 1);
+            festivals.add(new Festival(i, place, theme,
+                    "제" + edition + "회 " + place.name() + " " + theme.name() + KINDS[kind],
+                    summary.toString(),
+                    "The " + edition + "th " + place.nameEn() + " " + theme.nameEn() + " " + KINDS_EN[kind],
+                    summaryEn.toString(),
+                    place.name() + (random.nextInt(5) + 1) + "동",
+                    street));
+        }
+        return festivals;
+    }
+
+    private static String format(String sentence, String first, String second, int edition) {
+        if (sentence.contains("%d")) {
+            return String.format(sentence, edition);
+        }
+        return sentence.contains("%s") ? String.format(sentence, first, second) : sentence;
+    }
+}
@@ -0,0 +1,58 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.festival.model.SearchIndexMarker;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FestivalIndexServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 10, 1, 12, 0);
+    private static final String SYNONYMS = "a1b2";
+
+    @Test
+    public void testCatchesUpFromCurrentMarker() {
+        SearchIndexMarker marker = new SearchIndexMarker(FestivalIndexService.INDEX_NAME,
+                FestivalIndexService.MAPPING_VERSION, SYNONYMS, NOW, NOW);
+
+        assertFalse(FestivalIndexService.needsRebuild(marker, 1200, 1250, SYNONYMS));
+        // Nothing indexed and nothing to index
+        assertFalse(FestivalIndexService.needsRebuild(marker, 0, 0, SYNONYMS));
+    }
+
+    @Test
+    public void testRebuildsWithoutMarker() {
+        assertTrue(FestivalIndexService.needsRebuild(null, 1200, 1200, SYNONYMS));
+    }
+
+    @Test
+    public void testRebuildsWhenMappingChanged() {
+        SearchIndexMarker marker = new SearchIndexMarker(FestivalIndexService.INDEX_NAME,
+                FestivalIndexService.MAPPING_VERSION - 1, SYNONYMS, NOW, NOW);
+
+        assertTrue(FestivalIndexService.needsRebuild(marker, 1200, 1200, SYNONYMS));
+    }
+
+    @Test
+    public void testRebuildsWhenIndexDirectoryWasLost() {
+        SearchIndexMarker marker = new SearchIndexMarker(FestivalIndexService.INDEX_NAME,
+                FestivalIndexService.MAPPING_VERSION, SYNONYMS, NOW, NOW);
+
+        assertTrue(FestivalIndexService.needsRebuild(marker, 0, 1200, SYNONYMS));
+    }
+
+    @Test
+    public void testRebuildsWhenSynonymsChanged() {
+        SearchIndexMarker marker = new SearchIndexMarker(FestivalIndexService.INDEX_NAME,
+                FestivalIndexService.MAPPING_VERSION, SYNONYMS, NOW, NOW);
+        // Written before the synonyms were recorded
+        SearchIndexMarker unknown = new SearchIndexMarker(FestivalIndexService.INDEX_NAME,
+                FestivalIndexService.MAPPING_VERSION, null, NOW, NOW);
+
+        assertTrue(FestivalIndexService.needsRebuild(marker, 1200, 1200, "c3d4"));
+        assertTrue(FestivalIndexService.needsRebuild(unknown, 1200, 1200, SYNONYMS));
+    }
+}
@@ -0,0 +1,160 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.FestivalCategory;
+import csw.korea.festival.main.festival.model.FestivalDTO;
+import csw.korea.festival.main.festival.repository.FestivalRepository;
+import csw.korea.festival.main.translation.FestivalEnrichment;
+import csw.korea.festival.main.translation.FestivalEnrichmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FestivalProcessingServiceTest {
+
+    private FestivalProcessingService festivalProcessingService;
+
+    @Mock
+    private FestivalRepository festivalRepository;
+
+    @Mock
+    private FestivalEnrichmentService festivalEnrichmentService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        festivalProcessingService = new FestivalProcessingService(festivalRepository, festivalEnrichmentService);
+
+        when(festivalEnrichmentService.enrichAll(anyList())).thenAnswer(invocation -> {
+            List<FestivalEnrichment.Source> sources = invocation.getArgument(0);
+            return sources.stream()
+                    .map(source -> new FestivalEnrichment("en:" + source.name(), "en:" + source.summary(), List.of(FestivalCategory.OTHER)))
+                    .toList();
+        });
+    }
+
+    private static FestivalDTO dto(String festivalId, String summary) {
+        FestivalDTO dto = new FestivalDTO();
+        dto.setFestivalId(festivalId);
+        dto.setName("축제 " + festivalId);
+        dto.setSummary(summary);
+        dto.setStartDate("2024.10.01");
+        dto.setEndDate("2024.10.31");
+        dto.setAddress("서울특별시 용산구 이태원로 1");
+        dto.setLatitude(37.53);
+        dto.setLongitude(126.98);
+        return dto;
+    }
+
+    private static Festival stored(long id, FestivalDTO dto, LocalDateTime lastUpdated) {
+        Festival festival = new Festival();
+        festival.setId(id);
+        festival.setFestivalId(dto.getFestivalId());
+        festival.setContentHash(dto.contentHash());
+        festival.setLastUpdated(lastUpdated);
+        return festival;
+    }
+
+    @Test
+    public void testContentHash() {
+        assertEquals(dto("1", "여름 축제").contentHash(), dto("1", "여름 축제").contentHash());
+        assertNotEquals(dto("1", "여름 축제").contentHash(), dto("1", "가을 축제").contentHash());
+    }
+
+    @Test
+    public void testOnlyNewAndChangedFestivalsAreProcessed() {
+        // Given
+        LocalDateTime longAgo = LocalDateTime.now().minusMonths(2);
+        FestivalDTO unchanged = dto("1", "여름 축제");
+        FestivalDTO changed = dto("2", "새로운 내용");
+        FestivalDTO added = dto("3", "처음 열리는 축제");
+        when(festivalRepository.findByFestivalIdIn(anySet())).thenReturn(List.of(
+                stored(10, unchanged, longAgo),
+                stored(20, dto("2", "예전 내용"), longAgo)));
+
+        // When
+        List<Festival> processed = festivalProcessingService.processFestivals(
+                List.of(unchanged, changed, added), LocalDateTime.now().minusWeeks(3));
+
+        // Then
+        assertEquals(2, processed.size());
+        Festival changedFestival = processed.stream().filter(f -> f.getFestivalId().equals("2")).findFirst().orElseThrow();
+        assertEquals(20L, changedFestival.getId());
+        assertEquals("en:새로운 내용", changedFestival.getSummaryEn());
+        assertTrue(processed.stream().anyMatch(f -> f.getFestivalId().equals("3") && f.getId() == null));
+
+        assertEquals(Set.of(FestivalCategory.OTHER), changedFestival.getCategories());
+        verify(festivalEnrichmentService).enrichAll(List.of(
+                new FestivalEnrichment.Source("축제 2", "새로운 내용"),
+                new FestivalEnrichment.Source("축제 3", "처음 열리는 축제")));
+        verify(festivalRepository).updateLastUpdatedByFestivalIdIn(eq(List.of("1")), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testRowsWithoutHashFallBackToFreshness() {
+        // Given
+        FestivalDTO fresh = dto("1", "여름 축제");
+        FestivalDTO outdated = dto("2", "가을 축제");
+        Festival freshRow = stored(10, fresh, LocalDateTime.now());
+        Festival outdatedRow = stored(20, outdated, LocalDateTime.now().minusMonths(2));
+        freshRow.setContentHash(null);
+        outdatedRow.setContentHash(null);
+        when(festivalRepository.findByFestivalIdIn(anySet())).thenReturn(List.of(freshRow, outdatedRow));
+
+        // When
+        List<Festival> processed = festivalProcessingService.processFestivals(
+                List.of(fresh, outdated), LocalDateTime.now().minusWeeks(3));
+
+        // Then
+        assertEquals(1, processed.size());
+        assertEquals(20L, processed.getFirst().getId());
+        assertEquals(outdated.contentHash(), processed.getFirst().getContentHash());
+        verify(festivalRepository, never()).updateLastUpdatedByFestivalIdIn(anyCollection(), any());
+    }
+
+    @Test
+    public void testFallbackEnrichmentIsSavedWithoutHash() {
+        // Given: the summary translation failed and came back as the Korean original
+        FestivalDTO translated = dto("1", "여름 축제");
+        FestivalDTO untranslated = dto("2", "가을 축제");
+        when(festivalRepository.findByFestivalIdIn(anySet())).thenReturn(List.of());
+        when(festivalEnrichmentService.enrichAll(anyList())).thenReturn(List.of(
+                new FestivalEnrichment("Summer Festival 1", "Summer festival", List.of(FestivalCategory.OTHER)),
+                new FestivalEnrichment("Festival 2", "가을 축제", List.of(FestivalCategory.OTHER), false, true)));
+
+        // When
+        List<Festival> processed = festivalProcessingService.processFestivals(
+                List.of(translated, untranslated), LocalDateTime.now().minusWeeks(3));
+
+        // Then
+        assertEquals(translated.contentHash(), processed.get(0).getContentHash());
+        assertNull(processed.get(1).getContentHash());
+        assertEquals("가을 축제", processed.get(1).getSummaryEn());
+    }
+
+    @Test
+    public void testTranslationEqualToOriginalIsSavedWithHash() {
+        // Given: an English name the model answers unchanged
+        FestivalDTO english = dto("1", "비무장지대 평화 축제");
+        english.setName("DMZ OPEN");
+        when(festivalRepository.findByFestivalIdIn(anySet())).thenReturn(List.of());
+        when(festivalEnrichmentService.enrichAll(anyList())).thenReturn(List.of(
+                new FestivalEnrichment("DMZ OPEN", "DMZ peace festival", List.of(FestivalCategory.CULTURAL_HERITAGE))));
+
+        // When
+        List<Festival> processed = festivalProcessingService.processFestivals(
+                List.of(english), LocalDateTime.now().minusWeeks(3));
+
+        // Then
+        assertEquals(english.contentHash(), processed.getFirst().getContentHash());
+        assertEquals("DMZ OPEN", processed.getFirst().getNameEn());
+    }
+}
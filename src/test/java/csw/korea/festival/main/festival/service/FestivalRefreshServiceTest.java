@@ -0,0 +1,143 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.FestivalDTO;
+import csw.korea.festival.main.festival.repository.FestivalRepository;
+import csw.korea.festival.main.festival.snapshot.FestivalSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FestivalRefreshServiceTest {
+
+    private FestivalRefreshService festivalRefreshService;
+
+    @Mock
+    private FestivalRepository festivalRepository;
+
+    @Mock
+    private FestivalFetchingService festivalFetchingService;
+
+    @Mock
+    private FestivalProcessingService festivalProcessingService;
+
+    @Mock
+    private FestivalSnapshotService festivalSnapshotService;
+
+    @Mock
+    private FestivalIndexService festivalIndexService;
+
+    @Mock
+    private FestivalSearchCache festivalSearchCache;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        festivalRefreshService = new FestivalRefreshService(festivalRepository, festivalFetchingService,
+                festivalProcessingService, festivalSnapshotService, festivalIndexService,
+                festivalSearchCache, task -> new Thread(task).start(), 600000, 2);
+
+        when(festivalSnapshotService.current()).thenReturn(FestivalSnapshot.EMPTY);
+        when(festivalFetchingService.streamFestivalsInKorean()).thenReturn(Flux.defer(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return Flux.error(e);
+            }
+            return Flux.empty();
+        }));
+        when(festivalFetchingService.isNotExpired(any(), any())).thenReturn(true);
+        when(festivalProcessingService.processFestivals(anyList(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneRefresh() throws Exception {
+        // When
+        CompletableFuture<Integer> first = festivalRefreshService.refreshAsync();
+        CompletableFuture<Integer> second = festivalRefreshService.refreshAsync();
+        boolean triggered = festivalRefreshService.refreshIfStale(LocalDateTime.now());
+
+        // Then
+        assertSame(first, second);
+        assertTrue(triggered);
+        assertTrue(festivalRefreshService.isRefreshing());
+
+        release.countDown();
+        assertEquals(0, first.get(5, TimeUnit.SECONDS));
+        assertFalse(festivalRefreshService.isRefreshing());
+        verify(festivalFetchingService, times(1)).streamFestivalsInKorean();
+        verify(festivalSnapshotService, times(1)).rebuild();
+        assertEquals(1, festivalRefreshService.status().completedCount());
+    }
+
+    @Test
+    public void testStaleTriggerRespectsMinimumInterval() throws Exception {
+        // Given
+        release.countDown();
+        assertTrue(festivalRefreshService.refreshIfStale(LocalDateTime.now()));
+        // Wait for that refresh; refreshAsync() here would start a second one if it already finished
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (festivalRefreshService.isRefreshing() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(festivalRefreshService.isRefreshing());
+
+        // When
+        boolean triggeredAgain = festivalRefreshService.refreshIfStale(LocalDateTime.now());
+
+        // Then
+        assertFalse(triggeredAgain);
+        verify(festivalFetchingService, times(1)).streamFestivalsInKorean();
+    }
+
+    @Test
+    public void testFailureIsRecordedAndNextRefreshCanStart() {
+        // Given
+        release.countDown();
+        when(festivalFetchingService.streamFestivalsInKorean()).thenReturn(Flux.error(new IllegalStateException("API down")));
+
+        // When
+        CompletableFuture<Integer> failed = festivalRefreshService.refreshAsync();
+
+        // Then
+        assertThrows(Exception.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertEquals("API down", festivalRefreshService.status().lastError());
+        assertNotSame(failed, festivalRefreshService.refreshAsync());
+    }
+
+    @Test
+    public void testFeedIsProcessedAndPublishedInBatches() throws Exception {
+        // Given
+        release.countDown();
+        List<FestivalDTO> feed = List.of(new FestivalDTO(), new FestivalDTO(), new FestivalDTO());
+        when(festivalFetchingService.streamFestivalsInKorean()).thenReturn(Flux.fromIterable(feed));
+        when(festivalProcessingService.processFestivals(anyList(), any())).thenAnswer(invocation -> {
+            List<FestivalDTO> batch = invocation.getArgument(0);
+            return batch.stream().map(dto -> new Festival()).toList();
+        });
+        when(festivalRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        int saved = festivalRefreshService.refreshAsync().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(3, saved);
+        verify(festivalProcessingService).processFestivals(eq(feed.subList(0, 2)), any());
+        verify(festivalProcessingService).processFestivals(eq(feed.subList(2, 3)), any());
+        verify(festivalSnapshotService, times(2)).upsert(anyList());
+        verify(festivalSnapshotService, times(1)).rebuild();
+    }
+}
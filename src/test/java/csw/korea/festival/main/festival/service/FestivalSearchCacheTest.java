@@ -0,0 +1,140 @@
+package csw.korea.festival.main.festival.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FestivalSearchCacheTest {
+
+    private final AtomicLong generation = new AtomicLong(1);
+    private final AtomicInteger searches = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private FestivalSearchCache searchCache;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchCache = new FestivalSearchCache(generation::get, meterRegistry, 100, Duration.ofHours(1), Duration.ZERO);
+    }
+
+    @Test
+    public void testSameSearchIsServedFromCache() {
+        // When
+        String first = search("page", "수원  세화 ", 0);
+        String second = search("page", "수원 세화", 0);
+        String otherPage = search("page", "수원 세화", 1);
+
+        // Then
+        assertSame(first, second);
+        assertNotEquals(first, otherPage);
+        assertEquals(2, searches.get());
+        assertEquals(1, meterRegistry.get("festival.search.requests")
+                .tags("shape", "page", "profile", "default", "terms", "2", "cache", "hit").timer().count());
+        assertEquals(2, meterRegistry.get("festival.search.requests")
+                .tags("shape", "page", "profile", "default", "terms", "2", "cache", "miss").timer().count());
+    }
+
+    @Test
+    public void testNewIndexGenerationDropsCachedResults() {
+        // Given
+        search("page", "축제", 0);
+        assertEquals(1, searchCache.size());
+
+        // When
+        generation.incrementAndGet();
+        search("page", "축제", 0);
+
+        // Then
+        assertEquals(2, searches.get());
+        assertEquals(1, searchCache.size());
+        assertEquals(1.0, meterRegistry.get("festival.search.cache.invalidations").counter().count());
+    }
+
+    @Test
+    public void testSearchRunsUncachedWhenGenerationIsUnavailable() {
+        // Given
+        FestivalSearchCache broken = new FestivalSearchCache(() -> {
+            throw new IllegalStateException("index not ready");
+        }, meterRegistry, 100, Duration.ofHours(1), Duration.ZERO);
+
+        // When
+        broken.get("page", "default", "축제", List.of(0), () -> "a");
+        String result = broken.get("page", "default", "축제", List.of(0), () -> "b");
+
+        // Then
+        assertEquals("b", result);
+        assertEquals(0, broken.size());
+    }
+
+    @Test
+    public void testGenerationIsReadOncePerIntervalUnlessIndexChanged() {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+        FestivalSearchCache memoized = new FestivalSearchCache(() -> {
+            reads.incrementAndGet();
+            return generation.get();
+        }, meterRegistry, 100, Duration.ofHours(1), Duration.ofHours(1));
+        memoized.get("page", "default", "축제", List.of(0), () -> "a");
+
+        // When: the index changes, unreported and then reported
+        generation.incrementAndGet();
+        String unreported = memoized.get("page", "default", "축제", List.of(0), () -> "b");
+        memoized.indexChanged();
+        String reported = memoized.get("page", "default", "축제", List.of(0), () -> "c");
+
+        // Then
+        assertEquals("a", unreported);
+        assertEquals("c", reported);
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testReaderVersionGrowsWithIndexWrites() throws Exception {
+        try (ByteBuffersDirectory directory = new ByteBuffersDirectory();
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            // Given
+            writer.addDocument(document("1"));
+            long before;
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                before = FestivalSearchCache.version(reader);
+            }
+
+            // When
+            writer.addDocument(document("2"));
+
+            // Then: also through a composite reader, as opened by Hibernate Search
+            try (DirectoryReader reader = DirectoryReader.open(writer);
+                 MultiReader multiReader = new MultiReader(new DirectoryReader[]{reader}, false)) {
+                assertTrue(FestivalSearchCache.version(reader) > before);
+                assertEquals(FestivalSearchCache.version(reader), FestivalSearchCache.version(multiReader));
+            }
+        }
+    }
+
+    private String search(String shape, String query, int page) {
+        return searchCache.get(shape, "default", FestivalSearchCache.normalize(query), List.of(page),
+                () -> query + "#" + page + "#" + searches.incrementAndGet());
+    }
+
+    private static Document document(String id) {
+        Document document = new Document();
+        document.add(new StringField("id", id, Field.Store.NO));
+        return document;
+    }
+}
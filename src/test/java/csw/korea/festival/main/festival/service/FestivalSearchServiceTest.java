@@ -0,0 +1,59 @@
+package csw.korea.festival.main.festival.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FestivalSearchServiceTest {
+
+    @Test
+    public void testRadiusStaysSmallestWhenPageIsFilled() {
+        double[] distances = {0.4, 1.2, 3.9, 4.99, 7.0, 20.0};
+
+        assertEquals(5.0, FestivalSearchService.chooseRadius(distances, 4));
+        assertEquals(5.0, FestivalSearchService.chooseRadius(distances, 0));
+    }
+
+    @Test
+    public void testRadiusWidensUntilPageIsFilled() {
+        double[] distances = {2.0, 7.0, 14.0, 15.0, 32.0};
+
+        // A page of 4: four hits within 15 km
+        assertEquals(15.0, FestivalSearchService.chooseRadius(distances, 4));
+        assertEquals(50.0, FestivalSearchService.chooseRadius(distances, 5));
+    }
+
+    @Test
+    public void testWidestRadiusWhenTooFewHits() {
+        assertEquals(50.0, FestivalSearchService.chooseRadius(new double[]{48.0}, 10));
+        assertEquals(50.0, FestivalSearchService.chooseRadius(new double[0], 10));
+    }
+
+    @Test
+    public void testEveryPageSharesRadiusAndTotal() {
+        // Twelve hits within 5 km, then farther ones
+        double[] distances = {0.1, 0.5, 0.9, 1.3, 1.8, 2.2, 2.6, 3.1, 3.5, 4.0, 4.4, 4.8, 9.0, 12.0, 30.0};
+
+        FestivalSearchService.NearbyWindow first = FestivalSearchService.NearbyWindow.of(distances, 15, 0, 10);
+        FestivalSearchService.NearbyWindow second = FestivalSearchService.NearbyWindow.of(distances, 15, 1, 10);
+
+        assertEquals(5.0, first.radiusKm());
+        assertEquals(first.radiusKm(), second.radiusKm());
+        assertEquals(12, first.totalHits());
+        assertEquals(first.totalHits(), second.totalHits());
+        assertEquals(0, first.from());
+        assertEquals(10, first.to());
+        // The second page holds the rest of the hits within 5 km
+        assertEquals(10, second.from());
+        assertEquals(12, second.to());
+    }
+
+    @Test
+    public void testTotalHitsStopAtCandidatesRead() {
+        // Widest radius: every hit, but no further than the candidates that can be paged through
+        assertEquals(1000, FestivalSearchService.totalHits(5000, 1000, 1000, true));
+        assertEquals(12, FestivalSearchService.totalHits(12, 12, 12, true));
+        // Smaller radius: the hits within it
+        assertEquals(40, FestivalSearchService.totalHits(5000, 1000, 40, false));
+    }
+}
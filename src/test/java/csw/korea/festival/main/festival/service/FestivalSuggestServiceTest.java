@@ -0,0 +1,125 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.common.service.KoreaStationService;
+import csw.korea.festival.main.common.util.Korean;
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.Suggestion;
+import csw.korea.festival.main.festival.snapshot.FestivalSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FestivalSuggestServiceTest {
+
+    private FestivalSuggestService festivalSuggestService;
+
+    @Mock
+    private FestivalSnapshotService festivalSnapshotService;
+
+    @Mock
+    private KoreaStationService koreaStationService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(festivalSnapshotService.current()).thenReturn(FestivalSnapshot.build(List.of(
+                festival(1L, "수원화성문화제", "경기도", "수원시", LocalDate.now().plusDays(3)),
+                festival(2L, "수원 야행", "경기도", "수원시", LocalDate.now().plusDays(5)),
+                festival(3L, "서울 빛초롱 축제", "서울특별시", "종로구", LocalDate.now().plusDays(2)),
+                festival(4L, "수영 광안리 축제", "부산광역시", "수영구", LocalDate.now().minusDays(1))
+        ), LocalDateTime.now()));
+        when(koreaStationService.getStations()).thenReturn(List.of(
+                new KoreaStationService.Station("서울대입구(관악구청)", "서울대입구역", 37.4812, 126.9527),
+                new KoreaStationService.Station("수원", "수원역", 37.2657, 127.0000)
+        ));
+        festivalSuggestService = new FestivalSuggestService(festivalSnapshotService, koreaStationService);
+    }
+
+    @Test
+    public void testPrefixSuggestsFestivalsRegionsAndStationsByPopularity() {
+        // When
+        List<Suggestion> suggestions = festivalSuggestService.suggest("수원", 10);
+
+        // Then: the city has two ongoing festivals, the rest one each
+        assertEquals(new Suggestion("수원시", Suggestion.Type.CITY), suggestions.getFirst());
+        assertTrue(suggestions.contains(new Suggestion("수원화성문화제", Suggestion.Type.FESTIVAL)));
+        assertTrue(suggestions.contains(new Suggestion("수원 야행", Suggestion.Type.FESTIVAL)));
+        assertTrue(suggestions.contains(new Suggestion("수원역", Suggestion.Type.STATION)));
+        assertEquals(4, suggestions.size());
+    }
+
+    @Test
+    public void testEndedFestivalsAreNotSuggested() {
+        assertTrue(festivalSuggestService.suggest("수영", 10).isEmpty());
+    }
+
+    @Test
+    public void testSpacesAreIgnored() {
+        assertEquals(List.of(new Suggestion("서울 빛초롱 축제", Suggestion.Type.FESTIVAL)),
+                festivalSuggestService.suggest("서울빛 초", 10));
+    }
+
+    @Test
+    public void testInitialConsonantsMatch() {
+        // When
+        List<Suggestion> suggestions = festivalSuggestService.suggest("ㅅㅇㄷ", 10);
+
+        // Then
+        assertEquals(List.of(new Suggestion("서울대입구역", Suggestion.Type.STATION)), suggestions);
+        assertTrue(festivalSuggestService.suggest("ㄱㄱ", 10).contains(new Suggestion("경기도", Suggestion.Type.PROVINCE)));
+    }
+
+    @Test
+    public void testKeysTypedInQwertyModeMatch() {
+        // "tjdnfeo" when typed with the English layout
+        List<Suggestion> suggestions = festivalSuggestService.suggest(Korean.toQwerty("서울대"), 10);
+
+        assertTrue(suggestions.contains(new Suggestion("서울대입구역", Suggestion.Type.STATION)));
+    }
+
+    @Test
+    public void testSizeLimitsSuggestions() {
+        assertEquals(2, festivalSuggestService.suggest("수", 2).size());
+        assertTrue(festivalSuggestService.suggest("  ", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> festivalSuggestService.suggest("수", 0));
+    }
+
+    @Test
+    public void testRebuildsWhenTheSnapshotChanges() {
+        // Given
+        festivalSuggestService.suggest("수", 10);
+        when(festivalSnapshotService.current()).thenReturn(FestivalSnapshot.build(List.of(
+                festival(5L, "진해군항제", "경상남도", "창원시", LocalDate.now().plusDays(3))
+        ), LocalDateTime.now()));
+
+        // When
+        festivalSuggestService.refreshPeriodically();
+
+        // Then
+        assertEquals(List.of(new Suggestion("진해군항제", Suggestion.Type.FESTIVAL)),
+                festivalSuggestService.suggest("진해", 10));
+        assertEquals(List.of(new Suggestion("수원역", Suggestion.Type.STATION)),
+                festivalSuggestService.suggest("수원", 10));
+    }
+
+    private static Festival festival(Long id, String name, String province, String city, LocalDate endDate) {
+        Festival festival = new Festival();
+        festival.setId(id);
+        festival.setName(name);
+        festival.setProvince(province);
+        festival.setCity(city);
+        festival.setLatitude(37.0);
+        festival.setLongitude(127.0);
+        festival.setStartDate(LocalDate.now().minusDays(1));
+        festival.setEndDate(endDate);
+        return festival;
+    }
+}
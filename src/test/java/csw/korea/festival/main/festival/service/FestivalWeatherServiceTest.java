@@ -0,0 +1,189 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.common.dto.KWeather;
+import csw.korea.festival.main.common.service.KakaoAPIService;
+import csw.korea.festival.main.common.util.GeoGrid;
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.snapshot.FestivalSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FestivalWeatherServiceTest {
+
+    private FestivalWeatherService festivalWeatherService;
+
+    @Mock
+    private KakaoAPIService kakaoAPIService;
+
+    @Mock
+    private FestivalSnapshotService festivalSnapshotService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        festivalWeatherService = service(0, 3_600_000);
+        when(kakaoAPIService.fetchWeatherForCell(anyLong())).thenAnswer(invocation -> weather(invocation.<Long>getArgument(0)));
+        when(kakaoAPIService.getWeatherForCell(anyLong())).thenAnswer(invocation -> weather(invocation.<Long>getArgument(0)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        festivalWeatherService.close();
+    }
+
+    @Test
+    public void testRefreshFetchesEachActiveCellOnceAndPagesReadFromMemory() throws Exception {
+        // Given: two festivals ~50 m apart in Seoul, one in Busan and one that has ended
+        Festival seoul = festival(1L, 37.5665, 126.9780, LocalDate.now().plusDays(3));
+        Festival nearSeoul = festival(2L, 37.5669, 126.9782, LocalDate.now().plusDays(3));
+        Festival busan = festival(3L, 35.1796, 129.0756, LocalDate.now().plusDays(3));
+        Festival ended = festival(4L, 33.4996, 126.5312, LocalDate.now().minusDays(1));
+        when(festivalSnapshotService.current()).thenReturn(
+                FestivalSnapshot.build(List.of(seoul, nearSeoul, busan, ended), LocalDateTime.now()));
+
+        // When
+        int refreshed = festivalWeatherService.refresh();
+        List<KWeather.WeatherRequest> weathers = festivalWeatherService.getWeather(List.of(seoul, nearSeoul, busan));
+
+        // Then
+        assertEquals(2, refreshed);
+        verify(kakaoAPIService, times(2)).fetchWeatherForCell(anyLong());
+        verify(kakaoAPIService, never()).getWeatherForCell(anyLong());
+        assertSame(weathers.get(0), weathers.get(1));
+        assertNotNull(weathers.get(2));
+        assertNotEquals(weathers.get(0), weathers.get(2));
+    }
+
+    @Test
+    public void testUnknownCellIsFetchedOnceInBackground() throws Exception {
+        // Given: two festivals in the same grid cell, and no time to wait for the weather API
+        when(kakaoAPIService.getWeatherForCell(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return weather(invocation.<Long>getArgument(0));
+        });
+        Festival festival = festival(1L, 37.5665, 126.9780, LocalDate.now().plusDays(3));
+        Festival nearby = festival(2L, 37.5669, 126.9782, LocalDate.now().plusDays(3));
+
+        // When
+        List<KWeather.WeatherRequest> weathers = festivalWeatherService.getWeather(List.of(festival, nearby));
+
+        // Then: the request is answered without weather, which is fetched once for later requests
+        assertNull(weathers.get(0));
+        assertNull(weathers.get(1));
+        verify(kakaoAPIService, timeout(5000)).getWeatherForCell(GeoGrid.cellOf(37.5665, 126.9780));
+        for (int i = 0; i < 50 && festivalWeatherService.getWeather(37.5665, 126.9780) == null; i++) {
+            Thread.sleep(100);
+        }
+        assertNotNull(festivalWeatherService.getWeather(List.of(festival)).getFirst());
+        verify(kakaoAPIService, times(1)).getWeatherForCell(anyLong());
+        verify(kakaoAPIService, never()).fetchWeatherForCell(anyLong());
+    }
+
+    @Test
+    public void testRequestWaitsForUnknownCellUntilTheDeadline() throws Exception {
+        // Given
+        useService(service(2_000, 3_600_000));
+        when(kakaoAPIService.getWeatherForCell(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return weather(invocation.<Long>getArgument(0));
+        });
+        Festival festival = festival(1L, 37.5665, 126.9780, LocalDate.now().plusDays(3));
+        WeatherCoverage coverage = new WeatherCoverage();
+
+        // When
+        List<KWeather.WeatherRequest> weathers = festivalWeatherService.getWeather(List.of(festival), coverage);
+
+        // Then
+        assertNotNull(weathers.getFirst());
+        assertEquals(1, coverage.fresh());
+        assertFalse(coverage.isPartial());
+    }
+
+    @Test
+    public void testSlowFetchIsReportedMissingAndKeptForLaterRequests() throws Exception {
+        // Given
+        useService(service(50, 3_600_000));
+        when(kakaoAPIService.getWeatherForCell(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return weather(invocation.<Long>getArgument(0));
+        });
+        Festival festival = festival(1L, 37.5665, 126.9780, LocalDate.now().plusDays(3));
+        Festival noLocation = festival(2L, 0, 0, LocalDate.now().plusDays(3));
+        noLocation.setLatitude(null);
+        WeatherCoverage coverage = new WeatherCoverage();
+
+        // When
+        long start = System.nanoTime();
+        List<KWeather.WeatherRequest> weathers = festivalWeatherService.getWeather(List.of(festival, noLocation), coverage);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertNull(weathers.get(0));
+        assertNull(weathers.get(1));
+        assertTrue(elapsedMs < 400, "waited " + elapsedMs + " ms");
+        assertEquals(2, coverage.missing());
+        assertTrue(coverage.isPartial());
+        for (int i = 0; i < 50 && festivalWeatherService.getWeather(37.5665, 126.9780) == null; i++) {
+            Thread.sleep(100);
+        }
+        assertNotNull(festivalWeatherService.getWeather(37.5665, 126.9780));
+        verify(kakaoAPIService, times(1)).getWeatherForCell(anyLong());
+    }
+
+    @Test
+    public void testStaleWeatherIsServedAndReported() throws Exception {
+        // Given: weather considered stale as soon as it is fetched
+        useService(service(0, 0));
+        Festival festival = festival(1L, 35.1796, 129.0756, LocalDate.now().plusDays(3));
+        when(festivalSnapshotService.current()).thenReturn(
+                FestivalSnapshot.build(List.of(festival), LocalDateTime.now()));
+        festivalWeatherService.refresh();
+        Thread.sleep(5);
+        WeatherCoverage coverage = new WeatherCoverage();
+
+        // When
+        List<KWeather.WeatherRequest> weathers = festivalWeatherService.getWeather(List.of(festival), coverage);
+
+        // Then
+        assertNotNull(weathers.getFirst());
+        assertEquals(1, coverage.stale());
+        assertEquals(Boolean.TRUE, coverage.toExtension().get("partial"));
+    }
+
+    private FestivalWeatherService service(long deadlineMs, long staleAfterMs) {
+        return new FestivalWeatherService(kakaoAPIService, festivalSnapshotService, 4, deadlineMs, staleAfterMs);
+    }
+
+    private void useService(FestivalWeatherService service) {
+        festivalWeatherService.close();
+        festivalWeatherService = service;
+    }
+
+    private static Festival festival(Long id, double latitude, double longitude, LocalDate endDate) {
+        Festival festival = new Festival();
+        festival.setId(id);
+        festival.setName("Festival " + id);
+        festival.setLatitude(latitude);
+        festival.setLongitude(longitude);
+        festival.setStartDate(LocalDate.now().minusDays(1));
+        festival.setEndDate(endDate);
+        return festival;
+    }
+
+    private static KWeather.WeatherRequest weather(long cell) {
+        KWeather.WeatherRequest weather = new KWeather.WeatherRequest();
+        weather.setDesc("Clear " + GeoGrid.toString(cell));
+        weather.setTemperature("20");
+        return weather;
+    }
+}
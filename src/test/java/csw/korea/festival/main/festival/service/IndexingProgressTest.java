@@ -0,0 +1,62 @@
+package csw.korea.festival.main.festival.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexingProgressTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testRateAndEta() {
+        // Given
+        IndexingProgress progress = new IndexingProgress("reindex", clock::get);
+        progress.addToTotalCount(1000);
+
+        // When: 250 documents in 5 seconds
+        progress.entitiesLoaded(300);
+        progress.documentsAdded(250);
+        clock.set(TimeUnit.SECONDS.toNanos(5));
+
+        // Then
+        IndexingProgress.Status status = progress.status();
+        assertFalse(status.completed());
+        assertEquals(1000, status.totalDocuments());
+        assertEquals(300, status.entitiesLoaded());
+        assertEquals(250, status.documentsAdded());
+        assertEquals(50.0, status.documentsPerSecond());
+        assertEquals(15L, status.etaSeconds());
+    }
+
+    @Test
+    public void testEtaUnknownBeforeFirstDocument() {
+        IndexingProgress progress = new IndexingProgress("build", clock::get);
+        progress.addToTotalCount(1000);
+        clock.set(TimeUnit.SECONDS.toNanos(2));
+
+        assertNull(progress.status().etaSeconds());
+    }
+
+    @Test
+    public void testCompletedRunKeepsItsRate() {
+        // Given
+        IndexingProgress progress = new IndexingProgress("incremental", clock::get);
+        progress.addToTotalCount(100);
+        progress.documentsAdded(100);
+        clock.set(TimeUnit.SECONDS.toNanos(4));
+        progress.indexingCompleted();
+
+        // When: read later
+        clock.set(TimeUnit.SECONDS.toNanos(60));
+
+        // Then
+        IndexingProgress.Status status = progress.status();
+        assertTrue(status.completed());
+        assertEquals(25.0, status.documentsPerSecond());
+        assertEquals(0L, status.etaSeconds());
+    }
+}
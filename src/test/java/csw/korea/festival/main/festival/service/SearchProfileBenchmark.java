@@ -0,0 +1,68 @@
+package csw.korea.festival.main.festival.service;
+
+import org.apache.lucene.search.TopDocs;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of each bundled search profile ({@code lucene/search_profiles.json}) on a synthetic index of
+ * 20k festivals with the production analyzers, over the labelled queries of {@link SearchProfileCorpus}.
+ *
+ * <p>
+ * Not run by the tests. Run {@link #main} from the IDE after {@code mvn test-compile};
+ * sample-time mode reports the latency percentiles ({@code p0.99}). {@link SearchProfileReport} prints the
+ * recall of the same profiles, and of a candidate profiles file.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SearchProfileBenchmark {
+
+    private static final int FESTIVALS = 20_000;
+
+    @Param({"default", "nearby"})
+    public String profile;
+
+    private SearchProfileCorpus corpus;
+    private SearchProfile searchProfile;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        searchProfile = SearchProfileCorpus.profiles(new ClassPathResource("lucene/search_profiles.json")).get(profile);
+        if (searchProfile == null) {
+            throw new IllegalArgumentException("Unknown search profile: " + profile);
+        }
+        corpus = new SearchProfileCorpus(FESTIVALS, 42);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        corpus.close();
+    }
+
+    @Benchmark
+    public TopDocs search() throws IOException {
+        next = (next + 1) % SearchProfileCorpus.INTENTS.size();
+        String text = SearchProfileCorpus.INTENTS.get(next).text();
+        return corpus.searcher().search(corpus.query(searchProfile, text), 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SearchProfileBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
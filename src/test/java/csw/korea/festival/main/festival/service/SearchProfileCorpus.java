@@ -0,0 +1,226 @@
+package csw.korea.festival.main.festival.service;
+
+import csw.korea.festival.main.config.lucene.AddressAnalyzers;
+import csw.korea.festival.main.config.lucene.CustomKoreanAnalyzer;
+import csw.korea.festival.main.config.lucene.FestivalAnalyzers;
+import csw.korea.festival.main.config.lucene.SyntheticFestivals;
+import csw.korea.festival.main.config.lucene.SyntheticFestivals.Festival;
+import csw.korea.festival.main.festival.model.FestivalCategory;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.core.io.Resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory festival index with the production analyzers of every field a {@link SearchProfile} may use,
+ * {@link SyntheticFestivals}, and labelled queries, for measuring the recall and latency of search profiles
+ * without a database.
+ *
+ * <p>
+ * A profile is translated to the Lucene query Hibernate Search builds for it: per term and clause, a match
+ * (boolean query of the analyzed tokens) or phrase query on each field, optionally constant-scored, boosted,
+ * with the minimum-should-match percentage applied to the term clauses.
+ * </p>
+ */
+final class SearchProfileCorpus implements Closeable {
+
+    /**
+     * A labelled query: the festivals it should find.
+     */
+    record Intent(String text, Predicate<Festival> relevant) {
+    }
+
+    static final List<Intent> INTENTS = List.of(
+            // Places: the festival's own place, not the nearby place its summary mentions
+            new Intent("강릉", f -> f.place().name().equals("강릉")),
+            new Intent("해운대", f -> f.place().name().equals("해운대")),
+            new Intent("jeju", f -> f.place().name().equals("제주")),
+            new Intent("해운", f -> f.place().name().equals("해운대")),
+            // Themes and categories
+            new Intent("벚꽃 축제", f -> f.theme().name().equals("벚꽃")),
+            new Intent("mask dance", f -> f.theme().name().equals("탈춤")),
+            new Intent("음악", f -> f.theme().category() == FestivalCategory.MUSIC_PERFORMING_ARTS),
+            new Intent("food", f -> f.theme().category() == FestivalCategory.FOOD_CULINARY),
+            // Place and theme
+            new Intent("강릉 벚꽃", f -> f.place().name().equals("강릉") && f.theme().name().equals("벚꽃")),
+            new Intent("여수 불꽃 축제", f -> f.place().name().equals("여수") && f.theme().name().equals("불꽃")),
+            new Intent("gangneung cherry blossom",
+                    f -> f.place().name().equals("강릉") && f.theme().name().equals("벚꽃")),
+            new Intent("경상북도 탈춤", f -> f.place().province().equals("경상북도") && f.theme().name().equals("탈춤")),
+            // Address parts
+            new Intent("수원시 중앙로", f -> f.place().city().equals("수원시") && f.street().startsWith("중앙로")));
+
+    private static final Set<String> FIELDS = Set.of("name", "nameEn", "summary", "summaryEn",
+            "categoryDisplayNames", "addressNgram", "province", "city", "district", "town", "street");
+
+    private final List<Festival> festivals;
+    private final Map<String, Analyzer> searchAnalyzers;
+    private final ByteBuffersDirectory directory;
+    private final DirectoryReader reader;
+    private final IndexSearcher searcher;
+    private final Map<String, QueryBuilder> queryBuilders = new HashMap<>();
+
+    SearchProfileCorpus(int count, long seed) throws IOException {
+        festivals = SyntheticFestivals.generate(count, seed);
+
+        Analyzer korean = FestivalAnalyzers.korean();
+        Analyzer english = FestivalAnalyzers.english();
+        Analyzer multilingual = FestivalAnalyzers.multilingual();
+        Analyzer region = new CustomKoreanAnalyzer();
+        searchAnalyzers = Map.ofEntries(
+                Map.entry("name", korean), Map.entry("summary", korean),
+                Map.entry("nameEn", english), Map.entry("summaryEn", english),
+                Map.entry("categoryDisplayNames", multilingual),
+                Map.entry("addressNgram", AddressAnalyzers.search()),
+                Map.entry("province", region), Map.entry("city", region), Map.entry("district", region),
+                Map.entry("town", region), Map.entry("street", region));
+        Map<String, Analyzer> indexAnalyzers = new HashMap<>(searchAnalyzers);
+        indexAnalyzers.put("addressNgram", AddressAnalyzers.indexing());
+
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory,
+                new IndexWriterConfig(new PerFieldAnalyzerWrapper(korean, indexAnalyzers)))) {
+            for (Festival festival : festivals) {
+                writer.addDocument(document(festival));
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        // No query cache: every search pays for the clauses as a new query would
+        searcher.setQueryCache(null);
+    }
+
+    /**
+     * Loads the profiles of a profiles file, validated against the fields of this index.
+     */
+    static Map<String, SearchProfile> profiles(Resource location) {
+        return new SearchProfileRegistry(location, FIELDS::contains).profiles();
+    }
+
+    IndexSearcher searcher() {
+        return searcher;
+    }
+
+    int size() {
+        return festivals.size();
+    }
+
+    /**
+     * @return The query Hibernate Search builds for the profile's term clauses.
+     */
+    Query query(SearchProfile profile, String text) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int clauses = 0;
+        for (String term : text.split(" ")) {
+            for (SearchProfile.Clause clause : profile.clauses()) {
+                query.add(clause(clause, term), BooleanClause.Occur.SHOULD);
+                clauses++;
+            }
+        }
+        query.setMinimumNumberShouldMatch(clauses * profile.minimumShouldMatchPercent() / 100);
+        return query.build();
+    }
+
+    /**
+     * @return The festivals of the intent found in the top {@code k} hits, and in all hits, over the number
+     * that could have been found.
+     */
+    Recall recall(SearchProfile profile, Intent intent, int k) {
+        Set<Integer> relevant = festivals.stream()
+                .filter(intent.relevant())
+                .map(Festival::ord)
+                .collect(Collectors.toSet());
+        try {
+            Query query = query(profile, intent.text());
+            TopDocs all = searcher.search(query, Math.max(1, festivals.size()));
+            int top = 0;
+            int found = 0;
+            for (int i = 0; i < all.scoreDocs.length; i++) {
+                int ord = searcher.storedFields().document(all.scoreDocs[i].doc).getField("ord").numericValue().intValue();
+                if (relevant.contains(ord)) {
+                    found++;
+                    if (i < k) {
+                        top++;
+                    }
+                }
+            }
+            return new Recall(relevant.size(), all.scoreDocs.length, top, found, k);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param relevant Festivals of the intent in the corpus.
+     * @param hits     Festivals matched by the query.
+     * @param top      Relevant festivals in the top k hits.
+     * @param found    Relevant festivals in all hits.
+     */
+    record Recall(int relevant, int hits, int top, int found, int k) {
+
+        double atK() {
+            return relevant == 0 ? 1 : (double) top / Math.min(k, relevant);
+        }
+
+        double all() {
+            return relevant == 0 ? 1 : (double) found / relevant;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    private Query clause(SearchProfile.Clause clause, String term) {
+        BooleanQuery.Builder fields = new BooleanQuery.Builder();
+        for (String field : clause.fields()) {
+            QueryBuilder builder = queryBuilders.computeIfAbsent(field, name -> new QueryBuilder(searchAnalyzers.get(name)));
+            Query query = switch (clause.type()) {
+                case MATCH -> builder.createBooleanQuery(field, term);
+                case PHRASE -> builder.createPhraseQuery(field, term, clause.slop());
+            };
+            // No tokens (e.g. a stop word): the field matches nothing, as in Hibernate Search
+            fields.add(query != null ? query : new MatchNoDocsQuery(), BooleanClause.Occur.SHOULD);
+        }
+        Query query = fields.build();
+        if (clause.constantScore()) {
+            query = new ConstantScoreQuery(query);
+        }
+        return new BoostQuery(query, clause.boost());
+    }
+
+    private static Document document(Festival festival) {
+        Document document = new Document();
+        document.add(new StoredField("ord", festival.ord()));
+        document.add(new TextField("name", festival.name(), Field.Store.NO));
+        document.add(new TextField("summary", festival.summary(), Field.Store.NO));
+        document.add(new TextField("nameEn", festival.nameEn(), Field.Store.NO));
+        document.add(new TextField("summaryEn", festival.summaryEn(), Field.Store.NO));
+        document.add(new TextField("categoryDisplayNames", festival.categoryDisplayNames(), Field.Store.NO));
+        document.add(new TextField("addressNgram", festival.address(), Field.Store.NO));
+        document.add(new TextField("province", festival.place().province(), Field.Store.NO));
+        document.add(new TextField("city", festival.place().city(), Field.Store.NO));
+        document.add(new TextField("town", festival.town(), Field.Store.NO));
+        document.add(new TextField("street", festival.street(), Field.Store.NO));
+        return document;
+    }
+}
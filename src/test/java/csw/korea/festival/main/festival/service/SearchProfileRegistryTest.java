@@ -0,0 +1,124 @@
+package csw.korea.festival.main.festival.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchProfileRegistryTest {
+
+    private static final Set<String> INDEX_FIELDS = Set.of("name", "nameEn", "summary", "summaryEn",
+            "categoryDisplayNames", "addressNgram", "province", "city", "district", "town", "street");
+    private static final Predicate<String> INDEXED = INDEX_FIELDS::contains;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testBundledProfilesCompile() {
+        // When
+        SearchProfileRegistry registry = new SearchProfileRegistry(
+                new ClassPathResource("lucene/search_profiles.json"), INDEXED);
+
+        // Then
+        SearchProfile defaultProfile = registry.get(null);
+        assertEquals("default", defaultProfile.name());
+        assertEquals(35, defaultProfile.minimumShouldMatchPercent());
+        assertEquals(5, defaultProfile.clauses().size());
+        SearchProfile.Clause address = defaultProfile.clauses().get(3);
+        assertArrayEquals(new String[]{"addressNgram"}, address.fields());
+        assertTrue(address.constantScore());
+        assertEquals(SearchProfile.Type.PHRASE, defaultProfile.clauses().get(4).type());
+
+        // "nearby" extends "default" with its own minimum-should-match
+        SearchProfile nearby = registry.get(FestivalSearchService.NEARBY_PROFILE);
+        assertEquals(50, nearby.minimumShouldMatchPercent());
+        assertEquals(defaultProfile.clauses().size(), nearby.clauses().size());
+        for (int i = 0; i < nearby.clauses().size(); i++) {
+            assertArrayEquals(defaultProfile.clauses().get(i).fields(), nearby.clauses().get(i).fields());
+        }
+    }
+
+    @Test
+    public void testUnknownProfileIsRejected() {
+        SearchProfileRegistry registry = new SearchProfileRegistry(
+                new ClassPathResource("lucene/search_profiles.json"), INDEXED);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.get("nope"));
+    }
+
+    @Test
+    public void testInvalidProfilesAreRejected() throws IOException {
+        assertInvalid("""
+                {"other": {"clauses": [{"type": "MATCH", "fields": ["name"]}]}}""");
+        assertInvalid("""
+                {"default": {"minimumShouldMatchPercent": 101, "clauses": [{"type": "MATCH", "fields": ["name"]}]}}""");
+        assertInvalid("""
+                {"default": {"clauses": [{"type": "MATCH", "fields": ["name"], "boost": 0}]}}""");
+        assertInvalid("""
+                {"default": {"clauses": [{"type": "MATCH", "fields": []}]}}""");
+        assertInvalid("""
+                {"default": {"clauses": [{"type": "MATCH", "fields": ["nmae"]}]}}""");
+        assertInvalid("""
+                {"default": {"extends": "missing"}}""");
+        assertInvalid("""
+                {"default": {"extends": "default"}}""");
+    }
+
+    @Test
+    public void testReloadReplacesProfilesAndBumpsVersion() throws IOException {
+        // Given
+        Path file = write("""
+                {"default": {"minimumShouldMatchPercent": 35, "clauses": [{"type": "MATCH", "fields": ["name"]}]}}""");
+        SearchProfileRegistry registry = new SearchProfileRegistry(new FileSystemResource(file), INDEXED);
+        SearchProfile before = registry.get(null);
+
+        // When
+        Files.writeString(file, """
+                {"default": {"minimumShouldMatchPercent": 60, "clauses": [{"type": "PHRASE", "fields": ["city"], "slop": 2}]}}""");
+        registry.reload();
+
+        // Then
+        SearchProfile after = registry.get(null);
+        assertEquals(60, after.minimumShouldMatchPercent());
+        assertEquals(2, after.clauses().getFirst().slop());
+        assertNotEquals(before.key(), after.key());
+    }
+
+    @Test
+    public void testInvalidReloadKeepsPreviousProfiles() throws IOException {
+        // Given
+        Path file = write("""
+                {"default": {"minimumShouldMatchPercent": 35, "clauses": [{"type": "MATCH", "fields": ["name"]}]}}""");
+        SearchProfileRegistry registry = new SearchProfileRegistry(new FileSystemResource(file), INDEXED);
+        SearchProfile before = registry.get(null);
+
+        // When
+        Files.writeString(file, "{\"default\": {\"clauses\": [{\"type\": \"FUZZY\", \"fields\": [\"name\"]}]}}");
+
+        // Then
+        assertThrows(IllegalArgumentException.class, registry::reload);
+        assertSame(before, registry.get(null));
+        // The scheduled check logs the failure and keeps serving
+        assertDoesNotThrow(registry::reloadIfModified);
+        assertSame(before, registry.get(null));
+    }
+
+    private void assertInvalid(String json) throws IOException {
+        Path file = write(json);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SearchProfileRegistry(new FileSystemResource(file), INDEXED), json);
+    }
+
+    private Path write(String json) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "profiles", ".json"), json);
+    }
+}
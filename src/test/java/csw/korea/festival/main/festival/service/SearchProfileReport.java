@@ -0,0 +1,79 @@
+package csw.korea.festival.main.festival.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Recall and latency of each search profile on the labelled queries of {@link SearchProfileCorpus}:
+ * per query, the share of the relevant festivals in the top 10 hits (recall@10) and in all hits,
+ * then the averages and the query latency per profile.
+ *
+ * <p>
+ * Not run by the tests. Run {@link #main} from the IDE after {@code mvn test-compile}, optionally with a
+ * profiles file to compare with the bundled one (as {@code festival.search.profiles-location} would load it)
+ * and the number of festivals (default 20000). The timings are single runs; {@link SearchProfileBenchmark}
+ * measures them properly.
+ * </p>
+ */
+public class SearchProfileReport {
+
+    private static final int K = 10;
+    private static final int QUERIES = 5_000;
+
+    public static void main(String[] args) throws IOException {
+        Resource location = args.length > 0 && !args[0].isEmpty()
+                ? new FileSystemResource(args[0])
+                : new ClassPathResource("lucene/search_profiles.json");
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Map<String, SearchProfile> profiles = SearchProfileCorpus.profiles(location);
+
+        try (SearchProfileCorpus corpus = new SearchProfileCorpus(count, 42)) {
+            System.out.printf("%d festivals, profiles from %s%n", corpus.size(), location.getDescription());
+            for (SearchProfile profile : profiles.values()) {
+                report(corpus, profile);
+            }
+        }
+    }
+
+    private static void report(SearchProfileCorpus corpus, SearchProfile profile) throws IOException {
+        System.out.printf("%nprofile %s (minimumShouldMatchPercent %d)%n",
+                profile.name(), profile.minimumShouldMatchPercent());
+        System.out.printf("%-26s %9s %9s %9s %11s%n", "query", "relevant", "hits", "recall@" + K, "recall all");
+        double atK = 0;
+        double all = 0;
+        for (SearchProfileCorpus.Intent intent : SearchProfileCorpus.INTENTS) {
+            SearchProfileCorpus.Recall recall = corpus.recall(profile, intent, K);
+            System.out.printf("%-26s %9d %9d %9.2f %11.2f%n",
+                    intent.text(), recall.relevant(), recall.hits(), recall.atK(), recall.all());
+            atK += recall.atK();
+            all += recall.all();
+        }
+        int intents = SearchProfileCorpus.INTENTS.size();
+        long[] latencies = latencies(corpus, profile);
+        System.out.printf("%-26s %9s %9s %9.2f %11.2f   p50 %.1f us, p99 %.1f us%n", "mean", "", "",
+                atK / intents, all / intents,
+                latencies[latencies.length / 2] / 1e3, latencies[latencies.length * 99 / 100] / 1e3);
+    }
+
+    private static long[] latencies(SearchProfileCorpus corpus, SearchProfile profile) throws IOException {
+        int intents = SearchProfileCorpus.INTENTS.size();
+
+        // Warm-up, then the measured run
+        for (int i = 0; i < QUERIES; i++) {
+            corpus.searcher().search(corpus.query(profile, SearchProfileCorpus.INTENTS.get(i % intents).text()), K);
+        }
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            corpus.searcher().search(corpus.query(profile, SearchProfileCorpus.INTENTS.get(i % intents).text()), K);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+}
@@ -0,0 +1,184 @@
+package csw.korea.festival.main.festival.snapshot;
+
+import csw.korea.festival.main.common.util.CoordinatesConverter;
+import csw.korea.festival.main.festival.model.Festival;
+import csw.korea.festival.main.festival.model.FestivalCategory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FestivalSnapshotTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 10, 15);
+    private static final LocalDate MONTH_START = LocalDate.of(2024, 10, 1);
+    private static final LocalDate MONTH_END = LocalDate.of(2024, 10, 31);
+
+    private static Festival festival(long id, double lat, double lon, LocalDate start, LocalDate end, FestivalCategory category) {
+        Festival festival = new Festival();
+        festival.setId(id);
+        festival.setLatitude(lat);
+        festival.setLongitude(lon);
+        festival.setStartDate(start);
+        festival.setEndDate(end);
+        festival.setCategories(Set.of(category));
+        return festival;
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() {
+        // Given
+        Random random = new Random(42);
+        List<Festival> festivals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDate start = MONTH_START.plusDays(random.nextInt(60) - 30);
+            festivals.add(festival(i, 33 + random.nextDouble() * 5, 125 + random.nextDouble() * 5,
+                    start, start.plusDays(random.nextInt(20)), FestivalCategory.OTHER));
+        }
+        FestivalSnapshot snapshot = FestivalSnapshot.build(festivals, LocalDateTime.now());
+        double lat = 37.53;
+        double lon = 126.98;
+
+        List<Festival> expected = festivals.stream()
+                .filter(f -> !f.getEndDate().isBefore(TODAY) && !f.getEndDate().isBefore(MONTH_START) && !f.getStartDate().isAfter(MONTH_END))
+                .sorted(Comparator.comparingDouble(f -> CoordinatesConverter.calculateDistance(lat, lon, f.getLatitude(), f.getLongitude())))
+                .toList();
+
+        // When
+        FestivalSnapshot.Slice slice = snapshot.nearest(lat, lon, MONTH_START, MONTH_END, TODAY, 0L, 20, 10);
+
+        // Then
+        assertEquals(expected.size(), slice.totalElements());
+        assertEquals(10, slice.content().size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected.get(20 + i).getId(), slice.content().get(i).getId());
+        }
+    }
+
+    @Test
+    public void testNearestAfterWalksAllPagesInOrder() {
+        // Given
+        Random random = new Random(11);
+        List<Festival> festivals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            festivals.add(festival(i, 35 + random.nextDouble() * 3, 126 + random.nextDouble() * 3,
+                    MONTH_START, MONTH_END, FestivalCategory.OTHER));
+        }
+        FestivalSnapshot snapshot = FestivalSnapshot.build(festivals, LocalDateTime.now());
+        double lat = 36.2;
+        double lon = 127.4;
+
+        List<Festival> expected = snapshot.nearest(lat, lon, MONTH_START, MONTH_END, TODAY, 0L, 0, 500).content();
+
+        // When
+        List<Festival> walked = new ArrayList<>();
+        double afterDistance = Double.NEGATIVE_INFINITY;
+        long afterId = Long.MIN_VALUE;
+        List<Festival> page;
+        do {
+            page = snapshot.nearestAfter(lat, lon, MONTH_START, MONTH_END, TODAY, 0L, afterDistance, afterId, 37);
+            walked.addAll(page);
+            if (!page.isEmpty()) {
+                afterDistance = page.getLast().getDistance();
+                afterId = page.getLast().getId();
+            }
+        } while (!page.isEmpty());
+
+        // Then
+        assertEquals(expected.size(), walked.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), walked.get(i).getId());
+        }
+    }
+
+    @Test
+    public void testResultsAreCopies() {
+        // Given
+        Festival original = festival(1, 37.5, 127.0, MONTH_START, MONTH_END, FestivalCategory.OTHER);
+        FestivalSnapshot snapshot = FestivalSnapshot.build(List.of(original), LocalDateTime.now());
+
+        // When
+        Festival result = snapshot.nearest(37.5, 127.0, MONTH_START, MONTH_END, TODAY, 0L, 0, 10).content().getFirst();
+
+        // Then
+        assertNotSame(original, result);
+        assertNull(original.getDistance());
+        assertEquals(0, result.getDistance(), 0.0001);
+    }
+
+    @Test
+    public void testCategoryFilterAndInvalidRows() {
+        // Given
+        Festival music = festival(1, 37.5, 127.0, MONTH_START, MONTH_END, FestivalCategory.MUSIC_PERFORMING_ARTS);
+        Festival food = festival(2, 37.6, 127.1, MONTH_START, MONTH_END, FestivalCategory.FOOD_CULINARY);
+        Festival noDates = festival(3, 37.6, 127.1, null, null, FestivalCategory.FOOD_CULINARY);
+        FestivalSnapshot snapshot = FestivalSnapshot.build(List.of(music, food, noDates), LocalDateTime.now());
+        long mask = FestivalSnapshot.categoryMask(Set.of(FestivalCategory.FOOD_CULINARY));
+
+        // When
+        FestivalSnapshot.Slice slice = snapshot.nearest(37.5, 127.0, MONTH_START, MONTH_END, TODAY, mask, 0, 10);
+
+        // Then
+        assertEquals(2, snapshot.size());
+        assertEquals(1, slice.totalElements());
+        assertEquals(2L, slice.content().getFirst().getId());
+    }
+
+    @Test
+    public void testWithFestivalsAddsAndReplacesById() {
+        // Given
+        Festival first = festival(1, 37.5, 127.0, MONTH_START, MONTH_END, FestivalCategory.OTHER);
+        Festival second = festival(2, 35.1, 129.0, MONTH_START, MONTH_END, FestivalCategory.OTHER);
+        FestivalSnapshot snapshot = FestivalSnapshot.build(List.of(first, second), LocalDateTime.now());
+        Festival movedSecond = festival(2, 37.51, 127.01, MONTH_START, MONTH_END, FestivalCategory.OTHER);
+        Festival third = festival(3, 33.5, 126.5, MONTH_START, MONTH_END, FestivalCategory.OTHER);
+
+        // When
+        FestivalSnapshot merged = snapshot.withFestivals(List.of(movedSecond, third), LocalDateTime.now());
+
+        // Then
+        assertEquals(2, snapshot.size());
+        assertEquals(3, merged.size());
+        List<Festival> nearest = merged.nearest(37.5, 127.0, MONTH_START, MONTH_END, TODAY, 0L, 0, 2).content();
+        assertEquals(1L, nearest.get(0).getId());
+        assertEquals(2L, nearest.get(1).getId());
+    }
+
+    @Test
+    public void testCountsPerFilterAndDeepOffsets() {
+        // Given
+        Festival music = festival(1, 37.5, 127.0, MONTH_START, MONTH_END, FestivalCategory.MUSIC_PERFORMING_ARTS);
+        Festival food = festival(2, 37.6, 127.1, MONTH_START, MONTH_END, FestivalCategory.FOOD_CULINARY);
+        FestivalSnapshot snapshot = FestivalSnapshot.build(List.of(music, food), LocalDateTime.now());
+        long mask = FestivalSnapshot.categoryMask(Set.of(FestivalCategory.FOOD_CULINARY));
+
+        // When
+        int all = snapshot.count(MONTH_START, MONTH_END, TODAY, 0L);
+        int foodOnly = snapshot.count(MONTH_START, MONTH_END, TODAY, mask);
+        FestivalSnapshot.Slice beyond = snapshot.nearest(37.5, 127.0, MONTH_START, MONTH_END, TODAY, 0L,
+                Integer.MAX_VALUE, 10);
+
+        // Then
+        assertEquals(2, all);
+        assertEquals(1, foodOnly);
+        assertEquals(2, snapshot.count(MONTH_START, MONTH_END, TODAY, 0L));
+        assertEquals(2, beyond.totalElements());
+        assertTrue(beyond.content().isEmpty());
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        FestivalSnapshot.Slice slice = FestivalSnapshot.EMPTY.nearest(37.5, 127.0, MONTH_START, MONTH_END, TODAY, 0L, 0, 10);
+
+        assertTrue(FestivalSnapshot.EMPTY.isEmpty());
+        assertEquals(0, slice.totalElements());
+        assertTrue(slice.content().isEmpty());
+    }
+}
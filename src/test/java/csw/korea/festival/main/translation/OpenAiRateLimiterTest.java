@@ -0,0 +1,136 @@
+package csw.korea.festival.main.translation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpenAiRateLimiterTest {
+
+    @Test
+    public void testRequestsBeyondTheMinuteQuotaAreDelayed() {
+        // Given
+        OpenAiRateLimiter limiter = new OpenAiRateLimiter(2, 10_000, 4, 8);
+
+        // When / Then
+        assertEquals(0, limiter.reserve(100));
+        assertEquals(0, limiter.reserve(100));
+        assertTrue(limiter.reserve(100) > TimeUnit.SECONDS.toNanos(20));
+    }
+
+    @Test
+    public void testTokenQuotaIsReservedAndSettled() {
+        // Given
+        OpenAiRateLimiter limiter = new OpenAiRateLimiter(100, 1_000, 4, 8);
+        assertEquals(0, limiter.reserve(1_000));
+
+        // When: the call used much less than estimated
+        limiter.settle(1_000, 200);
+
+        // Then
+        assertEquals(0, limiter.reserve(500));
+        assertTrue(limiter.reserve(500) > 0);
+    }
+
+    @Test
+    public void testConcurrencyLimitQueuesCalls() {
+        // Given
+        OpenAiRateLimiter limiter = new OpenAiRateLimiter(100, 100_000, 2, 2);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        AtomicInteger started = new AtomicInteger();
+
+        // When
+        Disposable a = limiter.execute(1, () -> { started.incrementAndGet(); return first.asMono(); }).subscribe();
+        Disposable b = limiter.execute(1, () -> { started.incrementAndGet(); return second.asMono(); }).subscribe();
+        Disposable c = limiter.execute(1, () -> { started.incrementAndGet(); return Mono.just("third"); }).subscribe();
+
+        // Then
+        assertEquals(2, started.get());
+        assertEquals(2, limiter.inFlight());
+
+        first.tryEmitValue("first");
+        assertEquals(3, started.get());
+        assertEquals(1, limiter.inFlight());
+
+        b.dispose();
+        assertEquals(0, limiter.inFlight());
+        a.dispose();
+        c.dispose();
+    }
+
+    @Test
+    public void testRateLimitedCallHalvesConcurrencyAndPauses() {
+        // Given
+        OpenAiRateLimiter limiter = new OpenAiRateLimiter(100, 100_000, 8, 16);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+
+        // When
+        limiter.execute(1, () -> Mono.defer(() -> {
+                    limiter.onResponse(headers, true);
+                    return Mono.error(new OpenAiException(429, "Rate limit reached"));
+                }))
+                .onErrorResume(e -> Mono.empty())
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(4, limiter.concurrencyLimit());
+        assertEquals(0, limiter.inFlight());
+        assertTrue(limiter.reserve(1) > TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    public void testSuccessfulCallsRaiseConcurrencyUpToTheMaximum() {
+        // Given
+        OpenAiRateLimiter limiter = new OpenAiRateLimiter(1_000, 100_000, 1, 3);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            limiter.execute(1, () -> Mono.just("ok")).block();
+        }
+
+        // Then
+        assertEquals(3, limiter.concurrencyLimit());
+    }
+
+    @Test
+    public void testServerRemainingQuotaLowersTheBucket() {
+        // Given
+        OpenAiRateLimiter limiter = new OpenAiRateLimiter(100, 100_000, 4, 8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(OpenAiRateLimiter.REMAINING_REQUESTS, "1");
+
+        // When
+        limiter.onResponse(headers, false);
+
+        // Then
+        assertEquals(0, limiter.reserve(1));
+        assertTrue(limiter.reserve(1) > 0);
+    }
+
+    @Test
+    public void testRetryAfterHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(OpenAiRateLimiter.RESET_REQUESTS, "1s");
+        headers.set(OpenAiRateLimiter.RESET_TOKENS, "6m0s");
+        assertEquals(Duration.ofMinutes(6), OpenAiRateLimiter.retryAfter(headers));
+
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+        assertEquals(Duration.ofSeconds(3), OpenAiRateLimiter.retryAfter(headers));
+
+        headers.set(OpenAiRateLimiter.RETRY_AFTER_MS, "250");
+        assertEquals(Duration.ofMillis(250), OpenAiRateLimiter.retryAfter(headers));
+
+        assertEquals(Duration.ofMillis(20), OpenAiRateLimiter.parseDuration("20ms"));
+        assertEquals(Duration.ofMillis(1500), OpenAiRateLimiter.parseDuration("1.5s"));
+        assertNull(OpenAiRateLimiter.parseDuration("soon"));
+    }
+}
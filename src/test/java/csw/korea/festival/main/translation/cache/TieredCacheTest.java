@@ -0,0 +1,128 @@
+package csw.korea.festival.main.translation.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TieredCacheTest {
+
+    private TieredCache<String> cache;
+    private MeterRegistry meterRegistry;
+
+    @Mock
+    private LlmCacheRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TieredCache<>("translation", repository, meterRegistry, 100, Duration.ofHours(1), Duration.ofDays(30),
+                Function.identity(), Function.identity());
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("llm.cache.lookups").tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    @Test
+    public void testPutWritesBothTiers() {
+        // When
+        cache.put("축제", "Festival");
+
+        // Then
+        assertEquals("Festival", cache.getIfPresent("축제"));
+        ArgumentCaptor<LlmCacheEntry> saved = ArgumentCaptor.forClass(LlmCacheEntry.class);
+        verify(repository).save(saved.capture());
+        assertEquals("translation", saved.getValue().getKind());
+        assertEquals("Festival", saved.getValue().getValue());
+        assertEquals(64, saved.getValue().getId().length());
+        assertEquals(1, count("l1", "hit"));
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    public void testL2HitIsPromotedToL1() {
+        // Given
+        when(repository.findById(anyString())).thenReturn(Optional.of(
+                new LlmCacheEntry("hash", "translation", "Festival", LocalDateTime.now())));
+
+        // When
+        String first = cache.getIfPresent("축제");
+        String second = cache.getIfPresent("축제");
+
+        // Then
+        assertEquals("Festival", first);
+        assertEquals("Festival", second);
+        verify(repository, times(1)).findById(anyString());
+        assertEquals(1, count("l1", "miss"));
+        assertEquals(1, count("l2", "hit"));
+        assertEquals(1, count("l1", "hit"));
+    }
+
+    @Test
+    public void testMissAndFailingL2() {
+        assertNull(cache.getIfPresent("없는 값"));
+        assertEquals(1, count("l2", "miss"));
+
+        when(repository.findById(anyString())).thenThrow(new IllegalStateException("database is locked"));
+        doThrow(new IllegalStateException("database is locked")).when(repository).save(any());
+        assertNull(cache.getIfPresent("다른 값"));
+        cache.put("다른 값", "Other value");
+        assertEquals("Other value", cache.getIfPresent("다른 값"));
+    }
+
+    @Test
+    public void testWarmLoadsL1ByHash() {
+        // Given: the id written for a key is the id looked up for it
+        cache.put("축제", "Festival");
+        ArgumentCaptor<LlmCacheEntry> saved = ArgumentCaptor.forClass(LlmCacheEntry.class);
+        verify(repository).save(saved.capture());
+        TieredCache<String> restarted = new TieredCache<>("translation", repository, meterRegistry, 100, Duration.ofHours(1), Duration.ofDays(30),
+                Function.identity(), Function.identity());
+        when(repository.findByKindOrderByCreatedAtDesc(eq("translation"), any(Pageable.class)))
+                .thenReturn(List.of(saved.getValue()));
+
+        // When
+        int warmed = restarted.warm(10);
+
+        // Then
+        assertEquals(1, warmed);
+        assertEquals("Festival", restarted.getIfPresent("축제"));
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    public void testExpiredL2EntriesAreMissesAndPurged() {
+        // Given
+        when(repository.findById(anyString())).thenReturn(Optional.of(
+                new LlmCacheEntry("hash", "translation", "Festival", LocalDateTime.now().minusDays(31))));
+        when(repository.deleteByKindAndCreatedAtBefore(eq("translation"), any())).thenReturn(1);
+
+        // When
+        String value = cache.getIfPresent("축제");
+        int purged = cache.purgeExpired();
+
+        // Then
+        assertNull(value);
+        assertEquals(1, count("l2", "miss"));
+        assertEquals(1, purged);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteByKindAndCreatedAtBefore(eq("translation"), cutoff.capture());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(29)));
+    }
+}
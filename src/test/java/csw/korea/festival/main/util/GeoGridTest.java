@@ -0,0 +1,41 @@
+package csw.korea.festival.main.util;
+
+import csw.korea.festival.main.common.util.GeoGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoGridTest {
+
+    @Test
+    public void testNearbyPlacesShareACell() {
+        // Seoul City Hall and a point ~50 m away
+        assertEquals(GeoGrid.cellOf(37.5665, 126.9780), GeoGrid.cellOf(37.5669, 126.9782));
+        // Gangnam is ~10 km away
+        assertNotEquals(GeoGrid.cellOf(37.5665, 126.9780), GeoGrid.cellOf(37.4979, 127.0276));
+    }
+
+    @Test
+    public void testCellCenterIsInsideTheCell() {
+        long cell = GeoGrid.cellOf(35.1796, 129.0756);
+
+        assertEquals(cell, GeoGrid.cellOf(GeoGrid.centerLatitude(cell), GeoGrid.centerLongitude(cell)));
+        assertTrue(Math.abs(GeoGrid.centerLatitude(cell) - 35.1796) <= GeoGrid.LAT_STEP / 2);
+        assertTrue(Math.abs(GeoGrid.centerLongitude(cell) - 129.0756) <= GeoGrid.LON_STEP / 2);
+    }
+
+    @Test
+    public void testPackRoundTripsNegativeRowsAndColumns() {
+        long cell = GeoGrid.pack(-3, -7);
+
+        assertEquals(-3, GeoGrid.row(cell));
+        assertEquals(-7, GeoGrid.col(cell));
+        assertEquals("-3:-7", GeoGrid.toString(cell));
+        assertNotEquals(GeoGrid.pack(0, -1), GeoGrid.pack(-1, 0));
+    }
+
+    @Test
+    public void testNaNCoordinatesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> GeoGrid.cellOf(Double.NaN, 127.0));
+    }
+}
@@ -0,0 +1,94 @@
+package csw.korea.festival.main.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import csw.korea.festival.main.common.util.GeoGrid;
+import csw.korea.festival.main.common.util.LongKeyCache;
+import csw.korea.festival.main.common.util.LongObjectMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weather lookup per festival: the former {@code String.format} coordinate key into a Caffeine cache,
+ * against the packed {@link GeoGrid} key into a {@link LongKeyCache}.
+ *
+ * <p>
+ * Not run by the tests. Run {@link #main} from the IDE after {@code mvn test-compile};
+ * the GC profiler reports the allocation per lookup ({@code gc.alloc.rate.norm}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoKeyBenchmark {
+
+    private static final int PLACES = 4096;
+
+    private final double[] latitudes = new double[PLACES];
+    private final double[] longitudes = new double[PLACES];
+    private final Cache<String, Object> stringKeyed = Caffeine.newBuilder().maximumSize(100_000).build();
+    private final ConcurrentHashMap<Long, Object> boxedKeyed = new ConcurrentHashMap<>();
+    private final LongKeyCache<Object> packedKeyed = new LongKeyCache<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Festivals spread over mainland Korea
+        Random random = new Random(42);
+        Object weather = new Object();
+        LongObjectMap<Object> cells = new LongObjectMap<>();
+        for (int i = 0; i < PLACES; i++) {
+            latitudes[i] = 34.5 + random.nextDouble() * 3.5;
+            longitudes[i] = 126.3 + random.nextDouble() * 3.0;
+            stringKeyed.put(stringKey(latitudes[i], longitudes[i]), weather);
+            long cell = GeoGrid.cellOf(latitudes[i], longitudes[i]);
+            boxedKeyed.put(cell, weather);
+            cells.put(cell, weather);
+        }
+        packedKeyed.putAll(cells);
+    }
+
+    @Benchmark
+    public Object stringKeyCaffeine() {
+        int i = next();
+        return stringKeyed.getIfPresent(stringKey(latitudes[i], longitudes[i]));
+    }
+
+    @Benchmark
+    public Object boxedKeyConcurrentHashMap() {
+        int i = next();
+        return boxedKeyed.get(GeoGrid.cellOf(latitudes[i], longitudes[i]));
+    }
+
+    @Benchmark
+    public Object packedKeyLongKeyCache() {
+        int i = next();
+        return packedKeyed.get(GeoGrid.cellOf(latitudes[i], longitudes[i]));
+    }
+
+    private int next() {
+        return next = (next + 1) & (PLACES - 1);
+    }
+
+    private static String stringKey(double latitude, double longitude) {
+        return String.format("%f,%f", latitude, longitude);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GeoKeyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,24 @@
+package csw.korea.festival.main.util;
+
+import csw.korea.festival.main.common.util.Korean;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KoreanTest {
+
+    @Test
+    public void testToChosung() {
+        assertEquals("ㄱㄱㄷ", Korean.toChosung("경기도"));
+        assertEquals("ㅃㄹㄲㄷ", Korean.toChosung("빨리까다"));
+        assertEquals("ㅅㅇ 1ㅎㅅ", Korean.toChosung("서울 1호선"));
+        assertEquals("abc", Korean.toChosung("abc"));
+    }
+
+    @Test
+    public void testContainsHangul() {
+        assertTrue(Korean.containsHangul("BTS 콘서트"));
+        assertFalse(Korean.containsHangul("ㄱㄱㄷ"));
+        assertFalse(Korean.containsHangul("rudrleh"));
+    }
+}
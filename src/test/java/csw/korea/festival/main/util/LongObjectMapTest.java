@@ -0,0 +1,84 @@
+package csw.korea.festival.main.util;
+
+import csw.korea.festival.main.common.util.LongKeyCache;
+import csw.korea.festival.main.common.util.LongObjectMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectMapTest {
+
+    @Test
+    public void testMatchesHashMapThroughResizes() {
+        // Given
+        Random random = new Random(11);
+        LongObjectMap<Long> map = new LongObjectMap<>(2);
+        Map<Long, Long> expected = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            long key = random.nextInt(3_000) - 1_500L;
+            assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        assertFalse(map.containsKey(1_000_000L));
+        assertNull(map.get(1_000_000L));
+    }
+
+    @Test
+    public void testNullValuesAreDistinctFromAbsentKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(0L, null);
+
+        assertTrue(map.containsKey(0L));
+        assertNull(map.get(0L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRetainKeysKeepsRemainingEntriesReachable() {
+        // Given
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long key = 0; key < 100; key++) {
+            map.put(key, "v" + key);
+        }
+
+        // When
+        int removed = map.retainKeys(key -> key % 3 == 0);
+
+        // Then
+        assertEquals(66, removed);
+        assertEquals(34, map.size());
+        assertEquals(34, map.keys().length);
+        assertEquals("v99", map.get(99L));
+        assertFalse(map.containsKey(98L));
+    }
+
+    @Test
+    public void testCacheWritesDoNotChangeAPreviousCopy() {
+        // Given
+        LongKeyCache<String> cache = new LongKeyCache<>();
+        LongObjectMap<String> batch = new LongObjectMap<>();
+        batch.put(1L, "a");
+        batch.put(2L, "b");
+        cache.putAll(batch);
+
+        // When
+        cache.put(3L, "c");
+        cache.retainKeys(key -> key != 1L);
+
+        // Then
+        assertNull(cache.get(1L));
+        assertEquals("b", cache.get(2L));
+        assertEquals("c", cache.get(3L));
+        assertEquals(2, cache.size());
+        assertEquals(2, batch.size());
+    }
+}
@@ -0,0 +1,60 @@
+package csw.korea.festival.main.util;
+
+import csw.korea.festival.main.common.util.MicroBatcher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicroBatcherTest {
+
+    @Test
+    public void testFullBatchIsSentAtOnce() throws Exception {
+        // Given
+        List<List<Integer>> calls = Collections.synchronizedList(new ArrayList<>());
+        try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(3, Duration.ofMinutes(1), 1, batch -> {
+            calls.add(batch);
+            return batch.stream().map(i -> i * 10).toList();
+        })) {
+            // When
+            List<CompletableFuture<Integer>> futures = List.of(batcher.submit(1), batcher.submit(2), batcher.submit(3));
+
+            // Then
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals((i + 1) * 10, futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(List.of(List.of(1, 2, 3)), calls);
+        }
+    }
+
+    @Test
+    public void testPartialBatchIsSentAfterDelay() throws Exception {
+        try (MicroBatcher<String, Integer> batcher = new MicroBatcher<>(100, Duration.ofMillis(10), 1,
+                batch -> batch.stream().map(String::length).toList())) {
+            CompletableFuture<Integer> first = batcher.submit("a");
+            CompletableFuture<Integer> second = batcher.submit("abc");
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(3, second.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testFailureCompletesWholeBatchExceptionally() {
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(2, Duration.ofMinutes(1), 1, batch -> List.of("only one"))) {
+            CompletableFuture<String> first = batcher.submit("a");
+            CompletableFuture<String> second = batcher.submit("b");
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package csw.korea.festival.main.util;
+
+import csw.korea.festival.main.common.util.TopK;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopKTest {
+
+    @Test
+    public void testKeepsSmallestKeysInOrder() {
+        // Given
+        Random random = new Random(7);
+        double[] keys = new double[1000];
+        TopK topK = new TopK(25);
+
+        // When
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextDouble() * 100;
+            topK.offer(keys[i], i);
+        }
+        topK.sort();
+
+        // Then
+        double[] expected = keys.clone();
+        Arrays.sort(expected);
+        assertEquals(25, topK.size());
+        for (int rank = 0; rank < 25; rank++) {
+            assertEquals(expected[rank], topK.key(rank));
+            assertEquals(keys[topK.id(rank)], topK.key(rank));
+        }
+    }
+
+    @Test
+    public void testFewerEntriesThanK() {
+        TopK topK = new TopK(5);
+        topK.offer(3.0, 0);
+        topK.offer(1.0, 1);
+
+        assertFalse(topK.isFull());
+        assertEquals(Double.POSITIVE_INFINITY, topK.worstKey());
+
+        topK.sort();
+        assertEquals(2, topK.size());
+        assertEquals(1, topK.id(0));
+        assertEquals(0, topK.id(1));
+    }
+
+    @Test
+    public void testTiesBrokenById() {
+        TopK topK = new TopK(2);
+        topK.offer(1.0, 9);
+        topK.offer(1.0, 3);
+        topK.offer(1.0, 5);
+        topK.sort();
+
+        assertEquals(3, topK.id(0));
+        assertEquals(5, topK.id(1));
+    }
+
+    @Test
+    public void testWorstKeyAndZeroCapacity() {
+        TopK topK = new TopK(2);
+        topK.offer(5.0, 0);
+        topK.offer(2.0, 1);
+        assertEquals(5.0, topK.worstKey());
+        assertFalse(topK.offer(6.0, 2));
+        assertTrue(topK.offer(1.0, 3));
+        assertEquals(2.0, topK.worstKey());
+
+        TopK empty = new TopK(0);
+        assertFalse(empty.offer(1.0, 0));
+        empty.sort();
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    public void testReadBeforeSortFails() {
+        TopK topK = new TopK(1);
+        topK.offer(1.0, 0);
+        assertThrows(IllegalStateException.class, () -> topK.id(0));
+    }
+}